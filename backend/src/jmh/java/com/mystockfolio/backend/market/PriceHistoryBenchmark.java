@@ -0,0 +1,97 @@
+package com.mystockfolio.backend.market;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 차트 이력 조회 비용 비교
+ * - jsonRefetch: market-data-svc 응답(JSON)을 역직렬화하여 ChartPoint 목록을 만드는 기존 경로 (네트워크 제외)
+ * - mappedSlice: 메모리 매핑 이력 파일에서 같은 구간을 잘라 읽는 경로
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=PriceHistoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceHistoryBenchmark {
+
+    @Param({"250", "2500", "10000"})
+    private int points;
+
+    private ObjectMapper objectMapper;
+    private byte[] json;
+    private Path directory;
+    private MappedSeriesFile file;
+
+    @Setup
+    public void setUp() throws IOException {
+        int[] days = new int[points];
+        double[] closes = new double[points];
+        List<MarketDataDto.ChartPoint> history = new ArrayList<>(points);
+        int firstDay = (int) LocalDate.of(2000, 1, 3).toEpochDay();
+        double close = 100.0;
+        for (int i = 0; i < points; i++) {
+            close *= 1.0 + ((i * 7919) % 200 - 100) / 10_000.0;
+            days[i] = firstDay + i;
+            closes[i] = close;
+            history.add(new MarketDataDto.ChartPoint(LocalDate.ofEpochDay(days[i]).toString(), close));
+        }
+
+        objectMapper = new ObjectMapper();
+        json = objectMapper.writeValueAsBytes(new MarketDataDto.ChartResponse("BENCH", history));
+
+        directory = Files.createTempDirectory("history-bench");
+        file = MappedSeriesFile.create(directory.resolve("BENCH.series"), days, closes, points,
+                Integer.MIN_VALUE, true, System.currentTimeMillis());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        file.close();
+        Files.deleteIfExists(file.path());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public double jsonRefetch() throws IOException {
+        MarketDataDto.ChartResponse response = objectMapper.readValue(json, MarketDataDto.ChartResponse.class);
+        double sum = 0;
+        for (MarketDataDto.ChartPoint point : response.getHistory()) {
+            sum += point.getPrice() + LocalDate.parse(point.getDate()).toEpochDay();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double mappedSlice() {
+        PriceHistoryStore.Slice slice = file.slice(Integer.MIN_VALUE);
+        double sum = 0;
+        for (int i = 0; i < slice.length(); i++) {
+            sum += slice.closeAt(i) + slice.dayAt(i);
+        }
+        return sum;
+    }
+}
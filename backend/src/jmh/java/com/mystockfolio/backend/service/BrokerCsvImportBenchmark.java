@@ -0,0 +1,67 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.dto.AssetDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 증권사 CSV 가져오기의 파싱 처리량 (초당 행 수, DB 저장 제외)
+ * - BrokerCsvReader로 한 행씩 읽고 AssetImportService.toCreateRequest로 티커/숫자 정규화
+ * - 국내 주식(6자리 코드), 미국 주식, 코인, 따옴표/천 단위 구분 기호가 섞인 분포
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=BrokerCsvImportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrokerCsvImportBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(ROWS * 48);
+        sb.append("Symbol,Description,Quantity,Average Price,Asset Type\n");
+        for (int i = 0; i < ROWS; i++) {
+            switch (i % 3) {
+                case 0 -> sb.append(String.format("%06d", i % 1_000_000)).append(",\"삼성전자, 우\",")
+                        .append(1 + i % 500).append(",\"71,").append(100 + i % 900).append("\",STOCK\n");
+                case 1 -> sb.append("AAPL,Apple Inc.,").append(1 + i % 300).append(".5,$")
+                        .append(150 + i % 50).append(".25,\n");
+                default -> sb.append("BTC,Bitcoin,0.").append(String.format("%08d", i)).append(",64250.5,COIN\n");
+            }
+        }
+        csv = sb.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parseRows(Blackhole bh) throws IOException {
+        try (BrokerCsvReader reader = new BrokerCsvReader(new StringReader(csv))) {
+            BrokerCsvReader.Row row;
+            while ((row = reader.next()) != null) {
+                AssetDto.AssetCreateRequest create = AssetImportService.toCreateRequest(row);
+                bh.consume(create);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.dto.DashboardDto;
+import com.mystockfolio.backend.util.Decimal8;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대시보드 통계 집계 비용 비교
+ * - boxedMap: 기존 calculateStats 방식 (Double 박싱 + HashMap<AssetType, Double>.merge + builder), 환율은 통화 코드로 맵 조회
+ * - primitiveKernel: PortfolioStatsKernel (Decimal8 units 원시 배열 누적, 재사용 버퍼), 환율은 통화 id로 배열 조회
+ * - 두 방식 모두 티커별 현재가를 같은 맵(currentPrices)에서 조회 (primitiveKernel은 DashboardService.pricesOf처럼 배열로 펼침)
+ * - 보유 종목의 절반은 USD, 절반은 KRW로 두고 USD 기준으로 환산
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=PortfolioStatsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioStatsBenchmark {
+
+    @Param({"20", "1000", "100000"})
+    private int positions;
+
+    private Map<String, Double> currentPrices;
+    private List<BoxedPosition> boxed;
+    private Map<String, Double> boxedRates;
+
+    private String[] tickers;
+
+    private int[] typeOrdinals;
+    private long[] quantities;
+    private long[] costs;
+    private long[] prices;
+    private int[] currencyIds;
+    private double[] toBase;
+    private PortfolioStatsKernel.Totals totals;
+
+    @Setup
+    public void setUp() {
+        AssetType[] types = AssetType.values();
+        boxed = new ArrayList<>(positions);
+        currentPrices = new HashMap<>();
+        boxedRates = Map.of("USD", 1.0, "KRW", 1.0 / 1380.0);
+        toBase = new double[]{1.0, 1.0 / 1380.0}; // 통화 id 0 = USD, 1 = KRW
+        tickers = new String[positions];
+        typeOrdinals = new int[positions];
+        quantities = new long[positions];
+        costs = new long[positions];
+        prices = new long[positions];
+        currencyIds = new int[positions];
+        for (int i = 0; i < positions; i++) {
+            AssetType type = types[i % types.length];
+            double quantity = 1.0 + (i % 97);
+            double avgBuyPrice = 10.0 + (i * 7919 % 1000);
+            double price = avgBuyPrice * (0.8 + (i % 41) / 100.0);
+            String ticker = "T" + i;
+            int currencyId = i % 2;
+
+            boxed.add(new BoxedPosition(ticker, type, quantity, avgBuyPrice, currencyId == 0 ? "USD" : "KRW"));
+            currentPrices.put(ticker, price);
+
+            tickers[i] = ticker;
+            typeOrdinals[i] = type.ordinal();
+            quantities[i] = Decimal8.unitsOf(quantity);
+            costs[i] = Decimal8.multiplyUnits(quantities[i], Decimal8.unitsOf(avgBuyPrice));
+            currencyIds[i] = currencyId;
+        }
+        totals = new PortfolioStatsKernel.Totals();
+    }
+
+    @Benchmark
+    public DashboardDto.PortfolioStatsResponse boxedMap() {
+        Double totalInitialInvestment = 0.0;
+        Double totalMarketValue = 0.0;
+        Map<AssetType, Double> assetTypeMarketValues = new HashMap<>();
+        for (BoxedPosition position : boxed) {
+            Double rate = boxedRates.get(position.currency);
+            Double investmentValue = position.quantity * position.avgBuyPrice * rate;
+            totalInitialInvestment += investmentValue;
+            Double price = currentPrices.get(position.ticker);
+            Double marketValue = position.quantity * (price != null ? price : position.avgBuyPrice) * rate;
+            totalMarketValue += marketValue;
+            assetTypeMarketValues.merge(position.assetType, marketValue, Double::sum);
+        }
+
+        double totalGainLoss = totalMarketValue - totalInitialInvestment;
+        double totalReturnRate = totalInitialInvestment > 0 ? totalGainLoss / totalInitialInvestment * 100.0 : 0.0;
+        List<DashboardDto.AssetAllocation> assetAllocations = new ArrayList<>();
+        for (Map.Entry<AssetType, Double> entry : assetTypeMarketValues.entrySet()) {
+            double percentage = totalMarketValue > 0 ? entry.getValue() / totalMarketValue * 100.0 : 0.0;
+            assetAllocations.add(DashboardDto.AssetAllocation.builder()
+                    .assetType(entry.getKey().name())
+                    .value(Decimal8.ofDouble(entry.getValue()).toJson())
+                    .percentage(percentage)
+                    .build());
+        }
+        return DashboardDto.PortfolioStatsResponse.builder()
+                .totalMarketValue(Decimal8.ofDouble(totalMarketValue).toJson())
+                .totalInitialInvestment(Decimal8.ofDouble(totalInitialInvestment).toJson())
+                .totalGainLoss(Decimal8.ofDouble(totalGainLoss).toJson())
+                .totalReturnRate(totalReturnRate)
+                .assetAllocations(assetAllocations)
+                .baseCurrency("USD")
+                .build();
+    }
+
+    @Benchmark
+    public DashboardDto.PortfolioStatsResponse primitiveKernel() {
+        for (int i = 0; i < positions; i++) {
+            Double price = currentPrices.get(tickers[i]);
+            prices[i] = price != null ? Decimal8.unitsOf(price) : PortfolioStatsKernel.NO_PRICE;
+        }
+        totals.reset();
+        PortfolioStatsKernel.accumulate(positions, typeOrdinals, quantities, costs, null, prices, currencyIds, toBase, totals);
+        return PortfolioStatsKernel.toResponse(totals, "USD", null);
+    }
+
+    // 기존 엔티티처럼 박싱된 필드를 가진 보유 종목
+    private static final class BoxedPosition {
+        private final String ticker;
+        private final AssetType assetType;
+        private final Double quantity;
+        private final Double avgBuyPrice;
+        private final String currency;
+
+        private BoxedPosition(String ticker, AssetType assetType, Double quantity, Double avgBuyPrice, String currency) {
+            this.ticker = ticker;
+            this.assetType = assetType;
+            this.quantity = quantity;
+            this.avgBuyPrice = avgBuyPrice;
+            this.currency = currency;
+        }
+    }
+}
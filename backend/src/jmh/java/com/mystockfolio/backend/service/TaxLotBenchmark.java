@@ -0,0 +1,93 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.util.Decimal8;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 세금 로트 매칭 - 체결 100,000건 계정의 연도별 실현 손익
+ * - sequential: 티커를 순서대로 매칭 (로트 큐/결과 객체 재사용)
+ * - parallel: 티커별 병렬 매칭 (TaxReportService와 같은 분할)
+ * - tickers = 1이면 한 종목에 체결이 몰린 단타 계정 (로트 큐가 가장 길어지는 경우)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=TaxLotBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxLotBenchmark {
+
+    private static final int FILLS = 100_000;
+    private static final int TAX_YEAR = 2025;
+
+    @Param({"1", "200"})
+    private int tickers;
+
+    @Param({"FIFO", "LIFO", "AVERAGE"})
+    private TaxLotEngine.Method method;
+
+    private TaxLotEngine.Fills[] fills;
+    private final TaxLotEngine.LotQueue lots = new TaxLotEngine.LotQueue();
+    private final TaxLotEngine.Result result = new TaxLotEngine.Result();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fills = new TaxLotEngine.Fills[tickers];
+        int perTicker = FILLS / tickers;
+        for (int t = 0; t < tickers; t++) {
+            fills[t] = new TaxLotEngine.Fills(perTicker);
+            long held = 0L;
+            for (int i = 0; i < perTicker; i++) {
+                // 2023 ~ 2025년에 고르게 분포, 매수 60% / 매도 40% (보유 수량 안에서만 매도)
+                int year = 2023 + i * 3 / perTicker;
+                long price = (50L + random.nextInt(150)) * Decimal8.ONE + random.nextInt((int) Decimal8.ONE);
+                if (held == 0L || random.nextInt(10) < 6) {
+                    long quantity = (1L + random.nextInt(100)) * Decimal8.ONE;
+                    fills[t].add(TaxLotEngine.ACQUIRE, quantity, price, year);
+                    held += quantity;
+                } else {
+                    long quantity = Math.min(held, (1L + random.nextInt(150)) * Decimal8.ONE);
+                    fills[t].add(TaxLotEngine.SELL, quantity, price, year);
+                    held -= quantity;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sequential() {
+        BigDecimal gain = BigDecimal.ZERO;
+        for (TaxLotEngine.Fills tickerFills : fills) {
+            TaxLotEngine.match(tickerFills, method, TAX_YEAR, lots, result);
+            gain = gain.add(result.realizedGain());
+        }
+        return gain;
+    }
+
+    @Benchmark
+    public BigDecimal parallel() {
+        return IntStream.range(0, fills.length).parallel().mapToObj(t -> {
+            TaxLotEngine.Result tickerResult = new TaxLotEngine.Result();
+            TaxLotEngine.match(fills[t], method, TAX_YEAR, new TaxLotEngine.LotQueue(), tickerResult);
+            return tickerResult.realizedGain();
+        }).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
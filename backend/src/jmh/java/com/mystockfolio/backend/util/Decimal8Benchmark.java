@@ -0,0 +1,92 @@
+package com.mystockfolio.backend.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수량 x 단가 합계 비용 비교 (대시보드 집계의 핵심 연산)
+ * - doubles: 기존 double 곱/합 (오차 있음)
+ * - decimal8Units: Decimal8.multiplyUnits로 long units 곱/합 (정확, 할당 없음)
+ * - bigDecimal: BigDecimal 곱/합 (정확, 연산마다 할당)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=Decimal8Benchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Decimal8Benchmark {
+
+    @Param({"1000", "100000"})
+    private int positions;
+
+    private double[] quantityDoubles;
+    private double[] priceDoubles;
+    private long[] quantityUnits;
+    private long[] priceUnits;
+    private BigDecimal[] quantityDecimals;
+    private BigDecimal[] priceDecimals;
+
+    @Setup
+    public void setUp() {
+        quantityDoubles = new double[positions];
+        priceDoubles = new double[positions];
+        quantityUnits = new long[positions];
+        priceUnits = new long[positions];
+        quantityDecimals = new BigDecimal[positions];
+        priceDecimals = new BigDecimal[positions];
+        for (int i = 0; i < positions; i++) {
+            // 코인 소수 수량(8자리)과 원화/달러 단가가 섞인 분포
+            long quantity = 1L + (i * 2_654_435_761L) % 5_000_000_000L;
+            long price = 1_000_000L + (i * 40_503L) % 900_000_000_000L;
+            quantityUnits[i] = quantity;
+            priceUnits[i] = price;
+            quantityDecimals[i] = BigDecimal.valueOf(quantity, Decimal8.SCALE);
+            priceDecimals[i] = BigDecimal.valueOf(price, Decimal8.SCALE);
+            quantityDoubles[i] = quantityDecimals[i].doubleValue();
+            priceDoubles[i] = priceDecimals[i].doubleValue();
+        }
+    }
+
+    @Benchmark
+    public double doubles() {
+        double total = 0.0;
+        for (int i = 0; i < positions; i++) {
+            total += quantityDoubles[i] * priceDoubles[i];
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long decimal8Units() {
+        long total = 0L;
+        for (int i = 0; i < positions; i++) {
+            total = Math.addExact(total, Decimal8.multiplyUnits(quantityUnits[i], priceUnits[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < positions; i++) {
+            total = total.add(quantityDecimals[i].multiply(priceDecimals[i]).setScale(Decimal8.SCALE, RoundingMode.HALF_EVEN));
+        }
+        return total;
+    }
+}
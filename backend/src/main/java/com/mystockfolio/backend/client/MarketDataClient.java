@@ -9,12 +9,26 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
 @Slf4j
 @Component
 public class MarketDataClient {
 
     private final WebClient webClient;
 
+    // 진행 중인 동일 요청 (키: 엔드포인트|티커|기간, 일괄 조회는 정렬한 티커 목록) - 동시 호출자는 하나의 Mono를 공유
+    private final ConcurrentHashMap<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder collapsedCalls = new LongAdder();
+
     public MarketDataClient(@Value("${market.data.url}") String marketDataUrl, WebClient.Builder webClientBuilder) {
         this.webClient = webClientBuilder.baseUrl(marketDataUrl).build();
         log.info("MarketDataClient initialized with URL: {}", marketDataUrl);
@@ -22,6 +36,10 @@ public class MarketDataClient {
 
     // 1. 실시간 시세 조회 (FastAPI의 /api/market/price 엔드포인트 호출)
     public Mono<MarketDataDto.PriceResponse> getCurrentPrice(String ticker) {
+        return singleFlight("price|" + ticker, () -> fetchCurrentPrice(ticker));
+    }
+
+    private Mono<MarketDataDto.PriceResponse> fetchCurrentPrice(String ticker) {
         return webClient.get()
                 .uri("/api/market/price?ticker={ticker}", ticker)
                 .retrieve()
@@ -44,8 +62,43 @@ public class MarketDataClient {
                 });
     }
 
-    // 2. 차트 데이터 조회 (FastAPI의 /api/market/chart 엔드포인트 호출)
+    // 2. 다중 티커 시세 일괄 조회 (FastAPI의 /api/market/prices 엔드포인트 호출)
+    // - N개 티커를 한 번의 왕복으로 조회, 티커별 실패는 errors에 담겨 반환됨
+    // - 호출 자체가 실패하면 요청한 모든 티커를 실패로 보고 (Mono.empty() 대신)
+    // - 같은 티커 집합(순서/중복 무관)의 동시 호출은 하나의 요청을 공유
+    public Mono<MarketDataDto.BatchPriceResponse> getCurrentPrices(Collection<String> tickers) {
+        if (tickers.isEmpty()) {
+            return Mono.just(new MarketDataDto.BatchPriceResponse(List.of(), Map.of()));
+        }
+
+        List<String> sorted = new ArrayList<>(new TreeSet<>(tickers));
+        return singleFlight("prices|" + String.join(",", sorted), () -> fetchCurrentPrices(sorted));
+    }
+
+    private Mono<MarketDataDto.BatchPriceResponse> fetchCurrentPrices(List<String> tickers) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/market/prices")
+                        .queryParam("tickers", String.join(",", tickers))
+                        .build())
+                .retrieve()
+                .onStatus(status -> status.isError(), response -> {
+                    log.error("Error calling MarketDataService for prices: {}", response.statusCode());
+                    return response.createException();
+                })
+                .bodyToMono(MarketDataDto.BatchPriceResponse.class)
+                .onErrorResume(e -> {
+                    log.error("Failed to connect to MarketDataService for prices: {}", e.getMessage());
+                    return Mono.just(MarketDataDto.BatchPriceResponse.failed(tickers, e.getMessage()));
+                });
+    }
+
+    // 3. 차트 데이터 조회 (FastAPI의 /api/market/chart 엔드포인트 호출)
     public Mono<MarketDataDto.ChartResponse> getHistoricalChart(String ticker, String period) {
+        return singleFlight("chart|" + ticker + "|" + period, () -> fetchHistoricalChart(ticker, period));
+    }
+
+    private Mono<MarketDataDto.ChartResponse> fetchHistoricalChart(String ticker, String period) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/api/market/chart")
@@ -64,4 +117,40 @@ public class MarketDataClient {
                     return Mono.empty();
                 });
     }
-}
\ No newline at end of file
+
+    // 실제로 market-data-svc에 보낸 호출 수
+    public long getUpstreamCallCount() {
+        return upstreamCalls.sum();
+    }
+
+    // 진행 중인 호출에 합류하여 생략된 호출 수
+    public long getCollapsedCallCount() {
+        return collapsedCalls.sum();
+    }
+
+    // 같은 키의 호출이 진행 중이면 그 결과를 공유하고, 없으면 새로 시작
+    // 완료(성공/실패/취소) 시 맵에서 제거되므로 이후 호출은 새 요청을 보냄
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> singleFlight(String key, Supplier<Mono<T>> call) {
+        Mono<?> existing = inFlight.get(key);
+        if (existing != null) {
+            collapsedCalls.increment();
+            return (Mono<T>) existing;
+        }
+
+        Mono<T>[] created = new Mono[1];
+        Mono<?> shared = inFlight.computeIfAbsent(key, k -> {
+            created[0] = Mono.defer(call)
+                    .doFinally(signal -> inFlight.remove(k, created[0]))
+                    .cache();
+            return created[0];
+        });
+
+        if (shared == created[0]) {
+            upstreamCalls.increment();
+        } else {
+            collapsedCalls.increment();
+        }
+        return (Mono<T>) shared;
+    }
+}
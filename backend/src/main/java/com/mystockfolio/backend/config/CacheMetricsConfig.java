@@ -0,0 +1,75 @@
+package com.mystockfolio.backend.config;
+
+import com.mystockfolio.backend.client.MarketDataClient;
+import com.mystockfolio.backend.market.PriceStreamHub;
+import com.mystockfolio.backend.market.QuoteCache;
+import com.mystockfolio.backend.service.UserResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 메모리 캐시, 시세 스트림, 시세 조회 클라이언트의 카운터를 Micrometer 지표로 노출 (/actuator/metrics)
+ * - 카운터는 각 컴포넌트의 LongAdder를 조회 시점에 읽기만 함 (요청 경로에 추가 비용 없음)
+ * - cache.gets{cache, result=hit|stale|miss}, cache.evictions{cache}, cache.size{cache} - Micrometer 캐시 지표 이름을 따름
+ * - market.data.calls{result=upstream|collapsed}: market-data-svc 호출 중 실제로 보낸 것과 진행 중인 호출에 합류한 것
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(QuoteCache quoteCache, UserResponseCache userResponseCache,
+                                    PriceStreamHub priceStreamHub, MarketDataClient marketDataClient) {
+        return registry -> {
+            counter(registry, "cache.gets", "quotes", "hit", quoteCache, c -> c.getHitCount());
+            counter(registry, "cache.gets", "quotes", "stale", quoteCache, c -> c.getStaleHitCount());
+            counter(registry, "cache.gets", "quotes", "miss", quoteCache, c -> c.getMissCount());
+            FunctionCounter.builder("cache.refreshes", quoteCache, c -> c.getRefreshCount())
+                    .tag("cache", "quotes")
+                    .description("만료된 시세의 백그라운드 갱신 수")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", quoteCache, c -> c.getEvictionCount())
+                    .tag("cache", "quotes")
+                    .register(registry);
+            Gauge.builder("cache.size", quoteCache, QuoteCache::size)
+                    .tag("cache", "quotes")
+                    .register(registry);
+
+            counter(registry, "cache.gets", "responses", "hit", userResponseCache, c -> c.getHitCount());
+            counter(registry, "cache.gets", "responses", "miss", userResponseCache, c -> c.getMissCount());
+            FunctionCounter.builder("cache.evictions", userResponseCache, c -> c.getEvictionCount())
+                    .tag("cache", "responses")
+                    .register(registry);
+            Gauge.builder("cache.size", userResponseCache, UserResponseCache::size)
+                    .tag("cache", "responses")
+                    .register(registry);
+
+            FunctionCounter.builder("price.stream.dropped", priceStreamHub, h -> h.getDroppedCount())
+                    .description("느린 연결의 버퍼에서 버려진 시세 수")
+                    .register(registry);
+            FunctionCounter.builder("price.stream.emit.failures", priceStreamHub, h -> h.getEmitFailureCount())
+                    .description("발행하지 못한 시세 수")
+                    .register(registry);
+
+            FunctionCounter.builder("market.data.calls", marketDataClient, c -> c.getUpstreamCallCount())
+                    .tag("result", "upstream")
+                    .register(registry);
+            FunctionCounter.builder("market.data.calls", marketDataClient, c -> c.getCollapsedCallCount())
+                    .tag("result", "collapsed")
+                    .register(registry);
+        };
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, String cache, String result,
+                                    T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(name, source, count)
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+}
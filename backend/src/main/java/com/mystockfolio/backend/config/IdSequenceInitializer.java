@@ -0,0 +1,39 @@
+package com.mystockfolio.backend.config;
+
+import com.mystockfolio.backend.domain.entity.Asset;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 테이블 기반 ID 생성기(id_sequences)의 시작값 보정
+ * - Asset은 IDENTITY(AUTO_INCREMENT)에서 pooled 테이블 생성기로 바뀌었으므로,
+ *   기존 행의 최대 id보다 작은 값이 할당되지 않도록 기동 시 next_val을 끌어올림
+ * - pooled 생성기는 저장된 값 V를 읽으면 (V - allocationSize, V] 구간을 사용하므로 최대 id + allocationSize 이상으로 맞춤
+ * - EntityManagerFactory(스키마 갱신) 이후, 요청을 받기 전에 실행
+ */
+@Slf4j
+@Component
+// ddl-auto로 id_sequences 테이블이 만들어진 뒤에 초기화되도록 함
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignAssetSequence() {
+        jdbcTemplate.update("INSERT INTO id_sequences (sequence_name, next_val) " +
+                        "SELECT ?, COALESCE(MAX(id), 0) + ? FROM Asset " +
+                        "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                Asset.ID_SEQUENCE, Asset.ID_ALLOCATION_SIZE);
+        Long nextVal = jdbcTemplate.queryForObject("SELECT next_val FROM id_sequences WHERE sequence_name = ?",
+                Long.class, Asset.ID_SEQUENCE);
+        log.info("ID 생성기 초기화 - {}: next_val {}", Asset.ID_SEQUENCE, nextVal);
+    }
+}
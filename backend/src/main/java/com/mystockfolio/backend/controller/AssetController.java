@@ -2,18 +2,28 @@
 
 package com.mystockfolio.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mystockfolio.backend.config.JwtAuthenticationFilter;
 import com.mystockfolio.backend.dto.AssetDto;
+import com.mystockfolio.backend.dto.ImportDto;
+import com.mystockfolio.backend.dto.PageDto;
+import com.mystockfolio.backend.service.AssetImportService;
 import com.mystockfolio.backend.service.AssetService;
 import com.mystockfolio.backend.service.PortfolioService;
+import com.mystockfolio.backend.util.Ndjson;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.List;
 
 @Slf4j
@@ -23,7 +33,9 @@ import java.util.List;
 public class AssetController {
 
     private final AssetService assetService;
+    private final AssetImportService assetImportService;
     private final PortfolioService portfolioService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Security Context에서 현재 로그인한 사용자 ID 추출
@@ -52,6 +64,36 @@ public class AssetController {
         return ResponseEntity.ok(assets);
     }
 
+    // 자산 목록 키셋 페이지 (GET /api/portfolios/{portfolioId}/assets?limit=100&after=123)
+    @GetMapping(value = "/{portfolioId}/assets", params = "limit")
+    public ResponseEntity<PageDto.CursorPage<AssetDto.AssetResponse>> getAssetPage(
+            @PathVariable Long portfolioId,
+            @RequestParam int limit,
+            @RequestParam(required = false) Long after) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("🔍 자산 목록 페이지 조회 - portfolioId: {}, after: {}, limit: {}", portfolioId, after, limit);
+        return ResponseEntity.ok(assetService.getAssetPage(userId, portfolioId, after, limit));
+    }
+
+    // 자산 목록 스트리밍 (GET /api/portfolios/{portfolioId}/assets/stream, application/x-ndjson)
+    // DB 커서에서 읽는 대로 한 줄씩 기록하므로 자산 수와 관계없이 메모리 사용량이 일정
+    @GetMapping(value = "/{portfolioId}/assets/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAssets(@PathVariable Long portfolioId) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("📤 자산 목록 스트리밍 - portfolioId: {}", portfolioId);
+        StreamingResponseBody body = out -> assetService.forEachAsset(userId, portfolioId,
+                asset -> Ndjson.writeLine(objectMapper, out, asset));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     // 새 자산 추가
     @PostMapping("/{portfolioId}/assets")
     public ResponseEntity<AssetDto.AssetResponse> createAsset(
@@ -67,6 +109,53 @@ public class AssetController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdAsset);
     }
 
+    // 자산 일괄 생성/수정/삭제 (POST /api/portfolios/{portfolioId}/assets/bulk, 한 트랜잭션)
+    @PostMapping("/{portfolioId}/assets/bulk")
+    public ResponseEntity<AssetDto.AssetBulkResponse> bulkAssets(
+            @PathVariable Long portfolioId,
+            @RequestBody AssetDto.AssetBulkRequest requestDto) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("📦 자산 일괄 처리 요청 - portfolioId: {}", portfolioId);
+        AssetDto.AssetBulkResponse response = assetService.bulkAssets(userId, portfolioId, requestDto);
+        log.info("✅ 자산 일괄 처리 완료 - 생성 {}개, 수정 {}개, 삭제 {}개",
+            response.getCreated().size(), response.getUpdated(), response.getDeleted());
+        return ResponseEntity.ok(response);
+    }
+
+    // 증권사 CSV 가져오기 시작 (POST /api/portfolios/{portfolioId}/assets/import, multipart "file")
+    // 처리는 비동기 -> 202와 작업 상태를 반환하고, 진행 상황은 작업 ID로 조회
+    @PostMapping(value = "/{portfolioId}/assets/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportDto.ImportJobResponse> importAssets(
+            @PathVariable Long portfolioId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "UTF-8") String encoding) throws IOException {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("📥 CSV 가져오기 요청 - portfolioId: {}, 파일: {}", portfolioId, file.getOriginalFilename());
+        ImportDto.ImportJobResponse job = assetImportService.start(userId, portfolioId, file, Charset.forName(encoding));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    // CSV 가져오기 진행 상황 (GET /api/portfolios/{portfolioId}/assets/import/{jobId})
+    @GetMapping("/{portfolioId}/assets/import/{jobId}")
+    public ResponseEntity<ImportDto.ImportJobResponse> getImportJob(
+            @PathVariable Long portfolioId,
+            @PathVariable String jobId) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(assetImportService.getJob(userId, portfolioId, jobId));
+    }
+
     // 자산 정보 수정
     @PutMapping("/{portfolioId}/assets/{assetId}")
     public ResponseEntity<AssetDto.AssetResponse> updateAsset(
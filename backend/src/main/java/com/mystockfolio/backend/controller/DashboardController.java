@@ -2,16 +2,28 @@ package com.mystockfolio.backend.controller;
 
 import com.mystockfolio.backend.config.JwtAuthenticationFilter;
 import com.mystockfolio.backend.dto.DashboardDto;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.dto.TaxDto;
 import com.mystockfolio.backend.service.DashboardService;
+import com.mystockfolio.backend.service.TaxReportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
 
 @Slf4j
 @RestController
@@ -20,6 +32,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final TaxReportService taxReportService;
+
+    // 유휴 연결이 프록시에서 끊기지 않도록 보내는 keep-alive 주기 (밀리초)
+    @Value("${market.stream.heartbeat-ms:30000}")
+    private long heartbeatMs;
 
     /**
      * Security Context에서 현재 로그인한 사용자 ID 추출
@@ -40,10 +57,14 @@ public class DashboardController {
     }
 
     /**
-     * 사용자의 총 포트폴리오 통계 (총 자산 가치, 수익률, 자산 배분 등)를 조회합니다.
+     * 사용자의 총 포트폴리오 통계 (총 자산 가치, 수익률, 자산 배분, 기간별 평가액 추이 등)를 조회합니다.
+     * period: 평가액 추이 기간 (1d, 5d, 7d, 1mo, 3mo, 6mo, 1y, 2y, 5y, 10y, ytd, max)
+     * currency: 금액 환산 기준 통화 (생략하면 사용자 설정값, 기본 KRW)
      */
     @GetMapping("/stats")
-    public ResponseEntity<DashboardDto.PortfolioStatsResponse> getPortfolioStats() {
+    public ResponseEntity<DashboardDto.PortfolioStatsResponse> getPortfolioStats(
+            @RequestParam(defaultValue = "1mo") String period,
+            @RequestParam(required = false) String currency) {
         log.info("🎯 대시보드 통계 API 호출됨");
 
         Long userId = getCurrentUserId();
@@ -53,9 +74,64 @@ public class DashboardController {
         }
 
         log.info("📊 사용자 ID: {}의 대시보드 통계 조회 시작", userId);
-        DashboardDto.PortfolioStatsResponse response = dashboardService.getPortfolioStats(userId);
+        DashboardDto.PortfolioStatsResponse response = dashboardService.getPortfolioStats(userId, period, currency);
         log.info("✅ 대시보드 통계 응답 전송 완료 - 총 자산: ₩{}, 수익률: {}%", 
             response.getTotalMarketValue(), response.getTotalReturnRate());
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * 대시보드 기준 통화를 변경합니다. (지원 통화: fx.currencies)
+     */
+    @PutMapping("/base-currency")
+    public ResponseEntity<DashboardDto.BaseCurrencyResponse> updateBaseCurrency(
+            @RequestBody DashboardDto.BaseCurrencyRequest request) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            log.error("❌ 인증된 사용자 ID를 찾을 수 없습니다");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(dashboardService.updateBaseCurrency(userId, request.getCurrency()));
+    }
+
+    /**
+     * 과세 연도의 실현 손익을 조회합니다. (GET /api/dashboard/realized-gains?year=2025&method=FIFO)
+     * method: FIFO(기본), LIFO, AVERAGE - 금액은 티커의 거래 통화 기준
+     */
+    @GetMapping("/realized-gains")
+    public ResponseEntity<TaxDto.RealizedGainReport> getRealizedGains(
+            @RequestParam int year,
+            @RequestParam(required = false) String method) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            log.error("❌ 인증된 사용자 ID를 찾을 수 없습니다");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(taxReportService.getRealizedGains(userId, year, method));
+    }
+
+    /**
+     * 보유 종목의 실시간 시세를 SSE로 구독합니다. (text/event-stream)
+     * 시세가 갱신될 때마다 'price' 이벤트를 보내며, 유휴 상태에서는 주기적으로 keep-alive 주석을 보냅니다.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<MarketDataDto.PriceResponse>>> streamPrices() {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            log.error("❌ 인증된 사용자 ID를 찾을 수 없습니다");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Flux<ServerSentEvent<MarketDataDto.PriceResponse>> prices = dashboardService.streamPrices(userId)
+                .map(quote -> ServerSentEvent.<MarketDataDto.PriceResponse>builder()
+                        .event("price")
+                        .id(quote.getTicker())
+                        .data(quote)
+                        .build());
+        Flux<ServerSentEvent<MarketDataDto.PriceResponse>> heartbeat = Flux.interval(Duration.ofMillis(heartbeatMs))
+                .map(tick -> ServerSentEvent.<MarketDataDto.PriceResponse>builder().comment("keep-alive").build());
+        return ResponseEntity.ok(Flux.merge(prices, heartbeat));
+    }
+}
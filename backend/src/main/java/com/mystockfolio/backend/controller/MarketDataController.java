@@ -0,0 +1,36 @@
+package com.mystockfolio.backend.controller;
+
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.service.ChartService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/market")
+@RequiredArgsConstructor
+public class MarketDataController {
+
+    private final ChartService chartService;
+
+    /**
+     * 자산의 과거 차트 데이터를 조회합니다. (로컬 이력 저장소에서 기간만큼 잘라서 응답)
+     * period: 1d, 5d, 7d, 1mo, 3mo, 6mo, 1y, 2y, 5y, 10y, ytd, max
+     * points: 지정하면 LTTB 다운샘플링으로 최대 points개 점만 응답 (예: 화면 너비 300px -> points=300)
+     */
+    @GetMapping("/chart")
+    public ResponseEntity<MarketDataDto.ChartResponse> getHistoricalChart(
+            @RequestParam String ticker,
+            @RequestParam(defaultValue = "7d") String period,
+            @RequestParam(required = false) Integer points) {
+        String normalizedTicker = ticker.trim().toUpperCase();
+        log.info("📈 차트 조회 - ticker: {}, period: {}, points: {}", normalizedTicker, period, points);
+
+        return ResponseEntity.ok(chartService.getChart(normalizedTicker, period, points));
+    }
+}
@@ -1,17 +1,28 @@
 package com.mystockfolio.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mystockfolio.backend.config.JwtAuthenticationFilter;
+import com.mystockfolio.backend.dto.PageDto;
 import com.mystockfolio.backend.dto.PortfolioDto;
+import com.mystockfolio.backend.service.DashboardService;
+import com.mystockfolio.backend.service.PortfolioExportService;
 import com.mystockfolio.backend.service.PortfolioService;
+import com.mystockfolio.backend.util.Ndjson;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -20,6 +31,9 @@ import java.util.List;
 public class PortfolioController {
 
     private final PortfolioService portfolioService;
+    private final DashboardService dashboardService;
+    private final PortfolioExportService portfolioExportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Security Context에서 현재 로그인한 사용자 ID 추출
@@ -53,6 +67,100 @@ public class PortfolioController {
         return ResponseEntity.ok(portfolios);
     }
 
+    // 포트폴리오 목록 키셋 페이지 (GET /api/portfolios?limit=50&after=123) - ID/이름만, 자산은 자산 목록 페이지로 조회
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageDto.CursorPage<PortfolioDto.PortfolioSimpleResponse>> getUserPortfolioPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Long after) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("📂 포트폴리오 목록 페이지 조회 - userId: {}, after: {}, limit: {}", userId, after, limit);
+        return ResponseEntity.ok(portfolioService.getPortfolioPage(userId, after, limit));
+    }
+
+    // 포트폴리오 목록 스트리밍 (GET /api/portfolios/stream, application/x-ndjson)
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserPortfolios() {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("📤 포트폴리오 목록 스트리밍 - userId: {}", userId);
+        StreamingResponseBody body = out -> portfolioService.forEachPortfolio(userId,
+                portfolio -> Ndjson.writeLine(objectMapper, out, portfolio));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // 보유 자산 내보내기 (GET /api/portfolios/export?format=csv|ndjson, 첨부 파일)
+    // DB 커서에서 읽는 대로 기록하고, 클라이언트가 gzip을 받으면 압축하면서 바로 소켓으로 내보냄
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPortfolios(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        PortfolioExportService.Format exportFormat = PortfolioExportService.Format.of(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        log.info("📤 보유 자산 내보내기 - userId: {}, format: {}, gzip: {}", userId, exportFormat, gzip);
+
+        StreamingResponseBody body = out -> {
+            long rows;
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                rows = portfolioExportService.export(userId, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                rows = portfolioExportService.export(userId, exportFormat, out);
+            }
+            log.info("✅ 보유 자산 내보내기 완료 - userId: {}, {}행", userId, rows);
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("portfolios." + exportFormat.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // 여러 포트폴리오의 통계 일괄 조회 (GET /api/portfolios/stats?ids=1,2,3&currency=USD)
+    @GetMapping("/stats")
+    public ResponseEntity<List<PortfolioDto.PortfolioStatsResponse>> getPortfoliosStats(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String currency) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("📊 포트폴리오 통계 일괄 조회 - userId: {}, portfolioIds: {}", userId, ids);
+        return ResponseEntity.ok(dashboardService.getPortfolioStats(userId, ids, currency));
+    }
+
+    // 특정 포트폴리오 통계 조회 (GET /api/portfolios/{portfolioId}/stats)
+    @GetMapping("/{portfolioId}/stats")
+    public ResponseEntity<PortfolioDto.PortfolioStatsResponse> getPortfolioStats(
+            @PathVariable Long portfolioId,
+            @RequestParam(required = false) String currency) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("📊 포트폴리오 통계 조회 - userId: {}, portfolioId: {}", userId, portfolioId);
+        return ResponseEntity.ok(dashboardService.getPortfolioStats(userId, List.of(portfolioId), currency).get(0));
+    }
+
     // 특정 포트폴리오 상세 조회 (GET /api/portfolios/{portfolioId})
     @GetMapping("/{portfolioId}")
     public ResponseEntity<PortfolioDto.PortfolioResponse> getPortfolioDetails(@PathVariable Long portfolioId) {
@@ -0,0 +1,99 @@
+package com.mystockfolio.backend.controller;
+
+import com.mystockfolio.backend.config.JwtAuthenticationFilter;
+import com.mystockfolio.backend.dto.PageDto;
+import com.mystockfolio.backend.dto.TransactionDto;
+import com.mystockfolio.backend.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/portfolios/{portfolioId}/assets/{assetId}")
+@RequiredArgsConstructor
+public class TransactionController {
+
+    private final LedgerService ledgerService;
+
+    /**
+     * Security Context에서 현재 로그인한 사용자 ID 추출
+     */
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof JwtAuthenticationFilter.CustomUserDetails) {
+            JwtAuthenticationFilter.CustomUserDetails userDetails =
+                (JwtAuthenticationFilter.CustomUserDetails) authentication.getPrincipal();
+            Long userId = userDetails.getUserId();
+            log.debug("🔑 현재 사용자 ID 추출: {}", userId);
+            return userId;
+        }
+
+        log.warn("⚠️ 인증된 사용자를 찾을 수 없습니다.");
+        return null;
+    }
+
+    // 거래 기록 (POST /api/portfolios/{portfolioId}/assets/{assetId}/transactions) - 자산 포지션에 바로 반영
+    @PostMapping("/transactions")
+    public ResponseEntity<TransactionDto.TransactionRecordResponse> recordTransaction(
+            @PathVariable Long portfolioId,
+            @PathVariable Long assetId,
+            @RequestBody TransactionDto.TransactionCreateRequest requestDto) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("🧾 거래 기록 요청 - assetId: {}, type: {}", assetId, requestDto.getTransactionType());
+        TransactionDto.TransactionRecordResponse response = ledgerService.recordTransaction(userId, portfolioId, assetId, requestDto);
+        log.info("✅ 거래 기록 완료 - transactionId: {}", response.getTransaction().getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    // 거래 내역 키셋 페이지 (GET .../transactions?limit=100&after=123)
+    @GetMapping("/transactions")
+    public ResponseEntity<PageDto.CursorPage<TransactionDto.TransactionResponse>> getTransactions(
+            @PathVariable Long portfolioId,
+            @PathVariable Long assetId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long after) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(ledgerService.getTransactionPage(userId, portfolioId, assetId, after, limit));
+    }
+
+    // 현재 포지션 (수량, 평균 단가, 실현 손익)
+    @GetMapping("/position")
+    public ResponseEntity<TransactionDto.PositionResponse> getPosition(
+            @PathVariable Long portfolioId,
+            @PathVariable Long assetId) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(ledgerService.getPosition(userId, portfolioId, assetId));
+    }
+
+    // 포지션 재계산 (마지막 스냅샷 + 이후 거래), 저장값과 다르면 보정
+    @PostMapping("/position/rebuild")
+    public ResponseEntity<TransactionDto.PositionRebuildResponse> rebuildPosition(
+            @PathVariable Long portfolioId,
+            @PathVariable Long assetId) {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("🔄 포지션 재계산 요청 - assetId: {}", assetId);
+        return ResponseEntity.ok(ledgerService.rebuildPosition(userId, portfolioId, assetId));
+    }
+}
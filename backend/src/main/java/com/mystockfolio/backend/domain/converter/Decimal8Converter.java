@@ -0,0 +1,24 @@
+package com.mystockfolio.backend.domain.converter;
+
+import com.mystockfolio.backend.util.Decimal8;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Decimal8 <-> DECIMAL(20,8) 컬럼 변환
+ */
+@Converter
+public class Decimal8Converter implements AttributeConverter<Decimal8, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Decimal8 attribute) {
+        return attribute != null ? attribute.toBigDecimal() : null;
+    }
+
+    @Override
+    public Decimal8 convertToEntityAttribute(BigDecimal dbData) {
+        return dbData != null ? Decimal8.of(dbData) : null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.mystockfolio.backend.domain.entity;
 
+import com.mystockfolio.backend.domain.converter.Decimal8Converter;
+import com.mystockfolio.backend.util.Decimal8;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -12,8 +14,15 @@ import lombok.Setter;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Asset {
 
+    // IDENTITY는 INSERT마다 키를 받아야 해서 JDBC 배치가 꺼짐 -> 테이블 기반 pooled 생성기로 ID를 미리 100개씩 할당
+    // (기존 AUTO_INCREMENT 값과 겹치지 않도록 기동 시 IdSequenceInitializer가 시작값을 맞춤)
+    public static final String ID_SEQUENCE = "Asset";
+    public static final int ID_ALLOCATION_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "asset_id")
+    @TableGenerator(name = "asset_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     // @Column(name = "asset_id") // <-- 제거: DB PK 컬럼명은 'id'
     private Long id; // <-- 필드 이름 'id' 확인 (이미 맞게 되어 있음)
 
@@ -32,14 +41,25 @@ public class Asset {
     @Column(name = "name", length = 100)
     private String name;
 
-    @Column(name = "quantity", nullable = false)
-    private Double quantity;
+    // 수량/단가는 소수점 8자리 고정소수점 (코인 소수 수량도 오차 없이 저장)
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "quantity", nullable = false, precision = 20, scale = 8)
+    private Decimal8 quantity;
+
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "avgBuyPrice", nullable = false, precision = 20, scale = 8)
+    private Decimal8 avgBuyPrice;
 
-    @Column(name = "avgBuyPrice", nullable = false)
-    private Double avgBuyPrice;
+    // 원장(transactions) 기준 누적 실현 손익과 기록된 거래 수 (원장 도입 전 행은 null -> 0으로 취급)
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "realizedPnl", precision = 20, scale = 8)
+    private Decimal8 realizedPnl;
+
+    @Column(name = "transactionCount")
+    private Long transactionCount;
 
     @Builder
-    public Asset(Portfolio portfolio, AssetType assetType, String ticker, String name, Double quantity, Double avgBuyPrice) {
+    public Asset(Portfolio portfolio, AssetType assetType, String ticker, String name, Decimal8 quantity, Decimal8 avgBuyPrice) {
         this.portfolio = portfolio;
         this.assetType = assetType;
         this.ticker = ticker;
@@ -49,10 +69,33 @@ public class Asset {
     }
 
     // 자산 정보 업데이트 메서드
-    public void updateAssetDetails(String name, Double quantity, Double avgBuyPrice) {
+    public void updateAssetDetails(String name, Decimal8 quantity, Decimal8 avgBuyPrice) {
         if (name != null) this.name = name;
-        if (quantity != null && quantity >= 0) this.quantity = quantity;
-        if (avgBuyPrice != null && avgBuyPrice >= 0) this.avgBuyPrice = avgBuyPrice;
+        if (quantity != null && quantity.signum() >= 0) this.quantity = quantity;
+        if (avgBuyPrice != null && avgBuyPrice.signum() >= 0) this.avgBuyPrice = avgBuyPrice;
+    }
+
+    // 원장 거래 하나를 반영한 포지션으로 갱신 (PositionEngine 결과)
+    public void applyPosition(Decimal8 quantity, Decimal8 avgBuyPrice, Decimal8 realizedPnl) {
+        this.quantity = quantity;
+        this.avgBuyPrice = avgBuyPrice;
+        this.realizedPnl = realizedPnl;
+        this.transactionCount = getTransactionCount() + 1;
+    }
+
+    // 재계산 결과로 포지션을 맞춤 (거래 수는 그대로)
+    public void restorePosition(Decimal8 quantity, Decimal8 avgBuyPrice, Decimal8 realizedPnl) {
+        this.quantity = quantity;
+        this.avgBuyPrice = avgBuyPrice;
+        this.realizedPnl = realizedPnl;
+    }
+
+    public Decimal8 getRealizedPnl() {
+        return realizedPnl != null ? realizedPnl : Decimal8.ZERO;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount != null ? transactionCount : 0L;
     }
 
     // AssetService에서 이름을 설정하기 위한 setter 메서드
@@ -0,0 +1,69 @@
+package com.mystockfolio.backend.domain.entity;
+
+import com.mystockfolio.backend.domain.converter.Decimal8Converter;
+import com.mystockfolio.backend.util.Decimal8;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 (transactions 테이블) - 추가만 하는 원장(ledger)
+ * 한 번 기록한 행은 수정하지 않음 (@Immutable), 자산의 현재 포지션은 PositionEngine이 거래마다 증분 반영
+ * 원장 순서는 transaction_id 순 (거래 일시는 표시용)
+ */
+@Entity
+@Immutable
+@Table(name = "transactions", indexes = @Index(name = "idx_asset_txn", columnList = "asset_id, transaction_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AssetTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "transaction_id")
+    private Long id;
+
+    // 자산 엔티티를 로딩하지 않도록 ID만 보관
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private TransactionType transactionType;
+
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "quantity", nullable = false, precision = 20, scale = 8)
+    private Decimal8 quantity;
+
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "price_per_unit", nullable = false, precision = 20, scale = 8)
+    private Decimal8 pricePerUnit;
+
+    // 수량 x 단가는 Decimal8 범위(약 920억)를 넘을 수 있으므로 (예: ₩1,000억 원화 거래) 컬럼 범위 그대로 BigDecimal
+    @Column(name = "total_amount", nullable = false, precision = 20, scale = 8)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDateTime transactionDate;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    @Builder
+    public AssetTransaction(Long assetId, TransactionType transactionType, Decimal8 quantity, Decimal8 pricePerUnit,
+                            LocalDateTime transactionDate, String notes) {
+        this.assetId = assetId;
+        this.transactionType = transactionType;
+        this.quantity = quantity;
+        this.pricePerUnit = pricePerUnit;
+        this.totalAmount = Decimal8.product(quantity.units(), pricePerUnit.units());
+        this.transactionDate = transactionDate != null ? transactionDate : LocalDateTime.now();
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mystockfolio.backend.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시장 데이터 캐시 (market_data_cache 테이블)
+ * 메모리 시세 캐시(QuoteCache)의 2차 저장소 - 재시작 후에도 마지막 시세를 유지
+ */
+@Entity
+@Table(name = "market_data_cache")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MarketDataCache {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "cache_id")
+    private Long cacheId;
+
+    @Column(name = "ticker", nullable = false, unique = true, length = 20)
+    private String ticker;
+
+    @Column(name = "current_price")
+    private Double currentPrice;
+
+    @Column(name = "open_price")
+    private Double openPrice;
+
+    @Column(name = "high_price")
+    private Double highPrice;
+
+    @Column(name = "low_price")
+    private Double lowPrice;
+
+    @Column(name = "previous_close")
+    private Double previousClose;
+
+    @Column(name = "volume")
+    private Long volume;
+
+    @Column(name = "market_cap")
+    private Double marketCap;
+
+    @Column(name = "currency", length = 10)
+    private String currency;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    @Builder
+    public MarketDataCache(String ticker, Double currentPrice, String currency, LocalDateTime lastUpdated) {
+        this.ticker = ticker;
+        this.currentPrice = currentPrice;
+        this.currency = currency;
+        this.lastUpdated = lastUpdated;
+    }
+
+    // 현재가 갱신 (변경 감지로 UPDATE)
+    public void updateQuote(Double currentPrice, String currency, LocalDateTime lastUpdated) {
+        this.currentPrice = currentPrice;
+        if (currency != null) this.currency = currency;
+        this.lastUpdated = lastUpdated;
+    }
+}
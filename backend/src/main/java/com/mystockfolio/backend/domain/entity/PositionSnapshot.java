@@ -0,0 +1,72 @@
+package com.mystockfolio.backend.domain.entity;
+
+import com.mystockfolio.backend.domain.converter.Decimal8Converter;
+import com.mystockfolio.backend.util.Decimal8;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포지션 스냅샷 (position_snapshots 테이블)
+ * lastTransactionId까지의 거래를 반영한 포지션 - 재계산은 마지막 스냅샷 이후의 거래만 다시 적용
+ * - 원장 기록 N건마다(ledger.snapshot-interval) 저장
+ * - 원장 밖에서 수량/단가가 바뀐 경우(자산 수정 API, 원장 이전 보유분)에도 저장하여 재계산 기준점으로 사용
+ * - opening: 원장 첫 거래 직전의 보유분 (세금 로트 매칭의 첫 로트), 그 시점에 이미 있던 거래 행(덤프 샘플 등)은 보유분에 포함된 것으로 봄
+ */
+@Entity
+@Immutable
+@Table(name = "position_snapshots", indexes = @Index(name = "idx_asset_last_txn", columnList = "asset_id, last_transaction_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PositionSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long id;
+
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    // 이 스냅샷에 반영된 마지막 거래 ID (원장 이전 상태면 그 시점의 마지막 거래 ID, 거래 행이 없었으면 0)
+    @Column(name = "last_transaction_id", nullable = false)
+    private Long lastTransactionId;
+
+    // 원장 이전 보유분 스냅샷인지 (오래된 스냅샷 정리 대상에서 제외)
+    @Column(name = "opening", nullable = false)
+    private boolean opening;
+
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "quantity", nullable = false, precision = 20, scale = 8)
+    private Decimal8 quantity;
+
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "avg_buy_price", nullable = false, precision = 20, scale = 8)
+    private Decimal8 avgBuyPrice;
+
+    @Convert(converter = Decimal8Converter.class)
+    @Column(name = "realized_pnl", nullable = false, precision = 20, scale = 8)
+    private Decimal8 realizedPnl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public PositionSnapshot(Long assetId, Long lastTransactionId, Decimal8 quantity, Decimal8 avgBuyPrice, Decimal8 realizedPnl) {
+        this(assetId, lastTransactionId, false, quantity, avgBuyPrice, realizedPnl);
+    }
+
+    public PositionSnapshot(Long assetId, Long lastTransactionId, boolean opening,
+                            Decimal8 quantity, Decimal8 avgBuyPrice, Decimal8 realizedPnl) {
+        this.assetId = assetId;
+        this.lastTransactionId = lastTransactionId;
+        this.opening = opening;
+        this.quantity = quantity;
+        this.avgBuyPrice = avgBuyPrice;
+        this.realizedPnl = realizedPnl;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,16 @@
+package com.mystockfolio.backend.domain.entity;
+
+/**
+ * 거래 내역(transactions)의 거래 유형
+ */
+public enum TransactionType {
+    BUY,        // 매수 - 수량 증가, 평균 단가 갱신
+    SELL,       // 매도 - 수량 감소, (매도가 - 평균 단가) x 수량만큼 실현 손익
+    DEPOSIT,    // 입고 (타 계좌/지갑에서 이전) - 기재한 단가를 취득가로 수량 증가
+    WITHDRAW;   // 출고 - 평균 단가로 수량 감소 (실현 손익 없음)
+
+    // 보유 수량을 늘리는 거래인지
+    public boolean increasesPosition() {
+        return this == BUY || this == DEPOSIT;
+    }
+}
@@ -40,6 +40,9 @@ public class User {
     @Column
     private LocalDateTime createdAt;
 
+    @Column(name = "base_currency", length = 3)
+    private String baseCurrency; // 대시보드 금액 환산 기준 통화 (null이면 KRW)
+
     @Builder
     public User(String email, String password, String nickname, String walletAddress, 
                 String provider, String providerId, LocalDateTime createdAt) {
@@ -68,6 +71,15 @@ public class User {
         }
     }
 
+    // 대시보드 기준 통화 (설정하지 않은 사용자는 KRW)
+    public String getBaseCurrency() {
+        return baseCurrency != null ? baseCurrency : "KRW";
+    }
+
+    public void updateBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
     public void updateWalletAddress(String walletAddress) {
         if (walletAddress == null || (walletAddress.startsWith("0x") && walletAddress.length() == 42)) {
             this.walletAddress = walletAddress;
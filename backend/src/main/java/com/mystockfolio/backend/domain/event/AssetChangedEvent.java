@@ -0,0 +1,50 @@
+package com.mystockfolio.backend.domain.event;
+
+import com.mystockfolio.backend.domain.entity.Asset;
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.util.Decimal8;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 자산(보유 종목) 변경 이벤트
+ * AssetService의 생성/수정/삭제 후 발행되며, 커밋 이후(@TransactionalEventListener) 소비됨
+ * - 생성: before == null
+ * - 삭제: after == null
+ */
+@Getter
+@AllArgsConstructor
+public class AssetChangedEvent {
+
+    private final Long userId;
+    private final Long portfolioId;
+    private final Long assetId;
+    private final Holding before;
+    private final Holding after;
+
+    public static AssetChangedEvent created(Long userId, Asset asset) {
+        return new AssetChangedEvent(userId, asset.getPortfolio().getId(), asset.getId(), null, Holding.of(asset));
+    }
+
+    public static AssetChangedEvent updated(Long userId, Holding before, Asset asset) {
+        return new AssetChangedEvent(userId, asset.getPortfolio().getId(), asset.getId(), before, Holding.of(asset));
+    }
+
+    public static AssetChangedEvent deleted(Long userId, Asset asset) {
+        return new AssetChangedEvent(userId, asset.getPortfolio().getId(), asset.getId(), Holding.of(asset), null);
+    }
+
+    // 변경 전/후 보유 상태 스냅샷 (엔티티 참조 대신 값으로 보관)
+    @Getter
+    @AllArgsConstructor
+    public static class Holding {
+        private final String ticker;
+        private final AssetType assetType;
+        private final Decimal8 quantity;
+        private final Decimal8 avgBuyPrice;
+
+        public static Holding of(Asset asset) {
+            return new Holding(asset.getTicker(), asset.getAssetType(), asset.getQuantity(), asset.getAvgBuyPrice());
+        }
+    }
+}
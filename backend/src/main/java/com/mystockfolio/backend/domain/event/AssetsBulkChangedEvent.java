@@ -0,0 +1,21 @@
+package com.mystockfolio.backend.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 자산 일괄 변경 이벤트 (한 트랜잭션에서 생성/수정/삭제된 자산 전체)
+ * AssetService의 일괄 처리 후 한 번만 발행되며, 커밋 이후(@TransactionalEventListener) 소비됨
+ * 수정은 변경 전 값을 removed에, 변경 후 값을 added에 담음 (수천 건을 이벤트 하나로 반영)
+ */
+@Getter
+@AllArgsConstructor
+public class AssetsBulkChangedEvent {
+
+    private final Long userId;
+    private final Long portfolioId;
+    private final List<AssetChangedEvent.Holding> removed;
+    private final List<AssetChangedEvent.Holding> added;
+}
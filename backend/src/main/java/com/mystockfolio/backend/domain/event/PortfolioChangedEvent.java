@@ -0,0 +1,17 @@
+package com.mystockfolio.backend.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 포트폴리오 변경 이벤트 (생성/이름 수정/삭제)
+ * PortfolioService에서 발행되며, 커밋 이후(@TransactionalEventListener) 소비됨
+ * 포트폴리오에 속한 자산의 변경은 AssetChangedEvent로 따로 발행
+ */
+@Getter
+@AllArgsConstructor
+public class PortfolioChangedEvent {
+
+    private final Long userId;
+    private final Long portfolioId;
+}
@@ -3,11 +3,14 @@ package com.mystockfolio.backend.dto;
 import com.mystockfolio.backend.domain.entity.Asset;
 import com.mystockfolio.backend.domain.entity.AssetType;
 import com.mystockfolio.backend.domain.entity.Portfolio;
+import com.mystockfolio.backend.util.Decimal8;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 public class AssetDto {
 
     // --- 요청(Request) DTO ---
@@ -18,8 +21,8 @@ public class AssetDto {
     @Builder
     public static class AssetCreateRequest {
         private String ticker;
-        private Double quantity;
-        private Double avgBuyPrice;
+        private Decimal8 quantity;
+        private Decimal8 avgBuyPrice;
         private String name;
         private String assetType;
 
@@ -30,12 +33,12 @@ public class AssetDto {
             }
             
             // validation: quantity
-            if (quantity == null || quantity <= 0) {
+            if (quantity == null || quantity.signum() <= 0) {
                 throw new IllegalArgumentException("Quantity must be greater than 0");
             }
             
             // validation: avgBuyPrice
-            if (avgBuyPrice == null || avgBuyPrice <= 0) {
+            if (avgBuyPrice == null || avgBuyPrice.signum() <= 0) {
                 throw new IllegalArgumentException("Average buy price must be greater than 0");
             }
             
@@ -69,8 +72,30 @@ public class AssetDto {
     public static class AssetUpdateRequest {
         private String ticker;
         private String name;
-        private Double quantity;
-        private Double avgBuyPrice;
+        private Decimal8 quantity;
+        private Decimal8 avgBuyPrice;
+    }
+
+    // 일괄 처리 요청 (한 트랜잭션: 생성 -> 수정 -> 삭제 순, 하나라도 실패하면 전체 롤백)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AssetBulkRequest {
+        private List<AssetCreateRequest> create;
+        private List<AssetBulkUpdateRequest> update;
+        private List<Long> delete; // 삭제할 자산 ID
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AssetBulkUpdateRequest {
+        private Long id;
+        private String name;
+        private Decimal8 quantity;
+        private Decimal8 avgBuyPrice;
     }
 
 
@@ -84,11 +109,17 @@ public class AssetDto {
         private Long id;
         private String name;
         private String ticker;
-        private Double quantity;
-        private Double avgBuyPrice;
+        private Decimal8 quantity;
+        private Decimal8 avgBuyPrice;
         private String assetType;
         private Long portfolioId;
 
+        // JPQL 생성자 프로젝션용 (AssetRepository.findResponsesBy*)
+        public AssetResponse(Long id, String name, String ticker, Decimal8 quantity, Decimal8 avgBuyPrice,
+                             AssetType assetType, Long portfolioId) {
+            this(id, name, ticker, quantity, avgBuyPrice, assetType.name(), portfolioId);
+        }
+
         public static AssetResponse fromEntity(Asset asset) {
             return AssetResponse.builder()
                     .id(asset.getId())
@@ -101,4 +132,14 @@ public class AssetDto {
                     .build();
         }
     }
-}
\ No newline at end of file
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AssetBulkResponse {
+        private List<AssetResponse> created; // 생성된 자산 (요청 순서)
+        private int updated;
+        private int deleted;
+    }
+}
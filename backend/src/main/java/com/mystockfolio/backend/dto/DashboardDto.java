@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import java.math.BigDecimal;
 import java.util.List;
 
 public class DashboardDto {
@@ -15,7 +16,7 @@ public class DashboardDto {
     public static class AssetAllocation {
         private String assetType;
         private Double percentage;
-        private Double value;
+        private BigDecimal value;
     }
 
     @Getter
@@ -23,11 +24,30 @@ public class DashboardDto {
     @AllArgsConstructor
     @Builder
     public static class PortfolioStatsResponse {
-        private Double totalMarketValue; // 총 평가 금액
-        private Double totalInitialInvestment; // 총 투자 원금
-        private Double totalGainLoss; // 총 손익
+        // 합계 금액은 Decimal8 범위(약 ±920억)를 넘을 수 있으므로 BigDecimal (원화 포트폴리오)
+        private BigDecimal totalMarketValue; // 총 평가 금액
+        private BigDecimal totalInitialInvestment; // 총 투자 원금
+        private BigDecimal totalGainLoss; // 총 손익
         private Double totalReturnRate; // 총 수익률 (%)
         private List<AssetAllocation> assetAllocations; // 자산 배분 목록 (Pie Chart 데이터)
-        // TODO: List<ChartPoint> timeSeriesData; // 기간별 추이 데이터 (Line Chart 데이터)
+        private List<MarketDataDto.ChartPoint> timeSeriesData; // 기간별 평가액 추이 (Line Chart 데이터)
+        private String baseCurrency; // 금액 필드의 기준 통화 (KRW, USD 등)
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BaseCurrencyRequest {
+        private String currency; // 변경할 기준 통화 코드 (USD, KRW 등)
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BaseCurrencyResponse {
+        private String baseCurrency; // 적용된 기준 통화
+        private List<String> supportedCurrencies; // 선택 가능한 통화 목록
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.mystockfolio.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+public class ImportDto {
+
+    // --- 응답(Response) DTO ---
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ImportJobResponse {
+        private String jobId;
+        private Long portfolioId;
+        private String fileName;
+        private String status; // PENDING, RUNNING, COMPLETED, FAILED
+        private long rowsRead; // 읽은 데이터 행 수
+        private long rowsImported; // 저장된 행 수
+        private long rowsFailed; // 검증/저장에 실패한 행 수
+        private double rowsPerSecond; // 읽기 기준 처리 속도
+        private String startedAt;
+        private String finishedAt;
+        private String message; // 실패 사유 (FAILED일 때)
+        private List<String> errors; // 행 단위 오류 (최대 100개, "line N: 사유")
+    }
+}
@@ -4,7 +4,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MarketDataDto {
 
@@ -19,6 +23,35 @@ public class MarketDataDto {
         private String lastUpdated;
     }
 
+    // FastAPI BatchPriceResponse와 매핑 (다중 티커 일괄 조회)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchPriceResponse {
+        private List<PriceResponse> prices;
+        private Map<String, String> errors; // 조회에 실패한 티커별 사유
+
+        // 전체 호출이 실패한 경우: 요청한 모든 티커를 실패로 보고
+        public static BatchPriceResponse failed(Collection<String> tickers, String reason) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            for (String ticker : tickers) {
+                errors.put(ticker, reason);
+            }
+            return new BatchPriceResponse(List.of(), errors);
+        }
+
+        // 티커 -> 시세 맵으로 변환
+        public Map<String, PriceResponse> toPriceMap() {
+            Map<String, PriceResponse> priceMap = new HashMap<>();
+            if (prices != null) {
+                for (PriceResponse price : prices) {
+                    priceMap.put(price.getTicker(), price);
+                }
+            }
+            return priceMap;
+        }
+    }
+
     // FastAPI ChartPoint와 매핑
     @Getter
     @NoArgsConstructor
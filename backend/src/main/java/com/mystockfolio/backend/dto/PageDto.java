@@ -0,0 +1,45 @@
+package com.mystockfolio.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PageDto {
+
+    // --- 응답(Response) DTO ---
+
+    /**
+     * 커서(keyset) 기반 페이지: 다음 페이지는 after=nextCursor로 요청 (hasMore가 false면 마지막 페이지)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CursorPage<T> {
+        private List<T> items;
+        private Long nextCursor; // 이 페이지 마지막 항목의 id (마지막 페이지면 null)
+        private boolean hasMore;
+
+        /**
+         * limit + 1개까지 조회한 결과로 페이지 생성 (한 개 더 있으면 다음 페이지가 있다는 뜻)
+         */
+        public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+            boolean hasMore = rows.size() > limit;
+            List<T> items = hasMore ? rows.subList(0, limit) : rows;
+            Long nextCursor = hasMore ? idOf.apply(items.get(items.size() - 1)) : null;
+            return new CursorPage<>(items, nextCursor, hasMore);
+        }
+    }
+
+    // 페이지 크기 검증 (1 ~ maxLimit)
+    public static int checkLimit(int limit, int maxLimit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        return limit;
+    }
+}
@@ -1,7 +1,9 @@
 package com.mystockfolio.backend.dto;
 
+import com.mystockfolio.backend.domain.entity.AssetType;
 import com.mystockfolio.backend.domain.entity.Portfolio;
 import com.mystockfolio.backend.domain.entity.User;
+import com.mystockfolio.backend.util.Decimal8;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -59,6 +61,39 @@ public class PortfolioDto {
         }
     }
 
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PortfolioStatsResponse {
+        private Long id;
+        private String name;
+        private DashboardDto.PortfolioStatsResponse stats; // 평가액/수익률/자산 배분 (평가액 추이 제외)
+    }
+
+    // 내보내기 한 행 = 포트폴리오 x 자산 (자산이 없는 포트폴리오는 자산 필드가 null인 한 행)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HoldingExportRow {
+        private Long portfolioId;
+        private String portfolioName;
+        private Long assetId;
+        private String ticker;
+        private String name;
+        private String assetType;
+        private Decimal8 quantity;
+        private Decimal8 avgBuyPrice;
+
+        // JPQL 생성자 프로젝션용 (PortfolioRepository.streamExportRows)
+        public HoldingExportRow(Long portfolioId, String portfolioName, Long assetId, String ticker, String name,
+                                AssetType assetType, Decimal8 quantity, Decimal8 avgBuyPrice) {
+            this(portfolioId, portfolioName, assetId, ticker, name, assetType != null ? assetType.name() : null,
+                    quantity, avgBuyPrice);
+        }
+    }
+
     @Getter
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,75 @@
+package com.mystockfolio.backend.dto;
+
+import com.mystockfolio.backend.domain.entity.TransactionType;
+import com.mystockfolio.backend.util.Decimal8;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TaxDto {
+
+    // 로트 매칭 입력 한 행 (JPQL 생성자 프로젝션, AssetTransactionRepository.streamFillsByUserId)
+    @Getter
+    @AllArgsConstructor
+    public static class LedgerFill {
+        private final String ticker;
+        private final TransactionType transactionType;
+        private final Decimal8 quantity;
+        private final Decimal8 pricePerUnit;
+        private final LocalDateTime transactionDate;
+    }
+
+    // 원장 이전 보유분 = 티커별 첫 로트 (PositionSnapshotRepository.findOpeningLotsByUserId)
+    @Getter
+    @AllArgsConstructor
+    public static class OpeningLot {
+        private final String ticker;
+        private final Decimal8 quantity;
+        private final Decimal8 avgBuyPrice;
+    }
+
+    // --- 응답(Response) DTO ---
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RealizedGainReport {
+        private int year;
+        private String method; // FIFO, LIFO, AVERAGE
+        private long fills; // 매칭에 사용한 체결 수 (과세 연도 말까지)
+        private List<CurrencyTotal> totals; // 통화별 합계 (티커의 거래 통화 기준, 환산 없음)
+        private List<TickerGain> tickers;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TickerGain {
+        private String ticker;
+        private String currency;
+        private int sells; // 과세 연도의 매도 건수
+        private Decimal8 disposedQuantity;
+        private BigDecimal proceeds; // 양도가액
+        private BigDecimal costBasis; // 취득가액 (매칭된 로트의 원가)
+        private BigDecimal realizedGain;
+        private Decimal8 unmatchedQuantity; // 보유 로트를 넘어 매도한 수량 (취득가 0으로 계산됨)
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CurrencyTotal {
+        private String currency;
+        private BigDecimal proceeds;
+        private BigDecimal costBasis;
+        private BigDecimal realizedGain;
+    }
+}
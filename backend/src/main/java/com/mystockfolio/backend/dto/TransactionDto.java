@@ -0,0 +1,104 @@
+package com.mystockfolio.backend.dto;
+
+import com.mystockfolio.backend.domain.entity.Asset;
+import com.mystockfolio.backend.domain.entity.AssetTransaction;
+import com.mystockfolio.backend.util.Decimal8;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TransactionDto {
+
+    // --- 요청(Request) DTO ---
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransactionCreateRequest {
+        private String transactionType; // BUY, SELL, DEPOSIT, WITHDRAW
+        private Decimal8 quantity;
+        private Decimal8 pricePerUnit;
+        private LocalDateTime transactionDate; // 생략하면 현재 시각
+        private String notes;
+    }
+
+    // --- 응답(Response) DTO ---
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TransactionResponse {
+        private Long id;
+        private Long assetId;
+        private String transactionType;
+        private Decimal8 quantity;
+        private Decimal8 pricePerUnit;
+        private BigDecimal totalAmount;
+        private LocalDateTime transactionDate;
+        private String notes;
+
+        public static TransactionResponse fromEntity(AssetTransaction transaction) {
+            return TransactionResponse.builder()
+                    .id(transaction.getId())
+                    .assetId(transaction.getAssetId())
+                    .transactionType(transaction.getTransactionType().name())
+                    .quantity(transaction.getQuantity())
+                    .pricePerUnit(transaction.getPricePerUnit())
+                    .totalAmount(Decimal8.plain(transaction.getTotalAmount()))
+                    .transactionDate(transaction.getTransactionDate())
+                    .notes(transaction.getNotes())
+                    .build();
+        }
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PositionResponse {
+        private Long assetId;
+        private String ticker;
+        private Decimal8 quantity;
+        private Decimal8 avgBuyPrice;
+        private Decimal8 realizedPnl; // 누적 실현 손익 (매도분)
+        private long transactionCount; // 원장에 기록된 거래 수
+
+        public static PositionResponse fromEntity(Asset asset) {
+            return PositionResponse.builder()
+                    .assetId(asset.getId())
+                    .ticker(asset.getTicker())
+                    .quantity(asset.getQuantity())
+                    .avgBuyPrice(asset.getAvgBuyPrice())
+                    .realizedPnl(asset.getRealizedPnl())
+                    .transactionCount(asset.getTransactionCount())
+                    .build();
+        }
+    }
+
+    // 거래 기록 결과: 저장된 거래 + 반영 후 포지션
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TransactionRecordResponse {
+        private TransactionResponse transaction;
+        private PositionResponse position;
+    }
+
+    // 재계산 결과: 스냅샷 이후 다시 적용한 거래 수, 저장된 포지션과 달라 보정했는지
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PositionRebuildResponse {
+        private PositionResponse position;
+        private Long snapshotTransactionId; // 재계산 시작 기준 (스냅샷에 반영된 마지막 거래 ID)
+        private long replayedTransactions;
+        private boolean corrected;
+    }
+}
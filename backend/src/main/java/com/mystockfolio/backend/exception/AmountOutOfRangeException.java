@@ -0,0 +1,9 @@
+package com.mystockfolio.backend.exception;
+
+// 금액/수량 계산 결과가 Decimal8 범위(약 ±920억)를 넘을 때 (GlobalExceptionHandler에서 422)
+// ArithmeticException을 상속하므로 행 단위로 산술 오류를 잡는 곳(CSV 가져오기 등)에서도 그대로 처리됨
+public class AmountOutOfRangeException extends ArithmeticException {
+    public AmountOutOfRangeException(String message) {
+        super(message);
+    }
+}
@@ -68,6 +68,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    // 수량/단가/평균 단가가 Decimal8 범위(약 ±920억)를 넘을 때 (AmountOutOfRangeException)
+    // 그 밖의 ArithmeticException은 계산 버그이므로 아래의 500 처리로 넘김
+    @ExceptionHandler(AmountOutOfRangeException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY) // 422 Unprocessable Entity 반환
+    public ResponseEntity<Map<String, String>> handleAmountOutOfRangeException(AmountOutOfRangeException ex) {
+        Map<String, String> error = Map.of("error", "수량 또는 단가가 처리 가능한 범위(약 ±920억)를 넘습니다.");
+        log.warn("Amount out of range error: {}", ex.getMessage()); // 로그 추가
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
 
     // 그 외 예상치 못한 모든 예외 (Exception)
     @ExceptionHandler(Exception.class)
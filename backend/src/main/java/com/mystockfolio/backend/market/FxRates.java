@@ -0,0 +1,197 @@
+package com.mystockfolio.backend.market;
+
+import com.mystockfolio.backend.client.MarketDataClient;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 환율 스냅샷 (기준 통화 환산용)
+ * - 지원 통화는 기동 시 고정 (fx.currencies), 통화 id = 목록 순서 -> 통화 id로 배열 인덱싱
+ * - 환율은 market-data-svc의 Yahoo 환율 티커("KRW=X" = 1 USD당 KRW)로 주기적으로 갱신, 실패 시 fx.default-rates 사용
+ * - 갱신 시 교차 환율 행렬 전체를 새로 만들어 volatile 참조 하나로 교체 (읽는 쪽은 잠금/맵 조회 없이 배열만 읽음)
+ */
+@Slf4j
+@Component
+public class FxRates {
+
+    public static final String USD = "USD";
+
+    private final MarketDataClient marketDataClient;
+    private final String[] codes;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final double[] defaultPerUsd;
+    private final Duration timeout;
+
+    private volatile Snapshot snapshot;
+
+    public FxRates(MarketDataClient marketDataClient,
+                   @Value("${fx.currencies:USD,KRW,EUR,JPY,GBP,CNY,HKD}") String currencies,
+                   @Value("${fx.default-rates:KRW:1380,EUR:0.92,JPY:150,GBP:0.79,CNY:7.2,HKD:7.8}") String defaultRates,
+                   @Value("${fx.timeout-ms:5000}") long timeoutMs) {
+        this.marketDataClient = marketDataClient;
+        List<String> list = new ArrayList<>();
+        list.add(USD);
+        for (String code : currencies.split(",")) {
+            String normalized = code.trim().toUpperCase(Locale.ROOT);
+            if (!normalized.isEmpty() && !list.contains(normalized)) {
+                list.add(normalized);
+            }
+        }
+        this.codes = list.toArray(new String[0]);
+        for (int i = 0; i < codes.length; i++) {
+            ids.put(codes[i], i);
+        }
+
+        // 대체 환율 (1 USD당 통화 단위), 설정에 없는 통화는 조회 전까지 1.0
+        this.defaultPerUsd = new double[codes.length];
+        Arrays.fill(defaultPerUsd, 1.0);
+        for (String pair : defaultRates.split(",")) {
+            String[] kv = pair.split(":");
+            Integer id = kv.length == 2 ? ids.get(kv[0].trim().toUpperCase(Locale.ROOT)) : null;
+            if (id != null) {
+                defaultPerUsd[id] = Double.parseDouble(kv[1].trim());
+            }
+        }
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.snapshot = new Snapshot(codes, defaultPerUsd.clone(), 0L);
+        log.info("FxRates initialized - currencies: {}", Arrays.toString(codes));
+    }
+
+    // 현재 환율 스냅샷 (한 요청 안에서는 같은 스냅샷을 계속 사용)
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 통화 코드 -> 통화 id (지원하지 않는 통화면 -1). 요청당 티커마다 한 번만 호출하고 이후에는 id를 사용
+     */
+    public int idOf(String currency) {
+        if (currency == null) {
+            return -1;
+        }
+        Integer id = ids.get(currency.toUpperCase(Locale.ROOT));
+        return id != null ? id : -1;
+    }
+
+    // 지원 통화 목록 (USD가 항상 첫 번째)
+    public List<String> supportedCurrencies() {
+        return List.of(codes);
+    }
+
+    // 지원 통화 여부 확인 (사용자 입력 검증용)
+    public String requireSupported(String currency) {
+        int id = idOf(currency);
+        if (id < 0) {
+            throw new IllegalArgumentException("Unsupported currency: " + currency
+                    + ". Supported currencies are: " + String.join(", ", codes));
+        }
+        return codes[id];
+    }
+
+    /**
+     * 티커의 거래 통화 id - 시세에 통화가 있으면 그것을, 없으면 티커 형식으로 추정 (.KS/.KQ = KRW, 그 외 USD)
+     */
+    public int currencyIdOf(String ticker, String quoteCurrency) {
+        int id = idOf(quoteCurrency);
+        if (id >= 0) {
+            return id;
+        }
+        if (quoteCurrency != null) {
+            log.warn("⚠️ 지원하지 않는 통화 - {} ({}): USD로 간주", ticker, quoteCurrency);
+        }
+        if (ticker.endsWith(".KS") || ticker.endsWith(".KQ")) {
+            int krw = idOf("KRW");
+            if (krw >= 0) {
+                return krw;
+            }
+        }
+        return 0; // USD
+    }
+
+    // 환율 갱신 (USD 이외 통화를 한 번에 일괄 조회), 조회되지 않은 통화는 직전 값 유지
+    @Scheduled(fixedDelayString = "${fx.refresh-ms:600000}")
+    public void refresh() {
+        List<String> fxTickers = new ArrayList<>();
+        for (int i = 1; i < codes.length; i++) {
+            fxTickers.add(codes[i] + "=X");
+        }
+        if (fxTickers.isEmpty()) {
+            return;
+        }
+
+        MarketDataDto.BatchPriceResponse response;
+        try {
+            response = marketDataClient.getCurrentPrices(fxTickers).block(timeout);
+        } catch (RuntimeException e) {
+            // block 시간 초과(IllegalStateException) 등 - 아래의 조회 실패와 같이 이전 환율 유지
+            log.warn("⚠️ 환율 조회 실패 ({}) - 이전 환율 유지", e.getMessage());
+            return;
+        }
+        Map<String, MarketDataDto.PriceResponse> quotes = response != null ? response.toPriceMap() : Map.of();
+        Snapshot current = snapshot;
+        double[] perUsd = current.perUsd.clone();
+        int updated = 0;
+        for (int i = 1; i < codes.length; i++) {
+            MarketDataDto.PriceResponse quote = quotes.get(codes[i] + "=X");
+            if (quote != null && quote.getPrice() != null && quote.getPrice() > 0) {
+                perUsd[i] = quote.getPrice();
+                updated++;
+            }
+        }
+        if (updated == 0) {
+            log.warn("⚠️ 환율 조회 실패 - 이전 환율 유지");
+            return;
+        }
+        snapshot = new Snapshot(codes, perUsd, System.currentTimeMillis());
+        log.info("💱 환율 갱신 - {}/{}개 통화", updated, codes.length - 1);
+    }
+
+    /**
+     * 불변 환율 스냅샷: rate(from, to) = 1 from 통화의 to 통화 환산값
+     * 기준 통화별 행(toBase)을 미리 만들어 두어 환산은 배열 읽기 한 번
+     */
+    public static final class Snapshot {
+        private final String[] codes;
+        private final double[] perUsd;
+        private final double[][] toBase; // [base][from]
+        private final long fetchedAt;
+
+        private Snapshot(String[] codes, double[] perUsd, long fetchedAt) {
+            this.codes = codes;
+            this.perUsd = perUsd;
+            this.fetchedAt = fetchedAt;
+            int n = codes.length;
+            this.toBase = new double[n][n];
+            for (int base = 0; base < n; base++) {
+                for (int from = 0; from < n; from++) {
+                    toBase[base][from] = from == base ? 1.0 : perUsd[base] / perUsd[from];
+                }
+            }
+        }
+
+        // 통화 id(from) -> base 통화 환산 배율 (인덱스: from 통화 id, 읽기 전용)
+        public double[] toBase(int baseId) {
+            return toBase[baseId];
+        }
+
+        public String code(int id) {
+            return codes[id];
+        }
+
+        // 0이면 아직 조회 전 (대체 환율 사용 중), 스냅샷마다 달라지므로 환산 결과 캐시의 키로도 사용
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+    }
+}
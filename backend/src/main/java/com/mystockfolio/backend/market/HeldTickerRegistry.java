@@ -0,0 +1,92 @@
+package com.mystockfolio.backend.market;
+
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.domain.event.AssetChangedEvent;
+import com.mystockfolio.backend.domain.event.AssetsBulkChangedEvent;
+import com.mystockfolio.backend.repository.AssetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 전체 사용자가 실제로 보유한 티커 집합 (티커별 보유 건수로 관리)
+ * - 기동 시 assets 테이블에서 한 번 집계
+ * - 이후에는 AssetChangedEvent/AssetsBulkChangedEvent로 증감만 반영 (커밋 이후)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeldTickerRegistry {
+
+    private final AssetRepository assetRepository;
+
+    private final ConcurrentHashMap<String, HeldTicker> heldTickers = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (AssetRepository.TickerHoldingCount row : assetRepository.countHoldingsByTicker()) {
+            heldTickers.merge(row.getTicker(),
+                    new HeldTicker(row.getAssetType(), row.getHoldings().intValue()),
+                    (current, added) -> new HeldTicker(current.assetType, current.holdings + added.holdings));
+        }
+        log.info("보유 티커 집계 완료 - {}개", heldTickers.size());
+    }
+
+    @TransactionalEventListener
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.getBefore() != null) {
+            release(event.getBefore().getTicker());
+        }
+        if (event.getAfter() != null) {
+            hold(event.getAfter().getTicker(), event.getAfter().getAssetType());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAssetsBulkChanged(AssetsBulkChangedEvent event) {
+        for (AssetChangedEvent.Holding holding : event.getRemoved()) {
+            release(holding.getTicker());
+        }
+        for (AssetChangedEvent.Holding holding : event.getAdded()) {
+            hold(holding.getTicker(), holding.getAssetType());
+        }
+    }
+
+    // 현재 보유 중인 티커 -> 자산 유형 (읽기 전용 스냅샷)
+    public Map<String, AssetType> snapshot() {
+        Map<String, AssetType> snapshot = new ConcurrentHashMap<>();
+        heldTickers.forEach((ticker, held) -> snapshot.put(ticker, held.assetType));
+        return snapshot;
+    }
+
+    public boolean isHeld(String ticker) {
+        return heldTickers.containsKey(ticker);
+    }
+
+    private void hold(String ticker, AssetType assetType) {
+        heldTickers.merge(ticker, new HeldTicker(assetType, 1),
+                (current, added) -> new HeldTicker(current.assetType, current.holdings + 1));
+    }
+
+    // 보유 건수가 0이 되면 갱신 대상에서 제외
+    private void release(String ticker) {
+        heldTickers.computeIfPresent(ticker,
+                (key, current) -> current.holdings <= 1 ? null : new HeldTicker(current.assetType, current.holdings - 1));
+    }
+
+    private static final class HeldTicker {
+        private final AssetType assetType;
+        private final int holdings;
+
+        private HeldTicker(AssetType assetType, int holdings) {
+            this.assetType = assetType;
+            this.holdings = holdings;
+        }
+    }
+}
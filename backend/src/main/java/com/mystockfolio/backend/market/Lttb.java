@@ -0,0 +1,74 @@
+package com.mystockfolio.backend.market;
+
+/**
+ * Largest-Triangle-Three-Buckets 다운샘플링 (x = epoch-day, y = 종가)
+ * 첫 점과 마지막 점은 항상 유지하고, 나머지 구간을 (threshold - 2)개 버킷으로 나눠
+ * 버킷마다 이전 선택점-다음 버킷 평균점과 만드는 삼각형 넓이가 가장 큰 점 하나를 고름
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * src를 최대 threshold개 점으로 줄여 outDays/outCloses에 기록하고 기록한 개수를 반환합니다.
+     * src 길이가 threshold 이하이거나 threshold < 3이면 그대로 복사합니다.
+     * outDays/outCloses는 min(src.length(), threshold) 이상의 길이여야 함
+     */
+    public static int downsample(PriceHistoryStore.Slice src, int threshold, int[] outDays, double[] outCloses) {
+        int n = src.length();
+        if (threshold >= n || threshold < 3) {
+            for (int i = 0; i < n; i++) {
+                outDays[i] = src.dayAt(i);
+                outCloses[i] = src.closeAt(i);
+            }
+            return n;
+        }
+
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int out = 0;
+        int selected = 0;
+        outDays[out] = src.dayAt(0);
+        outCloses[out] = src.closeAt(0);
+        out++;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // 다음 버킷의 평균점
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += src.dayAt(i);
+                avgY += src.closeAt(i);
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            // 현재 버킷에서 삼각형 넓이가 가장 큰 점
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double ax = src.dayAt(selected);
+            double ay = src.closeAt(selected);
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX) * (src.closeAt(i) - ay) - (ax - src.dayAt(i)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            outDays[out] = src.dayAt(maxIndex);
+            outCloses[out] = src.closeAt(maxIndex);
+            out++;
+            selected = maxIndex;
+        }
+
+        outDays[out] = src.dayAt(n - 1);
+        outCloses[out] = src.closeAt(n - 1);
+        return out + 1;
+    }
+}
@@ -0,0 +1,257 @@
+package com.mystockfolio.backend.market;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 티커 하나의 일별 종가 이력을 담는 고정 폭 메모리 매핑 파일
+ *
+ * 파일 구조 (바이트 순서는 ByteBuffer 기본값인 big endian)
+ * - 헤더 32바이트: magic(int) | version(int) | count(int) | coveredFrom(int) | complete(int) | reserved(int) | syncedAt(long)
+ * - 레코드 12바이트 x capacity: epochDay(int) | close(double), 날짜 오름차순
+ *
+ * 동시성
+ * - 쓰기는 파일당 한 스레드만 수행 (PriceHistoryStore가 티커 단위로 직렬화)
+ * - 읽기는 잠금 없이 수행: 레코드를 먼저 기록한 뒤 volatile count를 늘려 공개하므로
+ *   읽는 쪽은 [0, count) 구간만 보면 항상 완성된 레코드를 읽음
+ * - 용량이 부족하면 파일을 늘리고 다시 매핑한 버퍼를 공개 (이전 버퍼도 기존 구간은 그대로 유효)
+ *
+ * 장애 복구
+ * - 이어 붙일 때 새 레코드를 디스크에 기록(force)한 뒤 count를 갱신하므로, 비정상 종료 후에도 count가 아직 기록되지 않은 레코드를 가리키지 않음
+ * - 그래도 열 때 [0, count) 구간의 날짜가 오름차순인지 확인하고, 어긋나는 지점부터는 잘라냄 (잘린 구간은 다음 꼬리 갱신에서 다시 조회)
+ */
+public final class MappedSeriesFile implements Closeable {
+
+    public static final int MAGIC = 0x4D534648; // "MSFH"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int RECORD_BYTES = 12;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 4;
+    private static final int OFFSET_COUNT = 8;
+    private static final int OFFSET_COVERED_FROM = 12;
+    private static final int OFFSET_COMPLETE = 16;
+    private static final int OFFSET_SYNCED_AT = 24;
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final Path path;
+    private final RandomAccessFile file;
+    private volatile MappedByteBuffer buffer;
+    private volatile int capacity;
+    private volatile int count;
+
+    private MappedSeriesFile(Path path, RandomAccessFile file, MappedByteBuffer buffer, int capacity, int count) {
+        this.path = path;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.count = count;
+    }
+
+    /**
+     * 기존 파일을 엽니다. 헤더가 올바르지 않으면 IOException
+     */
+    public static MappedSeriesFile open(Path path) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        try {
+            long length = file.length();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Series file too short: " + path);
+            }
+            int capacity = (int) ((length - HEADER_BYTES) / RECORD_BYTES);
+            MappedByteBuffer buffer = map(file, capacity);
+            if (buffer.getInt(OFFSET_MAGIC) != MAGIC || buffer.getInt(OFFSET_VERSION) != VERSION) {
+                throw new IOException("Not a series file (bad magic/version): " + path);
+            }
+            int count = buffer.getInt(OFFSET_COUNT);
+            if (count < 0 || count > capacity) {
+                throw new IOException("Corrupt record count " + count + " (capacity " + capacity + "): " + path);
+            }
+            int valid = ascendingPrefix(buffer, count);
+            if (valid < count) {
+                buffer.putInt(OFFSET_COUNT, valid);
+                buffer.force();
+                count = valid;
+            }
+            return new MappedSeriesFile(path, file, buffer, capacity, count);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 주어진 레코드로 새 파일을 만들어 path를 원자적으로 교체한 뒤 엽니다.
+     * 교체 전 파일을 매핑 중인 읽기 쪽은 기존 매핑을 그대로 사용할 수 있음
+     */
+    public static MappedSeriesFile create(Path path, int[] days, double[] closes, int n,
+                                          int coveredFrom, boolean complete, long syncedAt) throws IOException {
+        return create(path, days, closes, n, coveredFrom, complete, syncedAt, Math.max(MIN_CAPACITY, n + (n >> 1)));
+    }
+
+    /**
+     * 용량을 직접 지정하여 생성 (압축 도구에서 남는 용량 없이 다시 기록할 때 사용)
+     */
+    public static MappedSeriesFile create(Path path, int[] days, double[] closes, int n,
+                                          int coveredFrom, boolean complete, long syncedAt, int capacity) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (RandomAccessFile out = new RandomAccessFile(tmp.toFile(), "rw")) {
+            out.setLength(0);
+            MappedByteBuffer buffer = map(out, capacity);
+            buffer.putInt(OFFSET_MAGIC, MAGIC);
+            buffer.putInt(OFFSET_VERSION, VERSION);
+            buffer.putInt(OFFSET_COVERED_FROM, coveredFrom);
+            buffer.putInt(OFFSET_COMPLETE, complete ? 1 : 0);
+            buffer.putLong(OFFSET_SYNCED_AT, syncedAt);
+            for (int i = 0; i < n; i++) {
+                int at = HEADER_BYTES + i * RECORD_BYTES;
+                buffer.putInt(at, days[i]);
+                buffer.putDouble(at + 4, closes[i]);
+            }
+            buffer.putInt(OFFSET_COUNT, n);
+            buffer.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int coveredFrom() {
+        return buffer.getInt(OFFSET_COVERED_FROM);
+    }
+
+    public boolean complete() {
+        return buffer.getInt(OFFSET_COMPLETE) != 0;
+    }
+
+    public long syncedAt() {
+        return buffer.getLong(OFFSET_SYNCED_AT);
+    }
+
+    public void markSynced(long syncedAt) {
+        buffer.putLong(OFFSET_SYNCED_AT, syncedAt);
+    }
+
+    public int lastDay() {
+        int n = count;
+        return n > 0 ? dayAt(buffer, n - 1) : Integer.MIN_VALUE;
+    }
+
+    /**
+     * 마지막 날짜 이후의 점만 이어 붙입니다. (같은 날짜는 종가만 갱신)
+     * 새 레코드를 모두 기록하고 디스크에 내린 뒤 count를 공개하므로 읽는 쪽은 잠금이 필요 없고, 비정상 종료에도 count가 앞서지 않음
+     */
+    public int append(int[] newDays, double[] newCloses, int n) throws IOException {
+        int size = count;
+        int lastDay = lastDay();
+        int from = 0;
+        while (from < n && newDays[from] < lastDay) {
+            from++;
+        }
+        MappedByteBuffer target = buffer;
+        if (from < n && newDays[from] == lastDay && size > 0) {
+            target.putDouble(HEADER_BYTES + (size - 1) * RECORD_BYTES + 4, newCloses[from]);
+            from++;
+        }
+        int added = n - from;
+        if (added <= 0) {
+            return 0;
+        }
+
+        if (size + added > capacity) {
+            target = grow(Math.max(size + added, capacity + (capacity >> 1)));
+        }
+        for (int i = 0; i < added; i++) {
+            int at = HEADER_BYTES + (size + i) * RECORD_BYTES;
+            target.putInt(at, newDays[from + i]);
+            target.putDouble(at + 4, newCloses[from + i]);
+        }
+        target.force(HEADER_BYTES + size * RECORD_BYTES, added * RECORD_BYTES);
+        target.putInt(OFFSET_COUNT, size + added);
+        count = size + added;
+        return added;
+    }
+
+    /**
+     * 현재 공개된 레코드 중 startDay 이후 구간의 뷰 (복사 없음)
+     */
+    public PriceHistoryStore.Slice slice(int startDay) {
+        // count를 먼저 읽음: 버퍼는 count보다 먼저 공개되므로 읽은 버퍼는 항상 n개 레코드를 담고 있음
+        int n = count;
+        MappedByteBuffer view = buffer;
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dayAt(view, mid) < startDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return new PriceHistoryStore.Slice(view, lo, n - lo);
+    }
+
+    // 파일 내용을 디스크에 기록
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    static int dayAt(MappedByteBuffer buffer, int index) {
+        return buffer.getInt(HEADER_BYTES + index * RECORD_BYTES);
+    }
+
+    static double closeAt(MappedByteBuffer buffer, int index) {
+        return buffer.getDouble(HEADER_BYTES + index * RECORD_BYTES + 4);
+    }
+
+    // 날짜가 엄격히 오름차순인 앞부분의 길이 (기록이 끝나지 않은 레코드는 보통 0으로 남아 있어 여기서 끊김)
+    private static int ascendingPrefix(MappedByteBuffer buffer, int count) {
+        for (int i = 1; i < count; i++) {
+            if (dayAt(buffer, i) <= dayAt(buffer, i - 1)) {
+                return i;
+            }
+        }
+        return count;
+    }
+
+    private MappedByteBuffer grow(int newCapacity) throws IOException {
+        MappedByteBuffer grown = map(file, newCapacity);
+        buffer = grown;
+        capacity = newCapacity;
+        return grown;
+    }
+
+    private static MappedByteBuffer map(RandomAccessFile file, int capacity) throws IOException {
+        long size = HEADER_BYTES + (long) capacity * RECORD_BYTES;
+        if (file.length() < size) {
+            file.setLength(size);
+        }
+        return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+}
@@ -0,0 +1,141 @@
+package com.mystockfolio.backend.market;
+
+import com.mystockfolio.backend.domain.entity.MarketDataCache;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.repository.MarketDataCacheRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시세 캐시의 2차 저장소 (market_data_cache 테이블)
+ * - 쓰기: 메모리 캐시에 들어온 시세를 모아 두었다가 주기적으로 일괄 upsert (write-behind)
+ *   lastUpdated는 저장 시각이 아니라 시세를 조회한 시각, 저장(커밋)에 실패한 배치는 대기열로 되돌려 다음 주기에 재시도
+ * - 읽기: 메모리 캐시에 없는 티커를 DB에서 읽어 채움 (재시작 직후 read-through)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketDataCacheStore {
+
+    private final MarketDataCacheRepository marketDataCacheRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 아직 DB에 반영되지 않은 시세 (티커당 최신 값 하나만 유지)
+    private final ConcurrentHashMap<String, PendingQuote> pending = new ConcurrentHashMap<>();
+
+    // 저장 대기열에 추가 (요청 스레드에서 호출, DB 접근 없음) - fetchedAtMillis: 시세를 조회한 시각
+    public void enqueue(String ticker, MarketDataDto.PriceResponse quote, long fetchedAtMillis) {
+        pending.put(ticker, new PendingQuote(quote, fetchedAtMillis));
+    }
+
+    // DB에 저장된 시세 조회 - 값과 함께 마지막 갱신 시각(epoch millis)을 돌려줌
+    @Transactional(readOnly = true)
+    public Map<String, StoredQuote> load(Collection<String> tickers) {
+        if (tickers.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, StoredQuote> result = new HashMap<>();
+        for (MarketDataCache row : marketDataCacheRepository.findByTickerIn(tickers)) {
+            if (row.getCurrentPrice() == null || row.getLastUpdated() == null) {
+                continue;
+            }
+            MarketDataDto.PriceResponse quote = new MarketDataDto.PriceResponse(
+                    row.getTicker(), row.getCurrentPrice(), row.getCurrency(), row.getLastUpdated().toString());
+            long updatedAt = row.getLastUpdated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            result.put(row.getTicker(), new StoredQuote(quote, updatedAt));
+        }
+        log.debug("L2 시세 캐시 조회 - 요청 {}개, 적중 {}개", tickers.size(), result.size());
+        return result;
+    }
+
+    // 대기 중인 시세를 한 번에 upsert (기존 행은 변경 감지로 UPDATE, 신규 행은 INSERT)
+    // 트랜잭션은 TransactionTemplate으로 직접 열어 커밋 실패까지 여기서 잡음
+    @Scheduled(fixedDelayString = "${market.quote-cache.l2.flush-interval-ms:5000}")
+    @EventListener(ContextClosedEvent.class)
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 대기열 비우기 - 그 사이 같은 티커에 새 값이 들어오면 남겨 두었다가 다음 주기에 저장
+        Map<String, PendingQuote> batch = new HashMap<>();
+        for (Map.Entry<String, PendingQuote> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+        } catch (RuntimeException e) {
+            // 실패한 배치는 대기열로 되돌림 - 그 사이 들어온 더 새로운 시세가 있으면 그것을 유지
+            batch.forEach(pending::putIfAbsent);
+            log.warn("⚠️ L2 시세 캐시 저장 실패 - {}개 재시도 예정: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void write(Map<String, PendingQuote> batch) {
+        List<MarketDataCache> inserts = new ArrayList<>();
+        Map<String, MarketDataCache> existing = new HashMap<>();
+        for (MarketDataCache row : marketDataCacheRepository.findByTickerIn(batch.keySet())) {
+            existing.put(row.getTicker(), row);
+        }
+
+        for (Map.Entry<String, PendingQuote> entry : batch.entrySet()) {
+            MarketDataDto.PriceResponse quote = entry.getValue().quote;
+            LocalDateTime fetchedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.getValue().fetchedAtMillis),
+                    ZoneId.systemDefault());
+            MarketDataCache row = existing.get(entry.getKey());
+            if (row != null) {
+                row.updateQuote(quote.getPrice(), quote.getCurrency(), fetchedAt);
+            } else {
+                inserts.add(MarketDataCache.builder()
+                        .ticker(entry.getKey())
+                        .currentPrice(quote.getPrice())
+                        .currency(quote.getCurrency())
+                        .lastUpdated(fetchedAt)
+                        .build());
+            }
+        }
+        marketDataCacheRepository.saveAll(inserts);
+        log.debug("L2 시세 캐시 저장 - 갱신 {}개, 신규 {}개", batch.size() - inserts.size(), inserts.size());
+    }
+
+    // 저장 대기 중인 시세와 조회 시각 (불변 - remove(key, value)가 같은 객체로 비교)
+    private static final class PendingQuote {
+        private final MarketDataDto.PriceResponse quote;
+        private final long fetchedAtMillis;
+
+        private PendingQuote(MarketDataDto.PriceResponse quote, long fetchedAtMillis) {
+            this.quote = quote;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+
+    // DB에서 읽은 시세와 그 시세의 갱신 시각
+    @Getter
+    @AllArgsConstructor
+    public static class StoredQuote {
+        private final MarketDataDto.PriceResponse quote;
+        private final long updatedAtMillis;
+    }
+}
@@ -0,0 +1,327 @@
+package com.mystockfolio.backend.market;
+
+import com.mystockfolio.backend.client.MarketDataClient;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.util.CacheEviction;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 티커별 일별 종가 이력 저장소 (열 지향, append-only)
+ * - 티커마다 고정 폭 메모리 매핑 파일(MappedSeriesFile) 하나에 (epoch-day, 종가)를 날짜 순으로 보관
+ * - 재시작 후에도 파일에서 바로 읽으므로 market-data-svc를 다시 호출하지 않음
+ * - 보유 구간보다 최근 데이터만 필요하면 빠진 꼬리 구간만 조회해 이어 붙임
+ * - 모든 기간(7d, 1mo, 1y, max 등)은 매핑된 파일을 잘라서(slice) 복사 없이 응답
+ * - 열어 둔 파일 수는 max-open-files까지: 넘으면 오래 조회되지 않은 티커의 파일부터 닫음 (다음 조회 때 다시 열기)
+ *   (이미 응답한 Slice는 매핑된 버퍼를 직접 참조하므로 파일을 닫아도 그대로 읽을 수 있음)
+ */
+@Slf4j
+@Component
+public class PriceHistoryStore {
+
+    // 빠진 꼬리 구간을 덮기 위해 조회할 수 있는 기간 (짧은 순)
+    private static final String[] TAIL_PERIODS = {"5d", "1mo", "3mo", "6mo", "1y", "2y", "5y", "10y", "max"};
+    private static final int[] TAIL_PERIOD_DAYS = {5, 30, 91, 182, 365, 730, 1826, 3652, Integer.MAX_VALUE};
+
+    private static final String FILE_SUFFIX = ".series";
+
+    private final MarketDataClient marketDataClient;
+    private final Path directory;
+    private final long tailRefreshMs;
+    private final Duration timeout;
+    private final int maxOpenFiles;
+
+    private final ConcurrentHashMap<String, Holder> series = new ConcurrentHashMap<>();
+
+    public PriceHistoryStore(MarketDataClient marketDataClient,
+                             @Value("${market.history.dir:data/history}") String directory,
+                             @Value("${market.history.tail-refresh-ms:600000}") long tailRefreshMs,
+                             @Value("${market.history.timeout-ms:10000}") long timeoutMs,
+                             @Value("${market.history.max-open-files:2000}") int maxOpenFiles) {
+        this.marketDataClient = marketDataClient;
+        this.directory = Paths.get(directory);
+        this.tailRefreshMs = tailRefreshMs;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.maxOpenFiles = maxOpenFiles;
+        log.info("PriceHistoryStore initialized with directory: {}", this.directory.toAbsolutePath());
+    }
+
+    /**
+     * 기간에 해당하는 종가 이력을 반환합니다. (필요하면 빠진 구간만 조회하여 채움)
+     * period: 1d, 5d, 7d, 1mo, 3mo, 6mo, 1y, 2y, 5y, 10y, ytd, max
+     */
+    public Slice getHistory(String ticker, String period) {
+        int today = (int) LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        int startDay = startDayOf(period, today);
+
+        Holder holder = series.get(ticker);
+        if (holder == null) {
+            evictIfNeeded();
+            holder = series.computeIfAbsent(ticker, key -> new Holder());
+        }
+        holder.lastAccess = System.currentTimeMillis();
+        MappedSeriesFile current = holder.file;
+        if (needsSync(current, startDay)) {
+            synchronized (holder) {
+                if (holder.evicted) {
+                    // 조회 도중 제거된 holder - 새 holder로 다시 (닫힌 holder에 새 파일을 열어 두지 않도록)
+                    return getHistory(ticker, period);
+                }
+                if (!holder.loaded) {
+                    holder.file = openExisting(ticker);
+                    holder.loaded = true;
+                }
+                current = holder.file;
+                if (needsSync(current, startDay)) {
+                    current = sync(ticker, current, period, startDay, today);
+                    if (current == null) {
+                        // 처음 조회부터 실패한 경우 빈 결과를 저장하지 않고 다음 요청에서 재시도
+                        return Slice.EMPTY;
+                    }
+                    holder.file = current;
+                }
+            }
+        }
+        return current.slice(startDay);
+    }
+
+    // 티커 -> 이력 파일 경로 (파일명에 쓸 수 없는 문자는 '_'로 치환)
+    public Path pathOf(String ticker) {
+        return directory.resolve(ticker.replaceAll("[^A-Za-z0-9.\\-]", "_") + FILE_SUFFIX);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Holder holder : series.values()) {
+            closeFile(holder);
+        }
+    }
+
+    // 열린 파일 수가 최대치에 도달하면 마지막 조회 시각이 이른 티커부터 닫음 (최대치의 90%까지, 표본 기반 근사)
+    private void evictIfNeeded() {
+        if (series.size() < maxOpenFiles) {
+            return;
+        }
+        int removed = CacheEviction.evict(series, (int) (maxOpenFiles * 0.9), holder -> holder.lastAccess,
+                holder -> true, PriceHistoryStore::closeFile);
+        log.debug("이력 파일 정리 - 닫은 파일 {}개, 남은 파일 {}개", removed, series.size());
+    }
+
+    // 갱신 중인 쓰기가 끝난 뒤 닫음 (holder 단위 직렬화)
+    private static void closeFile(Holder holder) {
+        synchronized (holder) {
+            holder.evicted = true;
+            MappedSeriesFile file = holder.file;
+            if (file == null) {
+                return;
+            }
+            try {
+                file.force();
+                file.close();
+            } catch (IOException e) {
+                log.warn("이력 파일 닫기 실패 - {}: {}", file.path(), e.getMessage());
+            }
+        }
+    }
+
+    // 기간 문자열 -> 시작 epoch-day
+    public static int startDayOf(String period, int today) {
+        if (period == null || period.isBlank()) {
+            return today - 7;
+        }
+        String p = period.trim().toLowerCase();
+        switch (p) {
+            case "max":
+                return Integer.MIN_VALUE;
+            case "ytd":
+                return (int) LocalDate.ofEpochDay(today).withDayOfYear(1).toEpochDay();
+            default:
+                break;
+        }
+        try {
+            if (p.endsWith("mo")) {
+                return (int) LocalDate.ofEpochDay(today).minusMonths(Integer.parseInt(p.substring(0, p.length() - 2))).toEpochDay();
+            }
+            if (p.endsWith("y")) {
+                return (int) LocalDate.ofEpochDay(today).minusYears(Integer.parseInt(p.substring(0, p.length() - 1))).toEpochDay();
+            }
+            if (p.endsWith("d")) {
+                return today - Integer.parseInt(p.substring(0, p.length() - 1));
+            }
+        } catch (NumberFormatException e) {
+            // 아래에서 처리
+        }
+        throw new IllegalArgumentException("Invalid period: " + period
+                + ". Valid values are: 1d, 5d, 7d, 1mo, 3mo, 6mo, 1y, 2y, 5y, 10y, ytd, max");
+    }
+
+    private boolean needsSync(MappedSeriesFile current, int startDay) {
+        if (current == null) {
+            return true;
+        }
+        if (!current.complete() && startDay < current.coveredFrom()) {
+            return true;
+        }
+        return System.currentTimeMillis() - current.syncedAt() >= tailRefreshMs;
+    }
+
+    // 재시작 전에 저장된 이력 파일 열기 (없거나 손상되었으면 null)
+    private MappedSeriesFile openExisting(String ticker) {
+        Path path = pathOf(ticker);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            MappedSeriesFile file = MappedSeriesFile.open(path);
+            log.debug("이력 파일 로드 - {}: {}개", ticker, file.size());
+            return file;
+        } catch (IOException e) {
+            log.warn("이력 파일 손상 - {}: {} (다시 조회합니다)", path, e.getMessage());
+            return null;
+        }
+    }
+
+    // 보관 중인 이력을 요청 구간까지 확장하거나 최근 꼬리만 이어 붙임
+    private MappedSeriesFile sync(String ticker, MappedSeriesFile current, String period, int startDay, int today) {
+        long now = System.currentTimeMillis();
+        try {
+            // 1. 앞쪽(과거) 구간이 부족하면 요청 기간 전체를 조회하여 새 파일로 교체
+            if (current == null || (!current.complete() && startDay < current.coveredFrom())) {
+                MarketDataDto.ChartResponse chart = fetch(ticker, period);
+                if (chart == null) {
+                    return current;
+                }
+                List<MarketDataDto.ChartPoint> points = chart.getHistory();
+                int existing = current != null ? current.size() : 0;
+                int[] days = new int[points.size() + existing];
+                double[] closes = new double[days.length];
+                int n = toColumns(points, days, closes);
+                // 기존 파일에 더 최근 데이터가 있었다면 보존
+                if (current != null) {
+                    int lastDay = n > 0 ? days[n - 1] : Integer.MIN_VALUE;
+                    Slice all = current.slice(lastDay + 1);
+                    for (int i = 0; i < all.length(); i++) {
+                        days[n] = all.dayAt(i);
+                        closes[n] = all.closeAt(i);
+                        n++;
+                    }
+                }
+                MappedSeriesFile rebuilt = MappedSeriesFile.create(pathOf(ticker), days, closes, n,
+                        startDay, startDay == Integer.MIN_VALUE, now);
+                if (current != null) {
+                    current.close();
+                }
+                log.debug("차트 이력 재구성 - {}: {}개", ticker, rebuilt.size());
+                return rebuilt;
+            }
+
+            // 2. 마지막 보관일 이후의 꼬리만 조회 (마지막 날 종가는 장중 변동 가능하므로 함께 갱신)
+            int lastDay = current.size() > 0 ? current.lastDay() : Math.max(current.coveredFrom(), today - 1);
+            MarketDataDto.ChartResponse chart = fetch(ticker, tailPeriodFor(today - lastDay + 1));
+            if (chart != null) {
+                int[] days = new int[chart.getHistory().size()];
+                double[] closes = new double[days.length];
+                int n = toColumns(chart.getHistory(), days, closes);
+                int added = current.append(days, closes, n);
+                log.debug("차트 이력 꼬리 갱신 - {}: +{}개 (총 {}개)", ticker, added, current.size());
+            }
+            current.markSynced(now);
+            return current;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write price history for " + ticker, e);
+        }
+    }
+
+    private MarketDataDto.ChartResponse fetch(String ticker, String period) {
+        MarketDataDto.ChartResponse chart = marketDataClient.getHistoricalChart(ticker, period).block(timeout);
+        if (chart == null || chart.getHistory() == null) {
+            log.warn("차트 이력 조회 실패 - {} ({})", ticker, period);
+            return null;
+        }
+        return chart;
+    }
+
+    private static String tailPeriodFor(int days) {
+        for (int i = 0; i < TAIL_PERIOD_DAYS.length; i++) {
+            if (days <= TAIL_PERIOD_DAYS[i]) {
+                return TAIL_PERIODS[i];
+            }
+        }
+        return "max";
+    }
+
+    // ChartPoint 목록 -> (epoch-day, 종가) 열 배열, 날짜 오름차순 가정
+    private static int toColumns(List<MarketDataDto.ChartPoint> points, int[] days, double[] closes) {
+        int n = 0;
+        for (MarketDataDto.ChartPoint point : points) {
+            if (point.getDate() == null || point.getPrice() == null) {
+                continue;
+            }
+            days[n] = (int) LocalDate.parse(point.getDate()).toEpochDay();
+            closes[n] = point.getPrice();
+            n++;
+        }
+        return n;
+    }
+
+    // 티커별 이력 파일 보관 (갱신은 holder 단위로 직렬화, 읽기는 잠금 없음)
+    private static final class Holder {
+        private volatile MappedSeriesFile file;
+        private volatile long lastAccess;
+        private boolean loaded;
+        private boolean evicted;
+    }
+
+    /**
+     * 이력 구간 뷰 (매핑된 파일을 직접 읽으며 복사 없음) - offset부터 length개가 유효
+     */
+    public static final class Slice {
+        static final Slice EMPTY = new Slice(null, 0, 0);
+
+        private final MappedByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        Slice(MappedByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public int dayAt(int i) {
+            return MappedSeriesFile.dayAt(buffer, offset + i);
+        }
+
+        public double closeAt(int i) {
+            return MappedSeriesFile.closeAt(buffer, offset + i);
+        }
+
+        // 응답 직렬화용 ChartPoint 목록으로 변환
+        public List<MarketDataDto.ChartPoint> toChartPoints() {
+            List<MarketDataDto.ChartPoint> points = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                points.add(new MarketDataDto.ChartPoint(LocalDate.ofEpochDay(dayAt(i)).toString(), closeAt(i)));
+            }
+            return points;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.mystockfolio.backend.market;
+
+import com.mystockfolio.backend.client.MarketDataClient;
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.util.MarketHours;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 보유 중인 티커만 주기적으로 시세를 갱신하여 QuoteCache를 채우는 스케줄러
+ * - 요청 스레드는 메모리(QuoteCache)만 읽고, 외부 호출 수는 사용자 트래픽이 아닌 티커 수에 비례
+ * - 티커별 갱신 주기: 암호화폐는 항상 짧게, 주식은 정규장 중에만 짧게 (장 마감 후에는 길게)
+ * - 한 틱의 배치는 동시에 요청하고, 배치 하나의 실패/시간 초과가 다른 배치와 다음 갱신 예약을 막지 않음
+ */
+@Slf4j
+@Component
+public class PriceRefresher {
+
+    // 한 번의 일괄 시세 조회에 담는 최대 티커 수 (market-data-svc의 MAX_BATCH_TICKERS 이하)
+    private static final int BATCH_SIZE = 50;
+
+    private final HeldTickerRegistry heldTickerRegistry;
+    private final QuoteCache quoteCache;
+    private final MarketDataClient marketDataClient;
+    private final long cryptoIntervalMs;
+    private final long marketOpenIntervalMs;
+    private final long marketClosedIntervalMs;
+    private final long timeoutMs;
+
+    // 티커별 다음 갱신 예정 시각 (epoch millis)
+    private final Map<String, Long> nextRefreshAt = new ConcurrentHashMap<>();
+
+    public PriceRefresher(HeldTickerRegistry heldTickerRegistry,
+                          QuoteCache quoteCache,
+                          MarketDataClient marketDataClient,
+                          @Value("${market.refresh.crypto-interval-ms:15000}") long cryptoIntervalMs,
+                          @Value("${market.refresh.market-open-interval-ms:30000}") long marketOpenIntervalMs,
+                          @Value("${market.refresh.market-closed-interval-ms:600000}") long marketClosedIntervalMs,
+                          @Value("${market.refresh.timeout-ms:10000}") long timeoutMs) {
+        this.heldTickerRegistry = heldTickerRegistry;
+        this.quoteCache = quoteCache;
+        this.marketDataClient = marketDataClient;
+        this.cryptoIntervalMs = cryptoIntervalMs;
+        this.marketOpenIntervalMs = marketOpenIntervalMs;
+        this.marketClosedIntervalMs = marketClosedIntervalMs;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${market.refresh.tick-ms:5000}", initialDelayString = "${market.refresh.tick-ms:5000}")
+    public void refresh() {
+        Map<String, AssetType> held = heldTickerRegistry.snapshot();
+        nextRefreshAt.keySet().retainAll(held.keySet());
+
+        long now = System.currentTimeMillis();
+        List<String> due = new ArrayList<>();
+        for (String ticker : held.keySet()) {
+            if (nextRefreshAt.getOrDefault(ticker, 0L) <= now) {
+                due.add(ticker);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Instant nowInstant = Instant.ofEpochMilli(now);
+        List<Mono<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            batches.add(refreshBatch(due.subList(from, Math.min(from + BATCH_SIZE, due.size())), held));
+        }
+        Integer refreshed = 0;
+        try {
+            // 배치를 동시에 요청 (배치마다 제한 시간을 두므로 전체도 timeoutMs 안에 끝남)
+            refreshed = Flux.merge(batches).reduce(0, Integer::sum).block();
+        } finally {
+            // 실패한 티커도 다음 주기까지 미뤄 잘못된 티커가 매 틱 호출되지 않도록 함
+            for (String ticker : due) {
+                nextRefreshAt.put(ticker, now + intervalFor(ticker, held.get(ticker), nowInstant));
+            }
+        }
+        log.debug("시세 갱신 - 대상 {}개, 성공 {}개 (보유 티커 {}개)", due.size(), refreshed, held.size());
+    }
+
+    // 배치 하나의 조회와 캐시 반영 - 시간 초과/실패는 이 배치만 0건으로 처리하고 나머지 배치는 계속 진행
+    private Mono<Integer> refreshBatch(List<String> batch, Map<String, AssetType> held) {
+        return marketDataClient.getCurrentPrices(batch)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .map(response -> store(response, held))
+                .onErrorResume(e -> {
+                    if (e instanceof TimeoutException) {
+                        log.warn("시세 갱신 시간 초과 - {}개 티커", batch.size());
+                    } else {
+                        log.warn("시세 갱신 실패 - {}개 티커: {}", batch.size(), e.toString());
+                    }
+                    return Mono.just(0);
+                })
+                .defaultIfEmpty(0);
+    }
+
+    private int store(MarketDataDto.BatchPriceResponse response, Map<String, AssetType> held) {
+        if (response.getErrors() != null && !response.getErrors().isEmpty()) {
+            log.warn("⚠️ 일부 티커 시세 갱신 실패: {}", response.getErrors());
+        }
+
+        int refreshed = 0;
+        for (MarketDataDto.PriceResponse quote : response.getPrices()) {
+            AssetType assetType = held.get(quote.getTicker());
+            if (assetType != null && quote.getPrice() != null) {
+                quoteCache.put(quote.getTicker(), assetType, quote);
+                refreshed++;
+            }
+        }
+        return refreshed;
+    }
+
+    private long intervalFor(String ticker, AssetType assetType, Instant now) {
+        if (assetType != AssetType.STOCK) {
+            return cryptoIntervalMs;
+        }
+        return MarketHours.isOpen(ticker, assetType, now) ? marketOpenIntervalMs : marketClosedIntervalMs;
+    }
+}
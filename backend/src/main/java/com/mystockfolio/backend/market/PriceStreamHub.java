@@ -0,0 +1,108 @@
+package com.mystockfolio.backend.market;
+
+import com.mystockfolio.backend.dto.MarketDataDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실시간 시세 팬아웃 허브
+ * - 티커당 Sink 하나: 시세 갱신(QuoteCache.put)이 한 번 발행하면 구독 중인 모든 연결에 전달
+ * - 연결마다 크기가 제한된 버퍼를 두고, 느린 연결은 오래된 시세부터 버림 (drop-oldest)
+ * - 외부 조회는 PriceRefresher가 티커당 하나만 수행하므로 연결 수와 무관
+ * - 같은 티커를 여러 스레드가 동시에 발행하면 Sink가 FAIL_NON_SERIALIZED를 돌려주므로 짧게 재시도 (busyLooping)
+ * - Sink는 구독 수를 세어 마지막 구독이 끝나면 제거 (보유하지 않게 된 티커의 Sink가 남지 않음)
+ */
+@Slf4j
+@Component
+public class PriceStreamHub {
+
+    // 동시 발행 충돌(FAIL_NON_SERIALIZED) 시 재시도하는 최대 시간 - 다른 스레드의 onNext 한 번이 끝나기를 기다리는 정도
+    private static final Duration EMIT_RETRY = Duration.ofMillis(50);
+
+    private final int bufferSize;
+    private final ConcurrentHashMap<String, TickerSink> sinks = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder emitFailures = new LongAdder();
+
+    public PriceStreamHub(@Value("${market.stream.buffer-size:32}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    // 티커 목록의 시세 갱신을 구독 (연결 하나당 한 번 호출), 연결이 끊기면 티커별 구독 수를 줄임
+    public Flux<MarketDataDto.PriceResponse> subscribe(Collection<String> tickers) {
+        List<Flux<MarketDataDto.PriceResponse>> sources = new ArrayList<>(tickers.size());
+        for (String ticker : tickers) {
+            // 티커별 구독은 항상 수요가 있도록 유지 (수요가 없는 구독만 남으면 Sink가 FAIL_OVERFLOW로 종료되므로 여기서 버림)
+            sources.add(Flux.using(() -> acquire(ticker), ts -> ts.sink.asFlux(), ts -> release(ticker, ts))
+                    .onBackpressureDrop(quote -> dropped.increment()));
+        }
+        return Flux.merge(sources)
+                .onBackpressureBuffer(bufferSize, quote -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    // 새 시세 발행 (구독자가 없으면 아무것도 하지 않음, 발행하지 못한 시세는 emitFailures로 집계)
+    public void publish(MarketDataDto.PriceResponse quote) {
+        TickerSink ts = sinks.get(quote.getTicker());
+        if (ts == null) {
+            return;
+        }
+        try {
+            ts.sink.emitNext(quote, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        } catch (Sinks.EmissionException e) {
+            emitFailures.increment();
+            log.debug("시세 발행 실패 - {}: {}", quote.getTicker(), e.getReason());
+        }
+    }
+
+    public int subscriberCount(String ticker) {
+        TickerSink ts = sinks.get(ticker);
+        return ts != null ? ts.sink.currentSubscriberCount() : 0;
+    }
+
+    // 느린 연결에서 버려진 시세 수
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // 발행 자체에 실패한 시세 수 (동시 발행 재시도 시간 초과 등)
+    public long getEmitFailureCount() {
+        return emitFailures.sum();
+    }
+
+    // 구독 시작: 티커의 Sink를 만들거나 재사용하고 구독 수를 늘림
+    private TickerSink acquire(String ticker) {
+        return sinks.compute(ticker, (key, ts) -> {
+            TickerSink acquired = ts != null ? ts : new TickerSink();
+            acquired.refs++;
+            return acquired;
+        });
+    }
+
+    // 구독 종료(취소, 완료, 오류): 구독 수를 줄이고 0이 되면 Sink 제거
+    private void release(String ticker, TickerSink ts) {
+        sinks.computeIfPresent(ticker, (key, current) -> {
+            if (current != ts) {
+                return current;
+            }
+            return --current.refs == 0 ? null : current;
+        });
+    }
+
+    // 티커 하나의 Sink와 구독 수 (refs는 sinks.compute 안에서만 변경)
+    // 구독자별 수요와 무관하게 즉시 전달 (버퍼링은 연결별 onBackpressureBuffer에서 담당)
+    private static final class TickerSink {
+        private final Sinks.Many<MarketDataDto.PriceResponse> sink = Sinks.many().multicast().directBestEffort();
+        private int refs;
+    }
+}
@@ -0,0 +1,265 @@
+package com.mystockfolio.backend.market;
+
+import com.mystockfolio.backend.client.MarketDataClient;
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.util.CacheEviction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MarketDataClient 앞단의 프로세스 내 시세 캐시 (티커 단위)
+ * - 자산 유형별 TTL: 코인은 짧게, 주식은 길게
+ * - 만료된 항목은 즉시 이전 값(stale)을 돌려주고, 티커당 하나의 백그라운드 갱신만 실행
+ *   단, 보유 중인 티커(HeldTickerRegistry)는 PriceRefresher가 자체 주기로 갱신하므로 조회로는 갱신하지 않음
+ *   (TTL이 갱신 주기보다 짧아 조회마다 upstream 호출이 한 번 더 나가는 것을 막음)
+ * - 최대 크기를 넘으면 가장 오래된 항목부터 제거
+ * - 2차 저장소(MarketDataCacheStore): 새 시세는 write-behind로 DB에 저장, 메모리에 없으면 DB에서 먼저 읽음
+ */
+@Slf4j
+@Component
+public class QuoteCache {
+
+    // 한 번의 일괄 시세 조회에 담는 최대 티커 수 (market-data-svc의 MAX_BATCH_TICKERS 이하)
+    private static final int BATCH_SIZE = 50;
+
+    private final MarketDataClient marketDataClient;
+    private final MarketDataCacheStore marketDataCacheStore;
+    private final PriceStreamHub priceStreamHub;
+    private final HeldTickerRegistry heldTickerRegistry;
+    private final int maxSize;
+    private final Map<AssetType, Long> ttlMillis = new EnumMap<>(AssetType.class);
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // 시세 epoch 발급기: 가격이 실제로 바뀐 항목만 새 epoch를 받음 (응답 캐시 무효화 기준)
+    private final AtomicLong epochs = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QuoteCache(MarketDataClient marketDataClient,
+                      MarketDataCacheStore marketDataCacheStore,
+                      PriceStreamHub priceStreamHub,
+                      HeldTickerRegistry heldTickerRegistry,
+                      @Value("${market.quote-cache.max-size:10000}") int maxSize,
+                      @Value("${market.quote-cache.ttl.stock-ms:60000}") long stockTtlMs,
+                      @Value("${market.quote-cache.ttl.crypto-ms:10000}") long cryptoTtlMs,
+                      @Value("${market.quote-cache.ttl.default-ms:60000}") long defaultTtlMs) {
+        this.marketDataClient = marketDataClient;
+        this.marketDataCacheStore = marketDataCacheStore;
+        this.priceStreamHub = priceStreamHub;
+        this.heldTickerRegistry = heldTickerRegistry;
+        this.maxSize = maxSize;
+        for (AssetType type : AssetType.values()) {
+            long ttl = switch (type) {
+                case STOCK -> stockTtlMs;
+                case COIN, DEFI, NFT -> cryptoTtlMs;
+                case STABLECOIN, OTHER -> defaultTtlMs;
+            };
+            ttlMillis.put(type, ttl);
+        }
+        log.info("QuoteCache initialized - maxSize: {}, ttl: {}", maxSize, ttlMillis);
+    }
+
+    /**
+     * 여러 티커의 시세를 조회합니다.
+     * 캐시에 있는 티커는 (만료되었더라도) 즉시 응답하고, 없는 티커는 DB(L2)를 거쳐 그래도 없으면 일괄 조회합니다.
+     * budget 안에 도착하지 않은 조회 결과는 응답에서 빠지지만, 도착하는 대로 캐시에 반영됩니다.
+     */
+    public Mono<Map<String, MarketDataDto.PriceResponse>> getPrices(Map<String, AssetType> tickers, Duration budget) {
+        Map<String, MarketDataDto.PriceResponse> result = new HashMap<>();
+        Map<String, AssetType> missing = new HashMap<>();
+
+        for (Map.Entry<String, AssetType> ticker : tickers.entrySet()) {
+            MarketDataDto.PriceResponse quote = getIfPresent(ticker.getKey(), ticker.getValue());
+            if (quote != null) {
+                result.put(ticker.getKey(), quote);
+            } else {
+                missing.put(ticker.getKey(), ticker.getValue());
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return Mono.just(result);
+        }
+
+        // 재시작 직후 등 메모리에 없는 티커는 DB에 저장된 마지막 시세로 채움 (만료 시 백그라운드 갱신)
+        for (Map.Entry<String, MarketDataCacheStore.StoredQuote> stored : marketDataCacheStore.load(missing.keySet()).entrySet()) {
+            String ticker = stored.getKey();
+            AssetType assetType = missing.remove(ticker);
+            MarketDataDto.PriceResponse quote = stored.getValue().getQuote();
+            Entry entry = new Entry(quote, stored.getValue().getUpdatedAtMillis() + ttlMillis.get(assetType), epochs.incrementAndGet());
+            entries.put(ticker, entry);
+            if (entry.isExpired(System.currentTimeMillis())) {
+                refreshInBackground(ticker, assetType, entry);
+            }
+            result.put(ticker, quote);
+        }
+
+        if (missing.isEmpty()) {
+            return Mono.just(result);
+        }
+
+        return Flux.fromIterable(new ArrayList<>(missing.keySet()))
+                .buffer(BATCH_SIZE)
+                .flatMap(batch -> fetchAndStore(batch, missing).timeout(budget, Mono.empty()))
+                .doOnNext(result::putAll)
+                .then(Mono.fromSupplier(() -> result));
+    }
+
+    /**
+     * 캐시된 시세를 반환합니다. (없으면 null)
+     * 만료된 항목이면 이전 값을 그대로 반환하면서 백그라운드 갱신을 한 번만 시작합니다.
+     */
+    public MarketDataDto.PriceResponse getIfPresent(String ticker, AssetType assetType) {
+        Entry entry = entries.get(ticker);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.isExpired(System.currentTimeMillis())) {
+            staleHits.increment();
+            refreshInBackground(ticker, assetType, entry);
+        } else {
+            hits.increment();
+        }
+        return entry.quote;
+    }
+
+    // 새로 조회한 시세를 캐시에 반영 (DB에는 write-behind로 저장, 스트림 구독자에게 발행)
+    public void put(String ticker, AssetType assetType, MarketDataDto.PriceResponse quote) {
+        long now = System.currentTimeMillis();
+        Entry previous = entries.get(ticker);
+        long epoch = previous != null && Objects.equals(previous.quote.getPrice(), quote.getPrice())
+                ? previous.epoch
+                : epochs.incrementAndGet();
+        entries.put(ticker, new Entry(quote, now + ttlMillis.get(assetType), epoch));
+        marketDataCacheStore.enqueue(ticker, quote, now);
+        priceStreamHub.publish(quote);
+        evictIfNeeded();
+    }
+
+    // 통계/갱신 없이 현재 캐시된 값만 확인 (없으면 null)
+    public MarketDataDto.PriceResponse peek(String ticker) {
+        Entry entry = entries.get(ticker);
+        return entry != null ? entry.quote : null;
+    }
+
+    /**
+     * 티커들의 시세 epoch (가장 최근에 가격이 바뀐 시점). 하나라도 캐시에 없으면 -1
+     * 같은 티커 집합에 대해 값이 같으면 그 사이 가격 변동이 없었음을 뜻함
+     */
+    public long priceEpoch(Collection<String> tickers) {
+        long max = 0L;
+        for (String ticker : tickers) {
+            Entry entry = entries.get(ticker);
+            if (entry == null) {
+                return -1L;
+            }
+            max = Math.max(max, entry.epoch);
+        }
+        return max;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 누락된 티커를 일괄 조회하여 캐시에 저장
+    // 호출자가 시간 초과로 구독을 끊어도 조회는 끝까지 진행되어 캐시를 채우도록 cache()로 분리
+    private Mono<Map<String, MarketDataDto.PriceResponse>> fetchAndStore(List<String> batch, Map<String, AssetType> types) {
+        Mono<Map<String, MarketDataDto.PriceResponse>> fetch = marketDataClient.getCurrentPrices(batch)
+                .map(response -> {
+                    if (response.getErrors() != null && !response.getErrors().isEmpty()) {
+                        log.warn("⚠️ 일부 티커 시세 조회 실패: {}", response.getErrors());
+                    }
+                    Map<String, MarketDataDto.PriceResponse> prices = response.toPriceMap();
+                    prices.values().removeIf(quote -> quote.getPrice() == null);
+                    prices.forEach((ticker, quote) -> put(ticker, types.getOrDefault(ticker, AssetType.OTHER), quote));
+                    return prices;
+                })
+                .cache();
+        fetch.subscribe(prices -> { }, e -> log.error("Quote fetch failed: {}", e.getMessage()));
+        return fetch;
+    }
+
+    // 만료 항목 갱신 (티커당 동시에 하나만 실행, 보유 티커는 PriceRefresher 담당이므로 건너뜀)
+    private void refreshInBackground(String ticker, AssetType assetType, Entry entry) {
+        if (heldTickerRegistry.isHeld(ticker) || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshes.increment();
+        marketDataClient.getCurrentPrice(ticker)
+                .filter(quote -> quote.getPrice() != null)
+                .subscribe(
+                        quote -> put(ticker, assetType, quote),
+                        e -> entry.refreshing.set(false),
+                        () -> entry.refreshing.set(false));
+    }
+
+    // 최대 크기를 넘으면 만료 시각이 이른 항목부터 제거 (최대 크기의 90%까지, 표본 기반 근사)
+    private void evictIfNeeded() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        evictions.add(CacheEviction.evict(entries, (int) (maxSize * 0.9), entry -> entry.expiresAt));
+    }
+
+    // 캐시 항목 (시세는 불변, 갱신 시 항목 자체를 교체)
+    private static final class Entry {
+        private final MarketDataDto.PriceResponse quote;
+        private final long expiresAt;
+        private final long epoch;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private Entry(MarketDataDto.PriceResponse quote, long expiresAt, long epoch) {
+            this.quote = quote;
+            this.expiresAt = expiresAt;
+            this.epoch = epoch;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.mystockfolio.backend.market;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 가격 이력 파일(MappedSeriesFile) 점검 도구 - 서버가 내려간 상태에서 실행
+ *
+ * 사용법 (backend 디렉터리에서)
+ *   ./gradlew historyFileTool -PtoolArgs="verify data/history"
+ *   ./gradlew historyFileTool -PtoolArgs="compact data/history"
+ *
+ * - verify: 헤더, 레코드 수, 날짜 오름차순, 종가 유효성 검사 (문제가 있으면 종료 코드 1)
+ * - compact: 날짜가 역순/중복이거나 종가가 유효하지 않은 레코드를 버리고 남는 용량 없이 다시 기록
+ */
+public final class SeriesFileTool {
+
+    private SeriesFileTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || !(args[0].equals("verify") || args[0].equals("compact"))) {
+            System.err.println("Usage: SeriesFileTool <verify|compact> <directory>");
+            System.exit(2);
+            return;
+        }
+
+        boolean compact = args[0].equals("compact");
+        int problems = 0;
+        for (Path path : listSeriesFiles(Paths.get(args[1]))) {
+            problems += compact ? compact(path) : verify(path);
+        }
+        System.out.println(args[0] + " finished - problems: " + problems);
+        if (!compact && problems > 0) {
+            System.exit(1);
+        }
+    }
+
+    // 파일 하나를 검사하고 발견한 문제 수를 반환
+    static int verify(Path path) {
+        try (MappedSeriesFile file = MappedSeriesFile.open(path)) {
+            PriceHistoryStore.Slice all = file.slice(Integer.MIN_VALUE);
+            int problems = 0;
+            for (int i = 0; i < all.length(); i++) {
+                if (i > 0 && all.dayAt(i) <= all.dayAt(i - 1)) {
+                    report(path, "record " + i + ": day " + all.dayAt(i) + " is not after " + all.dayAt(i - 1));
+                    problems++;
+                }
+                if (!isValidClose(all.closeAt(i))) {
+                    report(path, "record " + i + ": invalid close " + all.closeAt(i));
+                    problems++;
+                }
+            }
+            System.out.println("OK   " + path + " (" + all.length() + "/" + file.capacity() + " records)");
+            return problems;
+        } catch (IOException e) {
+            report(path, e.getMessage());
+            return 1;
+        }
+    }
+
+    // 유효한 레코드만 남겨 남는 용량 없이 다시 기록하고, 버린 레코드 수를 반환
+    static int compact(Path path) {
+        try {
+            int[] days;
+            double[] closes;
+            int n = 0;
+            int coveredFrom;
+            boolean complete;
+            long syncedAt;
+            try (MappedSeriesFile file = MappedSeriesFile.open(path)) {
+                PriceHistoryStore.Slice all = file.slice(Integer.MIN_VALUE);
+                days = new int[all.length()];
+                closes = new double[all.length()];
+                for (int i = 0; i < all.length(); i++) {
+                    int day = all.dayAt(i);
+                    double close = all.closeAt(i);
+                    if ((n == 0 || day > days[n - 1]) && isValidClose(close)) {
+                        days[n] = day;
+                        closes[n] = close;
+                        n++;
+                    }
+                }
+                coveredFrom = file.coveredFrom();
+                complete = file.complete();
+                syncedAt = file.syncedAt();
+            }
+            try (MappedSeriesFile rewritten = MappedSeriesFile.create(path, days, closes, n, coveredFrom, complete, syncedAt, n)) {
+                System.out.println("DONE " + path + " (" + rewritten.size() + " records, dropped " + (days.length - n) + ")");
+            }
+            return days.length - n;
+        } catch (IOException e) {
+            report(path, e.getMessage());
+            return 1;
+        }
+    }
+
+    private static boolean isValidClose(double close) {
+        return Double.isFinite(close) && close >= 0;
+    }
+
+    private static List<Path> listSeriesFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".series"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static void report(Path path, String message) {
+        System.out.println("FAIL " + path + ": " + message);
+    }
+}
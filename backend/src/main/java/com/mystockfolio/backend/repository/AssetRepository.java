@@ -1,12 +1,102 @@
 package com.mystockfolio.backend.repository;
 
 import com.mystockfolio.backend.domain.entity.Asset;
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.dto.AssetDto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AssetRepository extends JpaRepository<Asset, Long> {
 
-    // 특정 포트폴리오에 속한 모든 자산 조회 (Portfolio ID 기준)
-    // findBy[연관관계필드명][연관된엔티티의PK필드명] -> findByPortfolioId
-    List<Asset> findByPortfolioId(Long portfolioId); // <-- 수정: findByPortfolioPortfolioId -> findByPortfolioId
-}
\ No newline at end of file
+    // 특정 포트폴리오에 속한 모든 자산을 응답 DTO로 바로 조회 (엔티티/영속성 컨텍스트 스냅샷 없음, 포트폴리오 프록시 접근 없음)
+    @Query("SELECT new com.mystockfolio.backend.dto.AssetDto$AssetResponse(" +
+            "a.id, a.name, a.ticker, a.quantity, a.avgBuyPrice, a.assetType, a.portfolio.id) " +
+            "FROM Asset a WHERE a.portfolio.id = :portfolioId ORDER BY a.id")
+    List<AssetDto.AssetResponse> findResponsesByPortfolioId(@Param("portfolioId") Long portfolioId);
+
+    // 사용자의 모든 포트폴리오 자산을 응답 DTO로 조회 (포트폴리오 ID 순으로 정렬되어 호출 측에서 묶기만 하면 됨)
+    @Query("SELECT new com.mystockfolio.backend.dto.AssetDto$AssetResponse(" +
+            "a.id, a.name, a.ticker, a.quantity, a.avgBuyPrice, a.assetType, a.portfolio.id) " +
+            "FROM Asset a WHERE a.portfolio.user.userId = :userId ORDER BY a.portfolio.id, a.id")
+    List<AssetDto.AssetResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    // 키셋 페이지: id가 after보다 큰 자산을 id 순으로 limit개 (OFFSET 없이 PK 인덱스 범위 조회)
+    @Query("SELECT new com.mystockfolio.backend.dto.AssetDto$AssetResponse(" +
+            "a.id, a.name, a.ticker, a.quantity, a.avgBuyPrice, a.assetType, a.portfolio.id) " +
+            "FROM Asset a WHERE a.portfolio.id = :portfolioId AND a.portfolio.user.userId = :userId " +
+            "AND a.id > :after ORDER BY a.id")
+    List<AssetDto.AssetResponse> findResponsesPage(@Param("userId") Long userId, @Param("portfolioId") Long portfolioId,
+                                                   @Param("after") Long after, Limit limit);
+
+    // 사용자/포트폴리오 소유 확인을 겸한 단건 조회
+    @Query("SELECT a FROM Asset a WHERE a.id = :assetId AND a.portfolio.id = :portfolioId AND a.portfolio.user.userId = :userId")
+    Optional<Asset> findOwned(@Param("userId") Long userId, @Param("portfolioId") Long portfolioId, @Param("assetId") Long assetId);
+
+    // 원장 기록/재계산용: 같은 자산의 거래가 동시에 반영되지 않도록 행 잠금 (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Asset a WHERE a.id = :assetId AND a.portfolio.id = :portfolioId AND a.portfolio.user.userId = :userId")
+    Optional<Asset> findOwnedForUpdate(@Param("userId") Long userId, @Param("portfolioId") Long portfolioId, @Param("assetId") Long assetId);
+
+    // 스트리밍 조회: 행을 한 번에 모두 받지 않고 커서로 한 행씩 읽음 (호출 측 트랜잭션 안에서 소비하고 닫아야 함)
+    // MySQL Connector/J는 fetch size가 Integer.MIN_VALUE일 때 행 단위 스트리밍
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.mystockfolio.backend.dto.AssetDto$AssetResponse(" +
+            "a.id, a.name, a.ticker, a.quantity, a.avgBuyPrice, a.assetType, a.portfolio.id) " +
+            "FROM Asset a WHERE a.portfolio.id = :portfolioId AND a.portfolio.user.userId = :userId ORDER BY a.id")
+    Stream<AssetDto.AssetResponse> streamResponses(@Param("userId") Long userId, @Param("portfolioId") Long portfolioId);
+
+    // 전체 사용자가 보유한 티커별 보유 건수 (시세 갱신 대상 계산용)
+    @Query("SELECT a.ticker AS ticker, a.assetType AS assetType, COUNT(a) AS holdings FROM Asset a GROUP BY a.ticker, a.assetType")
+    List<TickerHoldingCount> countHoldingsByTicker();
+
+    // 특정 사용자의 보유 현황을 (자산 유형, 티커) 단위로 DB에서 합산 (엔티티 로딩 없이 집계 결과만 조회)
+    // 수량/단가는 DECIMAL 컬럼이므로 합계와 곱도 DB에서 정확히 계산됨 (변환기가 붙은 속성이라 네이티브 쿼리 사용)
+    @Query(value = "SELECT a.asset_type AS assetType, a.ticker AS ticker, SUM(a.quantity) AS quantity, " +
+            "SUM(a.quantity * a.avgBuyPrice) AS cost, COUNT(*) AS lots " +
+            "FROM Asset a JOIN Portfolio p ON p.id = a.portfolio_id " +
+            "WHERE p.user_id = :userId GROUP BY a.asset_type, a.ticker", nativeQuery = true)
+    List<HoldingSummary> summarizeHoldingsByUserId(@Param("userId") Long userId);
+
+    // 요청한 포트폴리오만 (포트폴리오, 자산 유형, 티커) 단위로 합산 (다른 사용자의 포트폴리오 ID는 결과에서 빠짐)
+    @Query(value = "SELECT a.portfolio_id AS portfolioId, a.asset_type AS assetType, a.ticker AS ticker, " +
+            "SUM(a.quantity) AS quantity, SUM(a.quantity * a.avgBuyPrice) AS cost, COUNT(*) AS lots " +
+            "FROM Asset a JOIN Portfolio p ON p.id = a.portfolio_id " +
+            "WHERE p.user_id = :userId AND a.portfolio_id IN (:portfolioIds) " +
+            "GROUP BY a.portfolio_id, a.asset_type, a.ticker", nativeQuery = true)
+    List<PortfolioHoldingSummary> summarizeHoldingsByPortfolioIds(@Param("userId") Long userId,
+                                                                  @Param("portfolioIds") Collection<Long> portfolioIds);
+
+    interface TickerHoldingCount {
+        String getTicker();
+        AssetType getAssetType();
+        Long getHoldings();
+    }
+
+    interface HoldingSummary {
+        AssetType getAssetType();
+        String getTicker();
+        BigDecimal getQuantity();
+        BigDecimal getCost();
+        Long getLots();
+    }
+
+    interface PortfolioHoldingSummary extends HoldingSummary {
+        Long getPortfolioId();
+    }
+}
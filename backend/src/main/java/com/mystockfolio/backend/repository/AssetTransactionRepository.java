@@ -0,0 +1,66 @@
+package com.mystockfolio.backend.repository;
+
+import com.mystockfolio.backend.domain.entity.AssetTransaction;
+import com.mystockfolio.backend.dto.TaxDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AssetTransactionRepository extends JpaRepository<AssetTransaction, Long> {
+
+    // 키셋 페이지: 자산의 거래 중 id가 after보다 큰 것을 id 순으로 limit개
+    @Query("SELECT t FROM AssetTransaction t WHERE t.assetId = :assetId AND t.id > :after ORDER BY t.id")
+    List<AssetTransaction> findPage(@Param("assetId") Long assetId, @Param("after") Long after, Limit limit);
+
+    // 재계산용: 스냅샷 이후 거래만 id 순으로 스트리밍 (호출 측 트랜잭션 안에서 소비하고 닫아야 함)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM AssetTransaction t WHERE t.assetId = :assetId AND t.id > :after ORDER BY t.id")
+    Stream<AssetTransaction> streamAfter(@Param("assetId") Long assetId, @Param("after") Long after);
+
+    // 세금 로트 매칭용: 사용자의 거래를 티커, 거래 일시 순으로 스트리밍 (until 이전 거래만)
+    // 원장 이전 보유분 스냅샷(opening)에 이미 포함된 거래(그 스냅샷의 lastTransactionId 이하)는 제외
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.mystockfolio.backend.dto.TaxDto$LedgerFill(" +
+            "a.ticker, t.transactionType, t.quantity, t.pricePerUnit, t.transactionDate) " +
+            "FROM AssetTransaction t, Asset a WHERE a.id = t.assetId AND a.portfolio.user.userId = :userId " +
+            "AND t.transactionDate < :until " +
+            "AND t.id > COALESCE((SELECT MAX(s.lastTransactionId) FROM PositionSnapshot s " +
+            "WHERE s.assetId = t.assetId AND s.opening = true), 0) " +
+            "ORDER BY a.ticker, t.transactionDate, t.id")
+    Stream<TaxDto.LedgerFill> streamFillsByUserId(@Param("userId") Long userId, @Param("until") LocalDateTime until);
+
+    // 자산의 마지막 거래 ID (거래가 없으면 null)
+    @Query("SELECT MAX(t.id) FROM AssetTransaction t WHERE t.assetId = :assetId")
+    Long findLastTransactionId(@Param("assetId") Long assetId);
+
+    // 자산별 마지막 거래 ID (거래가 없는 자산은 결과에 없음)
+    @Query("SELECT t.assetId AS assetId, MAX(t.id) AS lastTransactionId FROM AssetTransaction t " +
+            "WHERE t.assetId IN :assetIds GROUP BY t.assetId")
+    List<LastTransaction> findLastTransactionIds(@Param("assetIds") Collection<Long> assetIds);
+
+    // 자산 삭제 시 원장도 함께 삭제
+    @Modifying
+    @Query("DELETE FROM AssetTransaction t WHERE t.assetId IN :assetIds")
+    int deleteByAssetIdIn(@Param("assetIds") Collection<Long> assetIds);
+
+    interface LastTransaction {
+        Long getAssetId();
+        Long getLastTransactionId();
+    }
+}
@@ -0,0 +1,12 @@
+package com.mystockfolio.backend.repository;
+
+import com.mystockfolio.backend.domain.entity.MarketDataCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
+
+public interface MarketDataCacheRepository extends JpaRepository<MarketDataCache, Long> {
+
+    // 여러 티커의 캐시된 시세를 한 번에 조회
+    List<MarketDataCache> findByTickerIn(Collection<String> tickers);
+}
@@ -1,10 +1,18 @@
 package com.mystockfolio.backend.repository;
 
 import com.mystockfolio.backend.domain.entity.Portfolio;
+import com.mystockfolio.backend.dto.PortfolioDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
     
@@ -12,7 +20,39 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
     @Query("SELECT p FROM Portfolio p WHERE p.user.userId = :userId")
     List<Portfolio> findByUserId(@Param("userId") Long userId);
     
-    // 사용자 ID로 해당 사용자의 모든 포트폴리오 목록 조회 (자산 포함 - JOIN FETCH)
-    @Query("SELECT DISTINCT p FROM Portfolio p LEFT JOIN FETCH p.assets WHERE p.user.userId = :userId")
-    List<Portfolio> findByUserIdWithAssets(@Param("userId") Long userId);
+    // 사용자의 모든 포트폴리오 ID/이름만 조회 (목록 응답용, 엔티티 로딩 없음)
+    @Query("SELECT p.id AS id, p.name AS name FROM Portfolio p WHERE p.user.userId = :userId ORDER BY p.id")
+    List<PortfolioSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    // 키셋 페이지: id가 after보다 큰 포트폴리오를 id 순으로 limit개
+    @Query("SELECT p.id AS id, p.name AS name FROM Portfolio p WHERE p.user.userId = :userId AND p.id > :after ORDER BY p.id")
+    List<PortfolioSummary> findSummariesPage(@Param("userId") Long userId, @Param("after") Long after, Limit limit);
+
+    // 스트리밍 조회 (호출 측 트랜잭션 안에서 소비하고 닫아야 함, MySQL 행 단위 스트리밍)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p.id AS id, p.name AS name FROM Portfolio p WHERE p.user.userId = :userId ORDER BY p.id")
+    Stream<PortfolioSummary> streamSummariesByUserId(@Param("userId") Long userId);
+
+    // 내보내기용 스트리밍 조회: 포트폴리오 x 자산을 포트폴리오 id, 자산 id 순으로 (자산 없는 포트폴리오도 포함)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.mystockfolio.backend.dto.PortfolioDto$HoldingExportRow(" +
+            "p.id, p.name, a.id, a.ticker, a.name, a.assetType, a.quantity, a.avgBuyPrice) " +
+            "FROM Portfolio p LEFT JOIN p.assets a WHERE p.user.userId = :userId ORDER BY p.id, a.id")
+    Stream<PortfolioDto.HoldingExportRow> streamExportRows(@Param("userId") Long userId);
+
+    // 포트폴리오 ID/이름만 조회
+    @Query("SELECT p.id AS id, p.name AS name FROM Portfolio p WHERE p.id = :id")
+    Optional<PortfolioSummary> findSummaryById(@Param("id") Long id);
+
+    // 사용자의 포트폴리오 중 요청한 ID의 이름만 조회 (엔티티/자산 로딩 없음)
+    @Query("SELECT p.id AS id, p.name AS name FROM Portfolio p WHERE p.user.userId = :userId AND p.id IN :ids")
+    List<PortfolioSummary> findSummariesByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    interface PortfolioSummary {
+        Long getId();
+        String getName();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.mystockfolio.backend.repository;
+
+import com.mystockfolio.backend.domain.entity.PositionSnapshot;
+import com.mystockfolio.backend.dto.TaxDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PositionSnapshotRepository extends JpaRepository<PositionSnapshot, Long> {
+
+    // 자산의 가장 최근 스냅샷 (재계산 시작점)
+    Optional<PositionSnapshot> findFirstByAssetIdOrderByLastTransactionIdDescIdDesc(Long assetId);
+
+    // 오래된 스냅샷 정리: 기준 거래 ID가 before보다 작은 스냅샷 삭제 (재계산은 최신 스냅샷만 사용)
+    // 원장 이전 보유분(opening)은 세금 로트 매칭의 첫 로트이므로 남김
+    @Modifying
+    @Query("DELETE FROM PositionSnapshot s WHERE s.assetId = :assetId AND s.opening = false AND s.lastTransactionId < :before")
+    int deleteOlderThan(@Param("assetId") Long assetId, @Param("before") Long before);
+
+    // 사용자 자산들의 원장 이전 보유분 (세금 로트 매칭의 첫 로트, 티커 순)
+    @Query("SELECT new com.mystockfolio.backend.dto.TaxDto$OpeningLot(a.ticker, s.quantity, s.avgBuyPrice) " +
+            "FROM PositionSnapshot s, Asset a WHERE a.id = s.assetId AND a.portfolio.user.userId = :userId " +
+            "AND s.opening = true AND s.quantity > 0 ORDER BY a.ticker, s.id")
+    List<TaxDto.OpeningLot> findOpeningLotsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM PositionSnapshot s WHERE s.assetId IN :assetIds")
+    int deleteByAssetIdIn(@Param("assetIds") Collection<Long> assetIds);
+}
@@ -2,6 +2,8 @@ package com.mystockfolio.backend.repository;
 
 import com.mystockfolio.backend.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional; // Optional 사용
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +15,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // 지갑 주소로 사용자 조회 (MetaMask 인증 시 사용)
     Optional<User> findByWalletAddress(String walletAddress);
+
+    // 대시보드 기준 통화만 조회 (설정하지 않은 사용자는 null)
+    @Query("SELECT u.baseCurrency FROM User u WHERE u.userId = :userId")
+    Optional<String> findBaseCurrencyByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.dto.AssetDto;
+import com.mystockfolio.backend.dto.ImportDto;
+import com.mystockfolio.backend.exception.ResourceNotFoundException;
+import com.mystockfolio.backend.util.CacheEviction;
+import com.mystockfolio.backend.util.Decimal8;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 증권사 CSV 보유 종목 가져오기 (비동기 작업)
+ * - 업로드 파일은 임시 파일로 옮긴 뒤 작업 ID를 바로 돌려주고, 백그라운드 스레드에서 처리
+ * - BrokerCsvReader로 한 행씩 읽어 batch-size 행마다 티커 검증 -> AssetService.bulkAssets(JDBC 배치) 한 번
+ *   메모리에는 현재 배치만 있으므로 파일 크기와 관계없이 사용량이 일정
+ * - 진행 상황(읽은/저장한/실패한 행 수, 초당 행 수)은 작업 ID로 조회
+ * - 배치마다 별도 트랜잭션이므로 중간에 실패하면 이전 배치까지는 저장된 상태로 남음
+ */
+@Slf4j
+@Service
+public class AssetImportService {
+
+    private static final int MAX_ERRORS = 100;
+
+    private final AssetService assetService;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxJobs;
+
+    // 작업 ID -> 진행 상황 (완료된 작업은 최대 개수를 넘으면 오래된 것부터 제거)
+    private final ConcurrentHashMap<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public AssetImportService(AssetService assetService,
+                              @Value("${asset.import.parallelism:2}") int parallelism,
+                              @Value("${asset.import.batch-size:1000}") int batchSize,
+                              @Value("${asset.import.max-jobs:1000}") int maxJobs) {
+        this.assetService = assetService;
+        this.executor = Executors.newFixedThreadPool(parallelism, daemonThreads());
+        this.batchSize = batchSize;
+        this.maxJobs = maxJobs;
+    }
+
+    /**
+     * 업로드된 CSV 가져오기를 시작하고 작업 상태를 반환합니다. (처리는 비동기)
+     */
+    public ImportDto.ImportJobResponse start(Long userId, Long portfolioId, MultipartFile file, Charset charset) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Uploaded file is empty");
+        }
+        assetService.checkPortfolioOwner(userId, portfolioId);
+        evictFinishedIfNeeded(); // 작업이 가득 차 거절할 때 임시 파일이 남지 않도록 먼저 확인
+
+        // 요청이 끝나면 멀티파트 임시 파일이 지워지므로 작업용 임시 파일로 옮겨 둠
+        Path tmp = Files.createTempFile("asset-import-", ".csv");
+        try {
+            file.transferTo(tmp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId, portfolioId, file.getOriginalFilename());
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job, tmp, charset));
+        log.info("📥 CSV 가져오기 시작 - jobId: {}, portfolioId: {}, 파일: {} ({} bytes)",
+                job.id, portfolioId, file.getOriginalFilename(), file.getSize());
+        return job.toResponse();
+    }
+
+    // 작업 진행 상황 (다른 사용자/포트폴리오의 작업이면 ResourceNotFoundException)
+    public ImportDto.ImportJobResponse getJob(Long userId, Long portfolioId, String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId) || !job.portfolioId.equals(portfolioId)) {
+            throw new ResourceNotFoundException("Import job not found with id: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void run(ImportJob job, Path file, Charset charset) {
+        job.startedAt = System.currentTimeMillis();
+        job.status = Status.RUNNING;
+        try (BrokerCsvReader reader = new BrokerCsvReader(Files.newBufferedReader(file, charset))) {
+            List<BrokerCsvReader.Row> rows = new ArrayList<>(batchSize);
+            List<AssetDto.AssetCreateRequest> creates = new ArrayList<>(batchSize);
+            BrokerCsvReader.Row row;
+            while ((row = reader.next()) != null) {
+                job.rowsRead.incrementAndGet();
+                try {
+                    creates.add(toCreateRequest(row));
+                    rows.add(row);
+                } catch (IllegalArgumentException | ArithmeticException e) {
+                    job.fail(row.getLineNumber(), e.getMessage());
+                }
+                if (creates.size() >= batchSize) {
+                    importBatch(job, rows, creates);
+                }
+            }
+            importBatch(job, rows, creates);
+            job.status = Status.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ CSV 가져오기 실패 - jobId: {}: {}", job.id, e.getMessage());
+            job.message = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("임시 파일 삭제 실패 - {}: {}", file, e.getMessage());
+            }
+        }
+        log.info("✅ CSV 가져오기 종료 - jobId: {}, 상태: {}, 읽음 {}행, 저장 {}행, 실패 {}행",
+                job.id, job.status, job.rowsRead.get(), job.rowsImported.get(), job.rowsFailed.get());
+    }
+
+    // 배치 하나 저장: 지원하지 않는 티커 행은 실패로 기록하고 나머지를 한 트랜잭션으로 저장 (rows/creates는 비움)
+    private void importBatch(ImportJob job, List<BrokerCsvReader.Row> rows, List<AssetDto.AssetCreateRequest> creates) {
+        if (creates.isEmpty()) {
+            return;
+        }
+        List<String> tickers = new ArrayList<>(creates.size());
+        for (AssetDto.AssetCreateRequest create : creates) {
+            tickers.add(create.getTicker());
+        }
+        Set<String> unsupported = assetService.findUnsupportedTickers(tickers);
+        List<AssetDto.AssetCreateRequest> valid = new ArrayList<>(creates.size());
+        for (int i = 0; i < creates.size(); i++) {
+            if (unsupported.contains(creates.get(i).getTicker())) {
+                job.fail(rows.get(i).getLineNumber(), "지원하지 않는 티커입니다: " + creates.get(i).getTicker());
+            } else {
+                valid.add(creates.get(i));
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                assetService.bulkAssets(job.userId, job.portfolioId, new AssetDto.AssetBulkRequest(valid, List.of(), List.of()));
+                job.rowsImported.addAndGet(valid.size());
+            } catch (RuntimeException e) {
+                // 배치 전체가 롤백됨 -> 배치의 행을 모두 실패로 집계하고 다음 배치 계속
+                job.rowsFailed.addAndGet(valid.size());
+                job.error("lines " + rows.get(0).getLineNumber() + "-" + rows.get(rows.size() - 1).getLineNumber()
+                        + ": " + e.getMessage());
+            }
+        }
+        rows.clear();
+        creates.clear();
+    }
+
+    /**
+     * CSV 행 -> 자산 생성 요청 (티커/숫자 정규화, 잘못된 값이면 IllegalArgumentException)
+     * - 수량/단가의 천 단위 구분 기호(,)와 통화 기호는 제거
+     * - 자산 유형이 없으면 티커로 추정 (-USD로 끝나면 COIN, 그 외 STOCK), 증권사 표기(ETF, Equity, Crypto 등)는 AssetType으로 변환
+     * - 6자리 숫자 티커는 한국거래소 종목으로 보고 .KS를 붙임, 코인 심볼만 있으면 -USD를 붙임
+     * - AssetCreateRequest.toEntity와 같은 검증(수량/단가 양수, 유효한 자산 유형)을 여기서 미리 하여
+     *   잘못된 행은 그 행만 실패로 기록 (배치 저장 중 예외로 배치 전체가 롤백되지 않도록)
+     */
+    static AssetDto.AssetCreateRequest toCreateRequest(BrokerCsvReader.Row row) {
+        if (row.getTicker() == null) {
+            throw new IllegalArgumentException("Ticker is required");
+        }
+        if (row.getQuantity() == null || row.getAvgBuyPrice() == null) {
+            throw new IllegalArgumentException("Quantity and average buy price are required");
+        }
+        String ticker = row.getTicker().toUpperCase(Locale.ROOT);
+        AssetType assetType = row.getAssetType() != null
+                ? parseAssetType(row.getAssetType())
+                : (ticker.endsWith("-USD") ? AssetType.COIN : AssetType.STOCK);
+        ticker = normalizeTicker(ticker, assetType);
+
+        Decimal8 quantity = parseAmount(row.getQuantity());
+        if (quantity.signum() <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        Decimal8 avgBuyPrice = parseAmount(row.getAvgBuyPrice());
+        if (avgBuyPrice.signum() <= 0) {
+            throw new IllegalArgumentException("Average buy price must be greater than 0");
+        }
+        return new AssetDto.AssetCreateRequest(ticker, quantity, avgBuyPrice, row.getName(), assetType.name());
+    }
+
+    // 증권사 CSV의 자산 유형 표기 -> AssetType (모르는 값이면 IllegalArgumentException)
+    static AssetType parseAssetType(String value) {
+        String type = value.trim().toUpperCase(Locale.ROOT);
+        switch (type) {
+            case "EQUITY":
+            case "EQUITIES":
+            case "ETF":
+            case "ETN":
+            case "SHARE":
+            case "SHARES":
+            case "주식":
+                return AssetType.STOCK;
+            case "CRYPTO":
+            case "CRYPTOCURRENCY":
+            case "코인":
+                return AssetType.COIN;
+            default:
+                try {
+                    return AssetType.valueOf(type);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid asset type: " + value
+                            + ". Valid values are: STOCK, COIN, STABLECOIN, DEFI, NFT, OTHER");
+                }
+        }
+    }
+
+    static String normalizeTicker(String ticker, AssetType assetType) {
+        if (ticker.length() == 6 && ticker.chars().allMatch(Character::isDigit)) {
+            return ticker + ".KS";
+        }
+        if (assetType == AssetType.COIN && ticker.indexOf('-') < 0) {
+            return ticker + "-USD";
+        }
+        return ticker;
+    }
+
+    static Decimal8 parseAmount(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.' || c == '-') {
+                digits.append(c);
+            } else if (c != ',' && c != '$' && c != '₩' && c != ' ') {
+                throw new IllegalArgumentException("Invalid number: " + value);
+            }
+        }
+        try {
+            return Decimal8.of(digits.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + value);
+        }
+    }
+
+    // 작업이 최대 개수에 이르면 완료된 작업을 종료 시각이 이른 것부터 제거 (최대 개수의 90%까지, 진행 중인 작업만으로 가득 차면 거절)
+    private void evictFinishedIfNeeded() {
+        if (jobs.size() < maxJobs) {
+            return;
+        }
+        CacheEviction.evict(jobs, (int) (maxJobs * 0.9), job -> job.finishedAt, job -> job.finishedAt > 0);
+        if (jobs.size() >= maxJobs) {
+            throw new IllegalStateException("Too many import jobs in progress");
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("asset-import-");
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    // 작업 하나의 진행 상황 (작업 스레드가 갱신, 조회 스레드는 스냅샷만 읽음)
+    private static final class ImportJob {
+        private final String id;
+        private final Long userId;
+        private final Long portfolioId;
+        private final String fileName;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private volatile Status status = Status.PENDING;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile String message;
+
+        private ImportJob(String id, Long userId, Long portfolioId, String fileName) {
+            this.id = id;
+            this.userId = userId;
+            this.portfolioId = portfolioId;
+            this.fileName = fileName;
+        }
+
+        private void fail(long lineNumber, String reason) {
+            rowsFailed.incrementAndGet();
+            error("line " + lineNumber + ": " + reason);
+        }
+
+        // 오류 메시지는 앞쪽 MAX_ERRORS개만 보관
+        private void error(String message) {
+            synchronized (errors) {
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(message);
+                }
+            }
+        }
+
+        private ImportDto.ImportJobResponse toResponse() {
+            long started = startedAt;
+            long finished = finishedAt;
+            long elapsed = started > 0 ? (finished > 0 ? finished : System.currentTimeMillis()) - started : 0;
+            long read = rowsRead.get();
+            List<String> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = new ArrayList<>(errors);
+            }
+            return ImportDto.ImportJobResponse.builder()
+                    .jobId(id)
+                    .portfolioId(portfolioId)
+                    .fileName(fileName)
+                    .status(status.name())
+                    .rowsRead(read)
+                    .rowsImported(rowsImported.get())
+                    .rowsFailed(rowsFailed.get())
+                    .rowsPerSecond(elapsed > 0 ? read * 1000.0 / elapsed : 0.0)
+                    .startedAt(started > 0 ? Instant.ofEpochMilli(started).toString() : null)
+                    .finishedAt(finished > 0 ? Instant.ofEpochMilli(finished).toString() : null)
+                    .message(message)
+                    .errors(errorsCopy)
+                    .build();
+        }
+    }
+}
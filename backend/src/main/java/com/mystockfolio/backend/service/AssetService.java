@@ -4,18 +4,35 @@ package com.mystockfolio.backend.service;
 
 import com.mystockfolio.backend.domain.entity.Asset;
 import com.mystockfolio.backend.domain.entity.Portfolio;
+import com.mystockfolio.backend.domain.event.AssetChangedEvent;
+import com.mystockfolio.backend.domain.event.AssetsBulkChangedEvent;
 import com.mystockfolio.backend.dto.AssetDto;
+import com.mystockfolio.backend.dto.PageDto;
 import com.mystockfolio.backend.repository.AssetRepository;
 import com.mystockfolio.backend.repository.PortfolioRepository;
 import com.mystockfolio.backend.exception.ResourceNotFoundException;
 import com.mystockfolio.backend.client.MarketDataClient;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AssetService {
@@ -23,14 +40,38 @@ public class AssetService {
     private final AssetRepository assetRepository;
     private final PortfolioRepository portfolioRepository;
     private final MarketDataClient marketDataClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerService ledgerService;
 
-    // 특정 포트폴리오의 모든 자산 조회
+    // 일괄 처리 한 번에 허용하는 최대 항목 수 (생성 + 수정 + 삭제)
+    @Value("${asset.bulk.max-items:10000}")
+    private int maxBulkItems;
+
+    // 페이지 조회 한 번에 허용하는 최대 항목 수
+    @Value("${api.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    // 특정 포트폴리오의 모든 자산 조회 (DTO 프로젝션 - 엔티티를 영속성 컨텍스트에 올리지 않음)
     @Transactional(readOnly = true)
     public List<AssetDto.AssetResponse> getAssetsByPortfolioId(Long portfolioId) {
-        List<Asset> assets = assetRepository.findByPortfolioId(portfolioId);
-        return assets.stream()
-                .map(AssetDto.AssetResponse::fromEntity)
-                .collect(Collectors.toList());
+        return assetRepository.findResponsesByPortfolioId(portfolioId);
+    }
+
+    // 자산 목록 키셋 페이지 (after: 이전 페이지의 nextCursor, 첫 페이지는 null)
+    @Transactional(readOnly = true)
+    public PageDto.CursorPage<AssetDto.AssetResponse> getAssetPage(Long userId, Long portfolioId, Long after, int limit) {
+        PageDto.checkLimit(limit, maxPageLimit);
+        List<AssetDto.AssetResponse> rows = assetRepository.findResponsesPage(userId, portfolioId,
+                after != null ? after : 0L, Limit.of(limit + 1));
+        return PageDto.CursorPage.of(rows, limit, AssetDto.AssetResponse::getId);
+    }
+
+    // 자산을 id 순으로 한 행씩 action에 전달 (전체 목록을 메모리에 올리지 않음, 스트림은 트랜잭션 안에서 닫음)
+    @Transactional(readOnly = true)
+    public void forEachAsset(Long userId, Long portfolioId, Consumer<AssetDto.AssetResponse> action) {
+        try (Stream<AssetDto.AssetResponse> assets = assetRepository.streamResponses(userId, portfolioId)) {
+            assets.forEach(action);
+        }
     }
 
     // 새 자산 추가
@@ -41,7 +82,7 @@ public class AssetService {
 
         // [★★★ DB 오류 해결: DTO 필드 유효성 최종 확인 ★★★]
         if (requestDto.getQuantity() == null || requestDto.getAvgBuyPrice() == null ||
-                requestDto.getQuantity() <= 0 || requestDto.getAvgBuyPrice() <= 0) {
+                requestDto.getQuantity().signum() <= 0 || requestDto.getAvgBuyPrice().signum() <= 0) {
             throw new IllegalArgumentException("수량과 매입 가격은 0보다 커야 합니다.");
         }
 
@@ -57,21 +98,120 @@ public class AssetService {
         // 3. 자산 저장
         Asset savedAsset = assetRepository.save(asset);
         portfolio.addAsset(savedAsset);
+        eventPublisher.publishEvent(AssetChangedEvent.created(portfolio.getUser().getUserId(), savedAsset));
 
         return AssetDto.AssetResponse.fromEntity(savedAsset);
     }
 
+    /**
+     * 자산 일괄 생성/수정/삭제 (한 트랜잭션, 하나라도 실패하면 전체 롤백)
+     * - 티커 검증은 요청에 나온 서로 다른 티커마다 한 번만 수행
+     * - 생성은 미리 할당된 ID(pooled 테이블 생성기)로 persist만 하고, 커밋 시 JDBC 배치 INSERT로 기록
+     * - 수정/삭제 대상은 ID 목록으로 한 번에 조회, 삭제는 IN 조건 DELETE 한 번
+     * - 보유 현황 갱신 이벤트는 AssetsBulkChangedEvent 하나로 발행
+     */
+    @Transactional
+    public AssetDto.AssetBulkResponse bulkAssets(Long userId, Long portfolioId, AssetDto.AssetBulkRequest requestDto) {
+        Portfolio portfolio = findOwnedPortfolio(userId, portfolioId);
+
+        List<AssetDto.AssetCreateRequest> creates = requestDto.getCreate() != null ? requestDto.getCreate() : List.of();
+        List<AssetDto.AssetBulkUpdateRequest> updates = requestDto.getUpdate() != null ? requestDto.getUpdate() : List.of();
+        List<Long> deletes = requestDto.getDelete() != null ? requestDto.getDelete() : List.of();
+        int total = creates.size() + updates.size() + deletes.size();
+        if (total > maxBulkItems) {
+            throw new IllegalArgumentException("Too many items in one request: " + total + " (max " + maxBulkItems + ")");
+        }
+
+        List<AssetChangedEvent.Holding> removed = new ArrayList<>();
+        List<AssetChangedEvent.Holding> added = new ArrayList<>();
+
+        // 1. 생성: 엔티티 단위 검증 후 서로 다른 티커만 한 번씩 확인
+        List<Asset> created = new ArrayList<>(creates.size());
+        for (AssetDto.AssetCreateRequest create : creates) {
+            created.add(create.toEntity(portfolio));
+        }
+        Map<String, String> names = new HashMap<>();
+        List<String> invalidTickers = new ArrayList<>();
+        for (Asset asset : created) {
+            if (!names.containsKey(asset.getTicker())) {
+                String name = findAssetNameByTicker(asset.getTicker());
+                names.put(asset.getTicker(), name);
+                if (name.equals("Unknown")) {
+                    invalidTickers.add(asset.getTicker());
+                }
+            }
+        }
+        if (!invalidTickers.isEmpty()) {
+            throw new IllegalArgumentException("지원하지 않거나 유효하지 않은 자산 티커입니다: " + invalidTickers
+                    + " (유효 티커: AAPL, BTC-USD, TSLA, 005930.KS)");
+        }
+        for (Asset asset : created) {
+            asset.setName(names.get(asset.getTicker()));
+            added.add(AssetChangedEvent.Holding.of(asset));
+        }
+        assetRepository.saveAll(created);
+
+        // 2. 수정
+        Map<Long, AssetDto.AssetBulkUpdateRequest> updatesById = new LinkedHashMap<>();
+        for (AssetDto.AssetBulkUpdateRequest update : updates) {
+            if (update.getId() == null || updatesById.put(update.getId(), update) != null) {
+                throw new IllegalArgumentException("Each update needs a distinct asset id");
+            }
+        }
+        Set<Long> deleteIds = new LinkedHashSet<>(deletes);
+        deleteIds.remove(null);
+        for (Long deleteId : deleteIds) {
+            if (updatesById.containsKey(deleteId)) {
+                throw new IllegalArgumentException("Asset " + deleteId + " is both updated and deleted");
+            }
+        }
+        List<Asset> updated = findOwnedAssets(portfolioId, updatesById.keySet());
+        for (Asset asset : updated) {
+            AssetDto.AssetBulkUpdateRequest update = updatesById.get(asset.getId());
+            removed.add(AssetChangedEvent.Holding.of(asset));
+            asset.updateAssetDetails(update.getName(), update.getQuantity(), update.getAvgBuyPrice());
+            added.add(AssetChangedEvent.Holding.of(asset));
+        }
+        // 원장이 있는 자산은 직접 바꾼 수량/단가를 재계산 기준점으로 저장
+        ledgerService.rebase(updated);
+
+        // 3. 삭제
+        for (Asset asset : findOwnedAssets(portfolioId, deleteIds)) {
+            removed.add(AssetChangedEvent.Holding.of(asset));
+        }
+        if (!deleteIds.isEmpty()) {
+            ledgerService.deleteLedger(deleteIds);
+            assetRepository.deleteAllByIdInBatch(deleteIds);
+        }
+
+        eventPublisher.publishEvent(new AssetsBulkChangedEvent(userId, portfolioId, removed, added));
+        log.info("📦 자산 일괄 처리 - portfolioId: {}, 생성 {}개, 수정 {}개, 삭제 {}개 (티커 {}종 확인)",
+                portfolioId, created.size(), updatesById.size(), deleteIds.size(), names.size());
+
+        List<AssetDto.AssetResponse> responses = new ArrayList<>(created.size());
+        for (Asset asset : created) {
+            responses.add(AssetDto.AssetResponse.fromEntity(asset));
+        }
+        return new AssetDto.AssetBulkResponse(responses, updatesById.size(), deleteIds.size());
+    }
+
     // 자산 정보 수정
     @Transactional
     public AssetDto.AssetResponse updateAsset(Long assetId, AssetDto.AssetUpdateRequest requestDto) {
         Asset asset = assetRepository.findById(assetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + assetId));
 
+        AssetChangedEvent.Holding before = AssetChangedEvent.Holding.of(asset);
         asset.updateAssetDetails(requestDto.getName(), requestDto.getQuantity(), requestDto.getAvgBuyPrice());
+        // 원장이 있는 자산은 직접 바꾼 수량/단가를 재계산 기준점으로 저장
+        if (!asset.getQuantity().equals(before.getQuantity()) || !asset.getAvgBuyPrice().equals(before.getAvgBuyPrice())) {
+            ledgerService.rebase(List.of(asset));
+        }
 
         if (requestDto.getTicker() != null && !requestDto.getTicker().equals(asset.getTicker())) {
             asset.setName(findAssetNameByTicker(requestDto.getTicker()));
         }
+        eventPublisher.publishEvent(AssetChangedEvent.updated(asset.getPortfolio().getUser().getUserId(), before, asset));
 
         return AssetDto.AssetResponse.fromEntity(asset);
     }
@@ -82,9 +222,57 @@ public class AssetService {
         Asset asset = assetRepository.findById(assetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + assetId));
 
+        eventPublisher.publishEvent(AssetChangedEvent.deleted(asset.getPortfolio().getUser().getUserId(), asset));
+        ledgerService.deleteLedger(List.of(assetId));
         assetRepository.delete(asset);
     }
 
+    // 사용자의 포트폴리오인지 확인 (아니면 ResourceNotFoundException) - 비동기 가져오기 시작 전 검증용
+    @Transactional(readOnly = true)
+    public void checkPortfolioOwner(Long userId, Long portfolioId) {
+        findOwnedPortfolio(userId, portfolioId);
+    }
+
+    // 지원하지 않는 티커만 골라냄 (서로 다른 티커마다 한 번씩 확인)
+    public Set<String> findUnsupportedTickers(Collection<String> tickers) {
+        Set<String> unsupported = new HashSet<>();
+        for (String ticker : new HashSet<>(tickers)) {
+            if (findAssetNameByTicker(ticker).equals("Unknown")) {
+                unsupported.add(ticker);
+            }
+        }
+        return unsupported;
+    }
+
+    private Portfolio findOwnedPortfolio(Long userId, Long portfolioId) {
+        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with id: " + portfolioId));
+        if (!portfolio.getUser().getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("Portfolio not found with id: " + portfolioId);
+        }
+        return portfolio;
+    }
+
+    // ID 목록의 자산을 한 번에 조회 (하나라도 없거나 다른 포트폴리오의 자산이면 ResourceNotFoundException)
+    private List<Asset> findOwnedAssets(Long portfolioId, Collection<Long> assetIds) {
+        if (assetIds.isEmpty()) {
+            return List.of();
+        }
+        List<Asset> assets = assetRepository.findAllById(assetIds);
+        Set<Long> found = new HashSet<>();
+        for (Asset asset : assets) {
+            if (asset.getPortfolio().getId().equals(portfolioId)) {
+                found.add(asset.getId());
+            }
+        }
+        for (Long assetId : assetIds) {
+            if (!found.contains(assetId)) {
+                throw new ResourceNotFoundException("Asset not found with id: " + assetId);
+            }
+        }
+        return assets;
+    }
+
     // TODO: 자산 이름 조회 로직 (임시) - FastAPI 연동 후 실시간 조회로 대체
     private String findAssetNameByTicker(String ticker) {
         if (ticker == null) return "Unknown";
@@ -0,0 +1,190 @@
+package com.mystockfolio.backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 증권사 보유 종목 CSV 내보내기 파일을 한 행씩 읽는 리더 (파일 전체를 메모리에 올리지 않음)
+ * - 첫 줄은 헤더: 열 이름은 대소문자/공백/밑줄을 무시하고 별칭으로 찾음 (ticker/symbol/종목코드, quantity/shares/수량 등)
+ * - 필수 열: 티커, 수량, 평균 매입가 / 선택 열: 자산 유형, 종목명
+ * - 큰따옴표로 감싼 필드와 "" 이스케이프 지원 (필드 안 줄바꿈은 지원하지 않음), UTF-8 BOM 무시
+ */
+public final class BrokerCsvReader implements Closeable {
+
+    private static final String[] TICKER_ALIASES = {"ticker", "symbol", "code", "종목코드", "티커"};
+    private static final String[] QUANTITY_ALIASES = {"quantity", "qty", "shares", "units", "수량", "보유수량"};
+    private static final String[] PRICE_ALIASES = {"avgbuyprice", "averageprice", "avgprice", "averagecost", "costbasispershare",
+            "price", "평균단가", "매입단가", "매입가"};
+    private static final String[] TYPE_ALIASES = {"assettype", "type", "자산유형"};
+    private static final String[] NAME_ALIASES = {"name", "description", "종목명"};
+
+    private final BufferedReader reader;
+    private final int tickerColumn;
+    private final int quantityColumn;
+    private final int priceColumn;
+    private final int typeColumn;
+    private final int nameColumn;
+    private final List<String> fields = new ArrayList<>();
+    private long lineNumber;
+
+    public BrokerCsvReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String header = this.reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        lineNumber = 1;
+        if (!header.isEmpty() && header.charAt(0) == '﻿') {
+            header = header.substring(1);
+        }
+        List<String> columns = new ArrayList<>();
+        split(header, columns);
+        for (int i = 0; i < columns.size(); i++) {
+            columns.set(i, normalizeHeader(columns.get(i)));
+        }
+        this.tickerColumn = requireColumn(columns, TICKER_ALIASES, "ticker");
+        this.quantityColumn = requireColumn(columns, QUANTITY_ALIASES, "quantity");
+        this.priceColumn = requireColumn(columns, PRICE_ALIASES, "avgBuyPrice");
+        this.typeColumn = findColumn(columns, TYPE_ALIASES);
+        this.nameColumn = findColumn(columns, NAME_ALIASES);
+    }
+
+    /**
+     * 다음 데이터 행 (빈 줄은 건너뜀, 파일 끝이면 null)
+     */
+    public Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            split(line, fields);
+            return new Row(lineNumber, field(tickerColumn), field(quantityColumn), field(priceColumn),
+                    field(typeColumn), field(nameColumn));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // CSV 한 줄 -> 필드 목록 (out을 비우고 다시 채움)
+    static void split(String line, List<String> out) {
+        out.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        out.add(field.toString());
+    }
+
+    private static String normalizeHeader(String column) {
+        StringBuilder normalized = new StringBuilder(column.length());
+        for (int i = 0; i < column.length(); i++) {
+            char c = column.charAt(i);
+            if (c != ' ' && c != '_' && c != '-' && c != '.') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static int findColumn(List<String> columns, String[] aliases) {
+        for (String alias : aliases) {
+            int index = columns.indexOf(alias);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int requireColumn(List<String> columns, String[] aliases, String name) {
+        int index = findColumn(columns, aliases);
+        if (index < 0) {
+            throw new IllegalArgumentException("CSV header has no " + name + " column (accepted: " + String.join(", ", aliases) + ")");
+        }
+        return index;
+    }
+
+    /**
+     * CSV 데이터 행 하나 (값은 앞뒤 공백 제거, 비어 있으면 null)
+     */
+    public static final class Row {
+        private final long lineNumber;
+        private final String ticker;
+        private final String quantity;
+        private final String avgBuyPrice;
+        private final String assetType;
+        private final String name;
+
+        Row(long lineNumber, String ticker, String quantity, String avgBuyPrice, String assetType, String name) {
+            this.lineNumber = lineNumber;
+            this.ticker = ticker;
+            this.quantity = quantity;
+            this.avgBuyPrice = avgBuyPrice;
+            this.assetType = assetType;
+            this.name = name;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getTicker() {
+            return ticker;
+        }
+
+        public String getQuantity() {
+            return quantity;
+        }
+
+        public String getAvgBuyPrice() {
+            return avgBuyPrice;
+        }
+
+        public String getAssetType() {
+            return assetType;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
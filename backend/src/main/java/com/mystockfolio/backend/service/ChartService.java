@@ -0,0 +1,96 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.market.Lttb;
+import com.mystockfolio.backend.market.PriceHistoryStore;
+import com.mystockfolio.backend.util.CacheEviction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class ChartService {
+
+    private final PriceHistoryStore priceHistoryStore;
+    private final int maxCachedCharts;
+
+    // (ticker, period, points) -> 다운샘플링된 차트 (원본 이력이 바뀌면 version 불일치로 다시 계산)
+    private final ConcurrentHashMap<String, CachedChart> downsampled = new ConcurrentHashMap<>();
+
+    public ChartService(PriceHistoryStore priceHistoryStore,
+                        @Value("${market.chart.max-cached:5000}") int maxCachedCharts) {
+        this.priceHistoryStore = priceHistoryStore;
+        this.maxCachedCharts = maxCachedCharts;
+    }
+
+    /**
+     * 기간별 차트 조회. points가 주어지면 LTTB로 최대 points개 점까지 줄여서 응답
+     */
+    public MarketDataDto.ChartResponse getChart(String ticker, String period, Integer points) {
+        PriceHistoryStore.Slice history = priceHistoryStore.getHistory(ticker, period);
+        if (points == null || points >= history.length()) {
+            return new MarketDataDto.ChartResponse(ticker, history.toChartPoints());
+        }
+        if (points < 3) {
+            throw new IllegalArgumentException("points must be at least 3");
+        }
+
+        String key = ticker + "|" + period + "|" + points;
+        long version = versionOf(history);
+        CachedChart cached = downsampled.get(key);
+        if (cached != null && cached.version == version) {
+            cached.lastAccess = System.currentTimeMillis();
+            return cached.response;
+        }
+
+        int[] days = new int[points];
+        double[] closes = new double[points];
+        int n = Lttb.downsample(history, points, days, closes);
+        List<MarketDataDto.ChartPoint> chartPoints = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            chartPoints.add(new MarketDataDto.ChartPoint(LocalDate.ofEpochDay(days[i]).toString(), closes[i]));
+        }
+        MarketDataDto.ChartResponse response = new MarketDataDto.ChartResponse(ticker, chartPoints);
+
+        evictIfNeeded();
+        downsampled.put(key, new CachedChart(version, response));
+        log.debug("차트 다운샘플링 - {} ({}): {}개 -> {}개", ticker, period, history.length(), n);
+        return response;
+    }
+
+    // 최대 개수에 도달하면 오래 사용되지 않은 차트부터 제거 (최대 개수의 90%까지, 표본 기반 근사)
+    private void evictIfNeeded() {
+        if (downsampled.size() < maxCachedCharts) {
+            return;
+        }
+        CacheEviction.evict(downsampled, (int) (maxCachedCharts * 0.9), chart -> chart.lastAccess);
+    }
+
+    // 원본 구간의 길이, 마지막 날짜, 마지막 종가가 같으면 같은 결과
+    private static long versionOf(PriceHistoryStore.Slice history) {
+        int n = history.length();
+        if (n == 0) {
+            return 0;
+        }
+        long version = ((long) history.dayAt(n - 1) << 32) ^ n;
+        return version * 31 + Double.hashCode(history.closeAt(n - 1));
+    }
+
+    private static final class CachedChart {
+        private final long version;
+        private final MarketDataDto.ChartResponse response;
+        private volatile long lastAccess;
+
+        private CachedChart(long version, MarketDataDto.ChartResponse response) {
+            this.version = version;
+            this.response = response;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -1,144 +1,282 @@
 package com.mystockfolio.backend.service;
 
-import com.mystockfolio.backend.domain.entity.Asset;
 import com.mystockfolio.backend.domain.entity.AssetType;
-import com.mystockfolio.backend.domain.entity.Portfolio;
+import com.mystockfolio.backend.domain.entity.User;
 import com.mystockfolio.backend.dto.DashboardDto;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.dto.PortfolioDto;
+import com.mystockfolio.backend.exception.ResourceNotFoundException;
+import com.mystockfolio.backend.market.FxRates;
+import com.mystockfolio.backend.market.PriceStreamHub;
+import com.mystockfolio.backend.market.QuoteCache;
+import com.mystockfolio.backend.repository.AssetRepository;
 import com.mystockfolio.backend.repository.PortfolioRepository;
+import com.mystockfolio.backend.repository.UserRepository;
+import com.mystockfolio.backend.util.Decimal8;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
+    private final UserHoldingsCache userHoldingsCache;
+    private final PortfolioValueSeries portfolioValueSeries;
+    private final UserResponseCache userResponseCache;
+    private final QuoteCache quoteCache;
+    private final PriceStreamHub priceStreamHub;
+    private final FxRates fxRates;
+    private final UserRepository userRepository;
     private final PortfolioRepository portfolioRepository;
+    private final AssetRepository assetRepository;
 
-    // 사용자의 포트폴리오 통계 계산 (동기 방식으로 간소화)
-    @Transactional(readOnly = true)
-    public DashboardDto.PortfolioStatsResponse getPortfolioStats(Long userId) {
-        log.info("📊 대시보드 통계 조회 시작 - userId: {}", userId);
-        
-        // 1. 사용자 ID로 모든 포트폴리오 조회 (자산 포함 - JOIN FETCH)
-        List<Portfolio> portfolios = portfolioRepository.findByUserIdWithAssets(userId);
-        log.info("📁 포트폴리오 개수: {}", portfolios.size());
-        
-        // 각 포트폴리오의 자산 개수 로깅
-        for (Portfolio portfolio : portfolios) {
-            log.info("  - 포트폴리오 '{}' (ID: {}): 자산 {}개", 
-                portfolio.getName(), portfolio.getId(), portfolio.getAssets().size());
-            for (Asset asset : portfolio.getAssets()) {
-                log.info("    • {} ({}) - {}개 @ ₩{}", 
-                    asset.getName(), asset.getTicker(), asset.getQuantity(), asset.getAvgBuyPrice());
-            }
-        }
-        
-        // 2. 통계 계산
-        DashboardDto.PortfolioStatsResponse response = calculateStats(portfolios);
-        log.info("💰 계산된 통계 - 총 자산: ₩{}, 수익률: {}%, 자산 배분 항목: {}개", 
-            response.getTotalMarketValue(), response.getTotalReturnRate(), 
+    // 캐시에 없는 시세 조회에 허용하는 지연 시간 (요청 단위 예산, 밀리초)
+    @Value("${dashboard.price.timeout-ms:1500}")
+    private long priceTimeoutMs;
+
+    // 포트폴리오별 통계 한 번에 요청할 수 있는 최대 포트폴리오 수
+    @Value("${dashboard.portfolio-stats.max-ids:50}")
+    private int maxPortfolioIds;
+
+    // 사용자의 포트폴리오 통계 계산
+    // 보유 현황은 메모리 집계(UserHoldingsCache)를 사용하므로 집계가 준비된 사용자는 DB 조회 없이 시세만 곱함
+    // period: 평가액 추이 기간 (7d, 1mo, 1y, max 등)
+    // currency: 금액 환산 기준 통화 (null이면 사용자 설정값)
+    public DashboardDto.PortfolioStatsResponse getPortfolioStats(Long userId, String period, String currency) {
+        log.info("📊 대시보드 통계 조회 시작 - userId: {}, period: {}, currency: {}", userId, period, currency);
+
+        // 1. 사용자의 티커별 보유 수량/원가 (캐시에 없으면 DB에서 한 번 집계)
+        UserHoldingsCache.UserHoldings holdings = userHoldingsCache.get(userId);
+        long priceEpoch = quoteCache.priceEpoch(holdings.getPositions().keySet());
+        log.info("📁 보유 티커: {}개 (version {}, price epoch {})",
+            holdings.getPositions().size(), holdings.getVersion(), priceEpoch);
+
+        // 기준 통화와 환율 스냅샷은 요청 시작 시 한 번만 정함 (요청 도중 환율이 갱신되어도 같은 스냅샷으로 계산)
+        String baseCurrency = currency != null ? fxRates.requireSupported(currency) : holdings.getBaseCurrency();
+        int baseId = Math.max(fxRates.idOf(baseCurrency), 0);
+        FxRates.Snapshot fx = fxRates.snapshot();
+
+        // 보유 현황, 시세, 환율, 평가액 추이가 모두 그대로면 직전 응답을 재사용
+        // 추이가 캐시되어 있지 않으면(만료, 계산 중, 조회 실패) seriesEpoch가 -1이라 이번 응답은 캐시하지 않음
+        String kind = "stats|" + period + "|" + fx.code(baseId) + "@" + fx.getFetchedAt();
+        long seriesEpoch = portfolioValueSeries.seriesEpoch(userId, period, fx.code(baseId), holdings.getVersion());
+        DashboardDto.PortfolioStatsResponse response = userResponseCache.get(kind, userId,
+                holdings.getVersion(), priceEpoch, seriesEpoch, () -> calculateStats(userId, period, holdings, fx, baseId));
+        log.debug("🗂️ 응답 캐시 적중률: {} (hit: {}, miss: {})",
+            userResponseCache.getHitRatio(), userResponseCache.getHitCount(), userResponseCache.getMissCount());
+        log.info("💰 계산된 통계 - 총 자산: {} {}, 수익률: {}%, 자산 배분 항목: {}개", 
+            response.getTotalMarketValue(), baseCurrency, response.getTotalReturnRate(), 
             response.getAssetAllocations() != null ? response.getAssetAllocations().size() : 0);
         
         return response;
     }
 
-    // 통계 계산 로직 (실제 자산 데이터 기반)
-    private DashboardDto.PortfolioStatsResponse calculateStats(List<Portfolio> portfolios) {
+    // 사용자가 보유한 티커의 실시간 시세 스트림 (현재 캐시된 시세를 먼저 보낸 뒤 갱신분을 이어서 전달)
+    public Flux<MarketDataDto.PriceResponse> streamPrices(Long userId) {
+        List<String> tickers = new ArrayList<>(userHoldingsCache.get(userId).getPositions().keySet());
+        log.info("📡 시세 스트림 구독 - userId: {}, 티커 {}개", userId, tickers.size());
+
+        List<MarketDataDto.PriceResponse> initial = new ArrayList<>();
+        for (String ticker : tickers) {
+            MarketDataDto.PriceResponse quote = quoteCache.peek(ticker);
+            if (quote != null) {
+                initial.add(quote);
+            }
+        }
+        return Flux.concat(Flux.fromIterable(initial), priceStreamHub.subscribe(tickers));
+    }
+
+    /**
+     * 요청한 포트폴리오들의 통계 (평가액, 수익률, 자산 배분). 요청 순서대로, 중복 ID는 한 번만
+     * 요청한 포트폴리오의 자산만 조회하므로 포트폴리오가 많은 사용자도 비용은 요청한 만큼만 듦
+     * 다른 사용자의 포트폴리오이거나 없는 ID가 섞여 있으면 ResourceNotFoundException
+     */
+    public List<PortfolioDto.PortfolioStatsResponse> getPortfolioStats(Long userId, List<Long> portfolioIds, String currency) {
+        List<Long> ids = portfolioIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty() || ids.size() > maxPortfolioIds) {
+            throw new IllegalArgumentException("Between 1 and " + maxPortfolioIds + " portfolio ids are required");
+        }
+        log.info("📊 포트폴리오별 통계 조회 - userId: {}, portfolioIds: {}", userId, ids);
+
+        // version/시세 epoch/기준 통화는 사용자 집계 스냅샷 기준 (요청한 포트폴리오의 티커는 사용자 보유 티커의 부분집합)
+        UserHoldingsCache.UserHoldings holdings = userHoldingsCache.get(userId);
+        long priceEpoch = quoteCache.priceEpoch(holdings.getPositions().keySet());
+        String baseCurrency = currency != null ? fxRates.requireSupported(currency) : holdings.getBaseCurrency();
+        int baseId = Math.max(fxRates.idOf(baseCurrency), 0);
+        FxRates.Snapshot fx = fxRates.snapshot();
+
+        // 캐시 키는 정렬한 ID 목록 (순서만 다른 요청은 같은 응답을 공유), 응답은 요청 순서로 다시 배열
+        List<Long> sortedIds = ids.stream().sorted().collect(Collectors.toList());
+        String kind = "portfolio-stats|" + sortedIds + "|" + fx.code(baseId) + "@" + fx.getFetchedAt();
+        List<PortfolioDto.PortfolioStatsResponse> stats = userResponseCache.get(kind, userId, holdings.getVersion(), priceEpoch,
+                () -> calculatePortfolioStats(userId, sortedIds, fx, baseId));
+
+        Map<Long, PortfolioDto.PortfolioStatsResponse> byId = new HashMap<>();
+        for (PortfolioDto.PortfolioStatsResponse response : stats) {
+            byId.put(response.getId(), response);
+        }
+        List<PortfolioDto.PortfolioStatsResponse> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ordered.add(byId.get(id));
+        }
+        return ordered;
+    }
+
+    // 사용자의 대시보드 기준 통화 변경 (지원하지 않는 통화면 IllegalArgumentException)
+    // 트랜잭션을 열지 않음: save가 커밋된 뒤에 evict해야 동시에 진행 중인 집계가 이전 통화를 남기지 않음
+    public DashboardDto.BaseCurrencyResponse updateBaseCurrency(Long userId, String currency) {
+        String code = fxRates.requireSupported(currency);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        user.updateBaseCurrency(code);
+        userRepository.save(user);
+
+        // 저장(커밋) 후 슬롯을 제거 -> 다음 조회에서 새 기준 통화와 새 version으로 다시 집계
+        userHoldingsCache.evict(userId);
+        log.info("💱 기준 통화 변경 - userId: {}, currency: {}", userId, code);
+        return new DashboardDto.BaseCurrencyResponse(code, fxRates.supportedCurrencies());
+    }
+
+    // 통계 계산 로직 (티커별 합산 보유분 x 현재가 x 환율, O(보유 티커 수))
+    // 집계는 PortfolioStatsKernel이 원시 배열 위에서 수행 (보유 종목당 박싱/할당 없음)
+    private DashboardDto.PortfolioStatsResponse calculateStats(Long userId, String period,
+                                                               UserHoldingsCache.UserHoldings holdings,
+                                                               FxRates.Snapshot fx, int baseId) {
         log.info("🧮 통계 계산 시작");
-        double totalInitialInvestment = 0.0;
-        double totalMarketValue = 0.0;
-        
-        // 자산 유형별 시장 가치 집계 (Pie Chart용)
-        Map<AssetType, Double> assetTypeMarketValues = new HashMap<>();
-        
-        // 모든 포트폴리오의 모든 자산 순회
-        int totalAssetCount = 0;
-        for (Portfolio portfolio : portfolios) {
-            for (Asset asset : portfolio.getAssets()) {
-                totalAssetCount++;
-                // 초기 투자금 계산
-                double investmentValue = asset.getQuantity() * asset.getAvgBuyPrice();
-                totalInitialInvestment += investmentValue;
-                
-                // 현재 시장 가치 계산
-                // TODO: 실제 시장 가격은 MarketDataService에서 가져와야 함
-                // 임시로 avgBuyPrice를 현재 가격으로 사용 (또는 더미 배율 적용)
-                double currentPrice = getCurrentPrice(asset); // 임시 구현
-                double marketValue = asset.getQuantity() * currentPrice;
-                totalMarketValue += marketValue;
-                
-                log.debug("  자산: {} ({}) - 투자금: ₩{}, 현재가치: ₩{}", 
-                    asset.getName(), asset.getAssetType(), investmentValue, marketValue);
-                
-                // 자산 유형별 집계
-                assetTypeMarketValues.merge(asset.getAssetType(), marketValue, Double::sum);
+        long startedAt = System.currentTimeMillis();
+
+        // 1. 보유 중인 티커의 현재가를 한 번에 조회 (시세 캐시 경유) - 티커 id 순서의 배열로 펼침
+        //    거래 통화도 이 시점에 통화 id로 바꿔 두어 이후 환산은 배열 인덱싱만 수행
+        Map<String, MarketDataDto.PriceResponse> currentPrices = fetchCurrentPrices(holdings.tickerTypes());
+        int n = holdings.size();
+        int[] currencyIds = new int[n];
+        long[] prices = pricesOf(holdings, currentPrices, currencyIds);
+
+        // 2. 기간별 평가액 추이 (Line Chart) - 시세 조회 후 남은 예산만큼만 기다림 (넘기면 이전/부분 추이)
+        double[] toBase = fx.toBase(baseId);
+        String baseCurrency = fx.code(baseId);
+        Duration seriesBudget = Duration.ofMillis(priceTimeoutMs - (System.currentTimeMillis() - startedAt));
+        List<MarketDataDto.ChartPoint> timeSeries = portfolioValueSeries.getSeries(userId, period, holdings,
+                baseCurrency, currencyIds, toBase, seriesBudget);
+
+        // 3. 통계 계산 (기준 통화 환산)
+        PortfolioStatsKernel.Totals totals = new PortfolioStatsKernel.Totals();
+        PortfolioStatsKernel.accumulate(n, holdings.typeOrdinals(), holdings.quantities(), holdings.costs(),
+                holdings.wideCosts(), prices, currencyIds, toBase, totals);
+        DashboardDto.PortfolioStatsResponse response = PortfolioStatsKernel.toResponse(totals, baseCurrency, timeSeries);
+
+        log.info("💼 보유 티커 개수: {} (기준 통화 {})", n, baseCurrency);
+        log.info("💰 총 투자금: {} {}, 총 시장가치: {} {}",
+            response.getTotalInitialInvestment(), baseCurrency, response.getTotalMarketValue(), baseCurrency);
+        log.info("📈 손익: {} {}, 수익률: {}%", response.getTotalGainLoss(), baseCurrency, response.getTotalReturnRate());
+        for (DashboardDto.AssetAllocation allocation : response.getAssetAllocations()) {
+            log.info("📊 자산 배분 - {}: {} {} ({}%)",
+                allocation.getAssetType(), allocation.getValue(), baseCurrency, allocation.getPercentage());
+        }
+        log.info("✅ 통계 계산 완료 - 자산 배분 항목: {}개", response.getAssetAllocations().size());
+        return response;
+    }
+
+    // 요청한 포트폴리오들의 보유분만 DB에서 (포트폴리오, 티커) 단위로 합산한 뒤, 시세는 한 번에 조회하여 포트폴리오별로 평가
+    private List<PortfolioDto.PortfolioStatsResponse> calculatePortfolioStats(Long userId, List<Long> portfolioIds,
+                                                                              FxRates.Snapshot fx, int baseId) {
+        Map<Long, String> names = new HashMap<>();
+        for (PortfolioRepository.PortfolioSummary portfolio : portfolioRepository.findSummariesByUserIdAndIdIn(userId, portfolioIds)) {
+            names.put(portfolio.getId(), portfolio.getName());
+        }
+        Map<Long, Map<String, UserHoldingsCache.Position>> positions = new LinkedHashMap<>();
+        for (Long portfolioId : portfolioIds) {
+            if (!names.containsKey(portfolioId)) {
+                throw new ResourceNotFoundException("Portfolio not found with id: " + portfolioId);
             }
+            positions.put(portfolioId, new LinkedHashMap<>());
         }
-        
-        log.info("💼 총 자산 개수: {}", totalAssetCount);
-        log.info("💰 총 투자금: ₩{}, 총 시장가치: ₩{}", totalInitialInvestment, totalMarketValue);
-        
-        // 손익 및 수익률 계산
-        double totalGainLoss = totalMarketValue - totalInitialInvestment;
-        double totalReturnRate = (totalInitialInvestment > 0) 
-            ? (totalGainLoss / totalInitialInvestment) * 100.0 
-            : 0.0;
-        
-        log.info("📈 손익: ₩{}, 수익률: {}%", totalGainLoss, totalReturnRate);
-        
-        // 자산 배분 리스트 생성 (Pie Chart용)
-        List<DashboardDto.AssetAllocation> assetAllocations = new ArrayList<>();
-        for (Map.Entry<AssetType, Double> entry : assetTypeMarketValues.entrySet()) {
-            double percentage = (totalMarketValue > 0) 
-                ? (entry.getValue() / totalMarketValue) * 100.0 
-                : 0.0;
-            
-            DashboardDto.AssetAllocation allocation = DashboardDto.AssetAllocation.builder()
-                    .assetType(entry.getKey().name())
-                    .value(entry.getValue())
-                    .percentage(percentage)
-                    .build();
-            assetAllocations.add(allocation);
-            
-            log.info("📊 자산 배분 - {}: ₩{} ({}%)", 
-                entry.getKey().name(), entry.getValue(), percentage);
+
+        Map<String, AssetType> tickerTypes = new HashMap<>();
+        for (AssetRepository.PortfolioHoldingSummary row : assetRepository.summarizeHoldingsByPortfolioIds(userId, portfolioIds)) {
+            positions.get(row.getPortfolioId())
+                    .merge(row.getTicker(), UserHoldingsCache.Position.of(row), UserHoldingsCache.Position::plus);
+            tickerTypes.putIfAbsent(row.getTicker(), row.getAssetType());
         }
-        
-        log.info("✅ 통계 계산 완료 - 자산 배분 항목: {}개", assetAllocations.size());
-        
-        return DashboardDto.PortfolioStatsResponse.builder()
-                .totalMarketValue(totalMarketValue)
-                .totalInitialInvestment(totalInitialInvestment)
-                .totalGainLoss(totalGainLoss)
-                .totalReturnRate(totalReturnRate)
-                .assetAllocations(assetAllocations)
-                .build();
+        Map<String, MarketDataDto.PriceResponse> currentPrices = fetchCurrentPrices(tickerTypes);
+
+        double[] toBase = fx.toBase(baseId);
+        String baseCurrency = fx.code(baseId);
+        PortfolioStatsKernel.Totals totals = new PortfolioStatsKernel.Totals();
+        List<PortfolioDto.PortfolioStatsResponse> responses = new ArrayList<>(portfolioIds.size());
+        for (Map.Entry<Long, Map<String, UserHoldingsCache.Position>> portfolio : positions.entrySet()) {
+            UserHoldingsCache.UserHoldings holdings = new UserHoldingsCache.UserHoldings(portfolio.getValue(), baseCurrency, 0L);
+            int n = holdings.size();
+            int[] currencyIds = new int[n];
+            long[] prices = pricesOf(holdings, currentPrices, currencyIds);
+
+            totals.reset();
+            PortfolioStatsKernel.accumulate(n, holdings.typeOrdinals(), holdings.quantities(), holdings.costs(),
+                    holdings.wideCosts(), prices, currencyIds, toBase, totals);
+            responses.add(new PortfolioDto.PortfolioStatsResponse(portfolio.getKey(), names.get(portfolio.getKey()),
+                    PortfolioStatsKernel.toResponse(totals, baseCurrency, null)));
+        }
+        log.info("✅ 포트폴리오별 통계 계산 완료 - userId: {}, 포트폴리오 {}개, 티커 {}개",
+                userId, responses.size(), tickerTypes.size());
+        return responses;
+    }
+
+    // 티커 id 순서의 현재가 배열 (시세가 없으면 NO_PRICE), 거래 통화 id는 currencyIds에 채움
+    // 통화 코드는 여기서 한 번만 id로 바꿔 두어 이후 환산은 배열 인덱싱만 수행
+    private long[] pricesOf(UserHoldingsCache.UserHoldings holdings, Map<String, MarketDataDto.PriceResponse> currentPrices,
+                            int[] currencyIds) {
+        int n = holdings.size();
+        long[] prices = new long[n];
+        for (int i = 0; i < n; i++) {
+            MarketDataDto.PriceResponse quote = currentPrices.get(holdings.tickerAt(i));
+            currencyIds[i] = fxRates.currencyIdOf(holdings.tickerAt(i), quote != null ? quote.getCurrency() : null);
+            if (quote != null && fitsDecimal8(quote.getPrice())) {
+                prices[i] = Decimal8.unitsOf(quote.getPrice());
+            } else {
+                // 시세 없음(또는 범위 밖) -> 커널에서 매입 원가로 대체
+                log.warn("⚠️ 시세 없음 - {}: 평균 매입가로 대체", holdings.tickerAt(i));
+                prices[i] = PortfolioStatsKernel.NO_PRICE;
+            }
+        }
+        return prices;
+    }
+
+    // 외부 시세가 Decimal8 범위 밖이면 (비정상 값) 그 종목만 시세 없음으로 처리 - 대시보드 전체를 실패시키지 않음
+    private static boolean fitsDecimal8(double price) {
+        return Double.isFinite(price) && Math.abs(price) < Long.MAX_VALUE / (double) Decimal8.ONE;
     }
     
-    // 자산의 현재 시장 가격 조회 (임시 구현)
-    private double getCurrentPrice(Asset asset) {
-        // TODO: MarketDataService를 통해 실제 시장 가격 조회
-        // 임시로 더미 가격 반환:
-        // - 주식(STOCK): avgBuyPrice * 1.2 (20% 상승 시뮬레이션)
-        // - 코인(COIN): avgBuyPrice * 2.5 (150% 상승 시뮬레이션)
-        // - 스테이블코인(STABLECOIN): avgBuyPrice (가격 고정)
-        // - 기타: avgBuyPrice * 1.5 (50% 상승 시뮬레이션)
-        
-        return switch (asset.getAssetType()) {
-            case STOCK -> asset.getAvgBuyPrice() * 1.2;
-            case COIN -> asset.getAvgBuyPrice() * 2.5;
-            case STABLECOIN -> asset.getAvgBuyPrice();
-            case DEFI -> asset.getAvgBuyPrice() * 1.8;
-            case NFT -> asset.getAvgBuyPrice() * 0.7;
-            case OTHER -> asset.getAvgBuyPrice() * 1.5;
-        };
+    // 티커 목록의 현재가 조회 (요청 단위 지연 예산 내에서)
+    // - 캐시에 있는 티커는 만료되었더라도 즉시 마지막 시세로 응답 (갱신은 백그라운드)
+    // - 캐시에 없는 티커만 일괄 조회하며, 예산을 넘기면 결과에서 빠짐
+    private Map<String, MarketDataDto.PriceResponse> fetchCurrentPrices(Map<String, AssetType> tickers) {
+        if (tickers.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, MarketDataDto.PriceResponse> prices = quoteCache
+                .getPrices(tickers, Duration.ofMillis(priceTimeoutMs))
+                .block();
+
+        if (prices == null) {
+            prices = Map.of();
+        }
+        log.info("💹 시세 조회 완료 - 요청 {}개, 성공 {}개 (캐시 hit: {}, stale: {}, miss: {})",
+                tickers.size(), prices.size(),
+                quoteCache.getHitCount(), quoteCache.getStaleHitCount(), quoteCache.getMissCount());
+        return prices;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,241 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.Asset;
+import com.mystockfolio.backend.domain.entity.AssetTransaction;
+import com.mystockfolio.backend.domain.entity.PositionSnapshot;
+import com.mystockfolio.backend.domain.entity.TransactionType;
+import com.mystockfolio.backend.domain.event.AssetChangedEvent;
+import com.mystockfolio.backend.dto.PageDto;
+import com.mystockfolio.backend.dto.TaxDto;
+import com.mystockfolio.backend.dto.TransactionDto;
+import com.mystockfolio.backend.exception.ResourceNotFoundException;
+import com.mystockfolio.backend.repository.AssetRepository;
+import com.mystockfolio.backend.repository.AssetTransactionRepository;
+import com.mystockfolio.backend.repository.PositionSnapshotRepository;
+import com.mystockfolio.backend.util.Decimal8;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 거래 원장(transactions)과 자산 포지션 관리
+ * - 거래는 추가만 함 (수정/삭제 API 없음), 기록과 동시에 PositionEngine으로 자산의 수량/평균 단가/실현 손익을 증분 갱신
+ * - 거래 N건마다 포지션 스냅샷을 남겨, 재계산은 마지막 스냅샷 이후의 거래만 다시 적용 (원장 전체를 읽지 않음)
+ * - 같은 자산의 거래는 자산 행 잠금(FOR UPDATE)으로 순서대로 반영
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+
+    private final AssetRepository assetRepository;
+    private final AssetTransactionRepository transactionRepository;
+    private final PositionSnapshotRepository snapshotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 거래 몇 건마다 포지션 스냅샷을 남길지 (재계산 시 다시 적용하는 거래 수의 상한)
+    @Value("${ledger.snapshot-interval:100}")
+    private int snapshotInterval;
+
+    // 페이지 조회 한 번에 허용하는 최대 항목 수
+    @Value("${api.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    /**
+     * 거래를 원장에 추가하고 자산 포지션에 반영합니다.
+     */
+    @Transactional
+    public TransactionDto.TransactionRecordResponse recordTransaction(Long userId, Long portfolioId, Long assetId,
+                                                                      TransactionDto.TransactionCreateRequest requestDto) {
+        if (requestDto.getTransactionType() == null || requestDto.getQuantity() == null || requestDto.getPricePerUnit() == null) {
+            throw new IllegalArgumentException("transactionType, quantity and pricePerUnit are required");
+        }
+        TransactionType type = parseType(requestDto.getTransactionType());
+        Asset asset = findOwnedAssetForUpdate(userId, portfolioId, assetId);
+
+        // 원장 첫 거래: 그 전까지의 보유분(자산 등록/수정으로 입력한 수량)을 재계산 기준점으로 남김
+        // 이미 있던 거래 행(덤프 샘플 등)은 입력한 보유분에 포함된 것으로 보고, 그 마지막 ID 이후부터만 재계산/세금 계산에 사용
+        if (asset.getTransactionCount() == 0) {
+            Long existing = transactionRepository.findLastTransactionId(asset.getId());
+            snapshotRepository.save(new PositionSnapshot(asset.getId(), existing != null ? existing : 0L, true,
+                    asset.getQuantity(), asset.getAvgBuyPrice(), asset.getRealizedPnl()));
+        }
+
+        PositionEngine.Position next = PositionEngine.apply(positionOf(asset), type,
+                requestDto.getQuantity().units(), requestDto.getPricePerUnit().units());
+
+        AssetTransaction transaction = transactionRepository.save(AssetTransaction.builder()
+                .assetId(asset.getId())
+                .transactionType(type)
+                .quantity(requestDto.getQuantity())
+                .pricePerUnit(requestDto.getPricePerUnit())
+                .transactionDate(requestDto.getTransactionDate())
+                .notes(requestDto.getNotes())
+                .build());
+
+        AssetChangedEvent.Holding before = AssetChangedEvent.Holding.of(asset);
+        asset.applyPosition(Decimal8.ofUnits(next.quantity()), Decimal8.ofUnits(next.avgBuyPrice()),
+                Decimal8.ofUnits(next.realizedPnl()));
+        if (asset.getTransactionCount() % snapshotInterval == 0) {
+            saveSnapshot(asset, transaction.getId());
+        }
+        eventPublisher.publishEvent(AssetChangedEvent.updated(userId, before, asset));
+
+        return new TransactionDto.TransactionRecordResponse(
+                TransactionDto.TransactionResponse.fromEntity(transaction),
+                TransactionDto.PositionResponse.fromEntity(asset));
+    }
+
+    // 자산의 거래 내역 키셋 페이지 (after: 이전 페이지의 nextCursor, 첫 페이지는 null)
+    @Transactional(readOnly = true)
+    public PageDto.CursorPage<TransactionDto.TransactionResponse> getTransactionPage(Long userId, Long portfolioId, Long assetId,
+                                                                                    Long after, int limit) {
+        PageDto.checkLimit(limit, maxPageLimit);
+        findOwnedAsset(userId, portfolioId, assetId);
+        List<AssetTransaction> rows = transactionRepository.findPage(assetId, after != null ? after : 0L, Limit.of(limit + 1));
+        List<TransactionDto.TransactionResponse> responses = new ArrayList<>(rows.size());
+        for (AssetTransaction row : rows) {
+            responses.add(TransactionDto.TransactionResponse.fromEntity(row));
+        }
+        return PageDto.CursorPage.of(responses, limit, TransactionDto.TransactionResponse::getId);
+    }
+
+    // 자산의 현재 포지션 (원장 조회 없음)
+    @Transactional(readOnly = true)
+    public TransactionDto.PositionResponse getPosition(Long userId, Long portfolioId, Long assetId) {
+        return TransactionDto.PositionResponse.fromEntity(findOwnedAsset(userId, portfolioId, assetId));
+    }
+
+    /**
+     * 마지막 스냅샷 + 이후 거래로 포지션을 다시 계산하고, 저장된 포지션과 다르면 보정합니다.
+     * 다시 적용하는 거래는 최대 snapshot-interval건 (원장 밖 수정 직후라면 0건)
+     */
+    @Transactional
+    public TransactionDto.PositionRebuildResponse rebuildPosition(Long userId, Long portfolioId, Long assetId) {
+        Asset asset = findOwnedAssetForUpdate(userId, portfolioId, assetId);
+        Optional<PositionSnapshot> snapshot = snapshotRepository.findFirstByAssetIdOrderByLastTransactionIdDescIdDesc(assetId);
+        if (snapshot.isEmpty()) {
+            // 원장에 거래가 없는 자산 - 저장된 포지션이 곧 기준
+            return new TransactionDto.PositionRebuildResponse(TransactionDto.PositionResponse.fromEntity(asset), null, 0, false);
+        }
+
+        PositionSnapshot base = snapshot.get();
+        PositionEngine.Position position = PositionEngine.Position.of(base.getQuantity(), base.getAvgBuyPrice(), base.getRealizedPnl());
+        long replayed = 0;
+        try (Stream<AssetTransaction> transactions = transactionRepository.streamAfter(assetId, base.getLastTransactionId())) {
+            for (AssetTransaction transaction : (Iterable<AssetTransaction>) transactions::iterator) {
+                position = PositionEngine.apply(position, transaction.getTransactionType(),
+                        transaction.getQuantity().units(), transaction.getPricePerUnit().units());
+                replayed++;
+            }
+        }
+
+        boolean corrected = !position.sameAs(positionOf(asset));
+        if (corrected) {
+            log.warn("⚠️ 포지션 보정 - assetId: {}, 저장값 {}/{}/{} -> 재계산 {}/{}/{}", assetId,
+                    asset.getQuantity(), asset.getAvgBuyPrice(), asset.getRealizedPnl(),
+                    Decimal8.ofUnits(position.quantity()), Decimal8.ofUnits(position.avgBuyPrice()),
+                    Decimal8.ofUnits(position.realizedPnl()));
+            AssetChangedEvent.Holding before = AssetChangedEvent.Holding.of(asset);
+            asset.restorePosition(Decimal8.ofUnits(position.quantity()), Decimal8.ofUnits(position.avgBuyPrice()),
+                    Decimal8.ofUnits(position.realizedPnl()));
+            eventPublisher.publishEvent(AssetChangedEvent.updated(userId, before, asset));
+        }
+        return new TransactionDto.PositionRebuildResponse(TransactionDto.PositionResponse.fromEntity(asset),
+                base.getLastTransactionId(), replayed, corrected);
+    }
+
+    /**
+     * 원장 밖에서 수량/평균 단가가 바뀐 자산(자산 수정 API)의 현재 상태를 새 기준점으로 저장합니다.
+     * 원장에 거래가 있는 자산만 대상 (호출 측 트랜잭션 안에서 실행)
+     */
+    public void rebase(Collection<Asset> assets) {
+        Map<Long, Asset> ledgerAssets = new HashMap<>();
+        for (Asset asset : assets) {
+            if (asset.getTransactionCount() > 0) {
+                ledgerAssets.put(asset.getId(), asset);
+            }
+        }
+        if (ledgerAssets.isEmpty()) {
+            return;
+        }
+        for (AssetTransactionRepository.LastTransaction last : transactionRepository.findLastTransactionIds(ledgerAssets.keySet())) {
+            saveSnapshot(ledgerAssets.get(last.getAssetId()), last.getLastTransactionId());
+        }
+    }
+
+    /**
+     * 세금 로트 매칭 입력: 사용자의 티커별 체결 내역 (원장 이전 보유분 다음에 거래 일시 순, until 이전 거래만)
+     * 거래는 DB 커서로 한 행씩 읽어 티커별 원시 배열에 바로 담음 (행 DTO를 모아 두지 않음)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, TaxLotEngine.Fills> loadFills(Long userId, LocalDateTime until) {
+        Map<String, TaxLotEngine.Fills> fills = new TreeMap<>();
+        for (TaxDto.OpeningLot lot : snapshotRepository.findOpeningLotsByUserId(userId)) {
+            fills.computeIfAbsent(lot.getTicker(), ticker -> new TaxLotEngine.Fills())
+                    .add(TaxLotEngine.ACQUIRE, lot.getQuantity().units(), lot.getAvgBuyPrice().units(), TaxLotEngine.OPENING_YEAR);
+        }
+        try (Stream<TaxDto.LedgerFill> rows = transactionRepository.streamFillsByUserId(userId, until)) {
+            rows.forEach(row -> fills.computeIfAbsent(row.getTicker(), ticker -> new TaxLotEngine.Fills())
+                    .add(TaxLotEngine.kindOf(row.getTransactionType()), row.getQuantity().units(),
+                            row.getPricePerUnit().units(), row.getTransactionDate().getYear()));
+        }
+        return fills;
+    }
+
+    // 자산 삭제 시 원장/스냅샷 삭제 (호출 측 트랜잭션 안에서 실행)
+    public void deleteLedger(Collection<Long> assetIds) {
+        if (assetIds.isEmpty()) {
+            return;
+        }
+        int transactions = transactionRepository.deleteByAssetIdIn(assetIds);
+        snapshotRepository.deleteByAssetIdIn(assetIds);
+        if (transactions > 0) {
+            log.info("🗑️ 원장 삭제 - 자산 {}개, 거래 {}건", assetIds.size(), transactions);
+        }
+    }
+
+    // 스냅샷 저장 후 그보다 오래된 스냅샷 정리 (재계산은 최신 스냅샷만 사용)
+    private void saveSnapshot(Asset asset, Long lastTransactionId) {
+        snapshotRepository.save(new PositionSnapshot(asset.getId(), lastTransactionId,
+                asset.getQuantity(), asset.getAvgBuyPrice(), asset.getRealizedPnl()));
+        snapshotRepository.deleteOlderThan(asset.getId(), lastTransactionId);
+    }
+
+    private static PositionEngine.Position positionOf(Asset asset) {
+        return PositionEngine.Position.of(asset.getQuantity(), asset.getAvgBuyPrice(), asset.getRealizedPnl());
+    }
+
+    private static TransactionType parseType(String value) {
+        try {
+            return TransactionType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transactionType: " + value + " (BUY, SELL, DEPOSIT, WITHDRAW)");
+        }
+    }
+
+    private Asset findOwnedAsset(Long userId, Long portfolioId, Long assetId) {
+        return assetRepository.findOwned(userId, portfolioId, assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + assetId));
+    }
+
+    private Asset findOwnedAssetForUpdate(Long userId, Long portfolioId, Long assetId) {
+        return assetRepository.findOwnedForUpdate(userId, portfolioId, assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found with id: " + assetId));
+    }
+}
@@ -0,0 +1,94 @@
+package com.mystockfolio.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mystockfolio.backend.dto.PortfolioDto;
+import com.mystockfolio.backend.repository.PortfolioRepository;
+import com.mystockfolio.backend.util.Csv;
+import com.mystockfolio.backend.util.Ndjson;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 보유 자산 내보내기 (CSV / NDJSON)
+ * - 포트폴리오 x 자산 행을 DB 커서에서 읽는 대로 출력 스트림에 기록 (엔티티/중첩 목록을 만들지 않음)
+ * - 계정의 자산 수와 관계없이 메모리 사용량이 일정 (압축은 호출 측에서 스트림을 감싸 처리)
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioExportService {
+
+    private static final String[] CSV_HEADER = {"portfolioId", "portfolioName", "assetId", "ticker", "name",
+            "assetType", "quantity", "avgBuyPrice"};
+
+    private final PortfolioRepository portfolioRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format of(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (csv, ndjson)");
+            }
+        }
+    }
+
+    /**
+     * 사용자의 모든 포트폴리오/자산을 format으로 out에 기록하고 기록한 행 수를 반환합니다.
+     * (스트림은 트랜잭션 안에서 소비하고 닫음, out은 닫지 않음)
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, Format format, OutputStream out) throws IOException {
+        AtomicLong rows = new AtomicLong();
+        try (Stream<PortfolioDto.HoldingExportRow> stream = portfolioRepository.streamExportRows(userId)) {
+            if (format == Format.NDJSON) {
+                stream.forEach(row -> {
+                    Ndjson.writeLine(objectMapper, out, row);
+                    rows.incrementAndGet();
+                });
+            } else {
+                // out 위에 버퍼를 두고 마지막에 flush만 함 (out은 호출 측이 닫음)
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                Csv.writeRow(writer, (Object[]) CSV_HEADER);
+                stream.forEach(row -> {
+                    Csv.writeRow(writer, row.getPortfolioId(), row.getPortfolioName(), row.getAssetId(),
+                            row.getTicker(), row.getName(), row.getAssetType(), row.getQuantity(), row.getAvgBuyPrice());
+                    rows.incrementAndGet();
+                });
+                writer.flush();
+            }
+        }
+        return rows.get();
+    }
+}
@@ -1,44 +1,99 @@
 package com.mystockfolio.backend.service;
 
+import com.mystockfolio.backend.domain.entity.Asset;
 import com.mystockfolio.backend.domain.entity.Portfolio;
 import com.mystockfolio.backend.domain.entity.User; // User 임포트
+import com.mystockfolio.backend.domain.event.AssetChangedEvent;
+import com.mystockfolio.backend.domain.event.PortfolioChangedEvent;
+import com.mystockfolio.backend.dto.AssetDto;
+import com.mystockfolio.backend.dto.PageDto;
 import com.mystockfolio.backend.dto.PortfolioDto;
 import com.mystockfolio.backend.exception.ResourceNotFoundException;
+import com.mystockfolio.backend.repository.AssetRepository;
 import com.mystockfolio.backend.repository.PortfolioRepository;
 import com.mystockfolio.backend.repository.UserRepository; // UserRepository 임포트 (아래 생성 필요)
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class PortfolioService {
 
     private final PortfolioRepository portfolioRepository;
+    private final AssetRepository assetRepository;
     private final UserRepository userRepository; // 사용자 정보 조회 위해 추가
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserHoldingsCache userHoldingsCache;
+    private final UserResponseCache userResponseCache;
+    private final LedgerService ledgerService;
+
+    // 페이지 조회 한 번에 허용하는 최대 항목 수
+    @Value("${api.page.max-limit:1000}")
+    private int maxPageLimit;
 
     // 사용자의 모든 포트폴리오 목록 조회 (자산 포함)
-    @Transactional(readOnly = true)
+    // 자산/포트폴리오 변경이 없으면(version 동일) 캐시된 응답을 반환하므로 트랜잭션은 조회 쿼리에서만 열림
+    // 포트폴리오 ID/이름과 자산 DTO를 프로젝션으로 각각 한 번씩 조회해 묶음 (엔티티 로딩/변경 감지 스냅샷 없음)
     public List<PortfolioDto.PortfolioResponse> getPortfoliosByUserId(Long userId) {
         // TODO: 보안 - userId가 실제 로그인한 사용자인지 확인 필요
-        List<Portfolio> portfolios = portfolioRepository.findByUserIdWithAssets(userId); // JOIN FETCH로 assets 함께 로드
-        return portfolios.stream()
-                .map(PortfolioDto.PortfolioResponse::fromEntity)
-                .collect(Collectors.toList());
+        long version = userHoldingsCache.version(userId); // 조회 전에 읽어야 조회 중 변경을 놓치지 않음
+        return userResponseCache.get("portfolios", userId, version, UserResponseCache.NO_PRICES, () -> {
+            List<PortfolioRepository.PortfolioSummary> portfolios = portfolioRepository.findSummariesByUserId(userId);
+            Map<Long, List<AssetDto.AssetResponse>> assets = new HashMap<>();
+            for (AssetDto.AssetResponse asset : assetRepository.findResponsesByUserId(userId)) {
+                assets.computeIfAbsent(asset.getPortfolioId(), id -> new ArrayList<>()).add(asset);
+            }
+            List<PortfolioDto.PortfolioResponse> responses = new ArrayList<>(portfolios.size());
+            for (PortfolioRepository.PortfolioSummary portfolio : portfolios) {
+                responses.add(new PortfolioDto.PortfolioResponse(portfolio.getId(), portfolio.getName(),
+                        assets.getOrDefault(portfolio.getId(), List.of())));
+            }
+            return responses;
+        });
+    }
+
+    // 포트폴리오 목록 키셋 페이지 (ID/이름만, 자산은 자산 목록 페이지로 조회)
+    @Transactional(readOnly = true)
+    public PageDto.CursorPage<PortfolioDto.PortfolioSimpleResponse> getPortfolioPage(Long userId, Long after, int limit) {
+        PageDto.checkLimit(limit, maxPageLimit);
+        List<PortfolioDto.PortfolioSimpleResponse> rows = new ArrayList<>();
+        for (PortfolioRepository.PortfolioSummary portfolio :
+                portfolioRepository.findSummariesPage(userId, after != null ? after : 0L, Limit.of(limit + 1))) {
+            rows.add(new PortfolioDto.PortfolioSimpleResponse(portfolio.getId(), portfolio.getName()));
+        }
+        return PageDto.CursorPage.of(rows, limit, PortfolioDto.PortfolioSimpleResponse::getId);
     }
 
-    // 특정 포트폴리오 상세 조회 (자산 포함)
+    // 포트폴리오를 id 순으로 한 행씩 action에 전달 (스트림은 트랜잭션 안에서 닫음)
+    @Transactional(readOnly = true)
+    public void forEachPortfolio(Long userId, Consumer<PortfolioDto.PortfolioSimpleResponse> action) {
+        try (Stream<PortfolioRepository.PortfolioSummary> portfolios = portfolioRepository.streamSummariesByUserId(userId)) {
+            portfolios.forEach(portfolio ->
+                    action.accept(new PortfolioDto.PortfolioSimpleResponse(portfolio.getId(), portfolio.getName())));
+        }
+    }
+
+    // 특정 포트폴리오 상세 조회 (자산 포함, DTO 프로젝션)
     @Transactional(readOnly = true)
     public PortfolioDto.PortfolioResponse getPortfolioById(Long userId, Long portfolioId) {
         // TODO: 보안 - userId 확인
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+        PortfolioRepository.PortfolioSummary portfolio = portfolioRepository.findSummaryById(portfolioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with id: " + portfolioId));
         // TODO: 조회된 포트폴리오가 해당 사용자의 것이 맞는지 추가 확인
         // if (!portfolio.getUser().getUserId().equals(userId)) { ... }
-        return PortfolioDto.PortfolioResponse.fromEntity(portfolio);
+        return new PortfolioDto.PortfolioResponse(portfolio.getId(), portfolio.getName(),
+                assetRepository.findResponsesByPortfolioId(portfolioId));
     }
 
     // 새 포트폴리오 생성
@@ -50,6 +105,7 @@ public class PortfolioService {
 
         Portfolio portfolio = requestDto.toEntity(user);
         Portfolio savedPortfolio = portfolioRepository.save(portfolio);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(userId, savedPortfolio.getId()));
         return PortfolioDto.PortfolioSimpleResponse.fromEntity(savedPortfolio);
     }
 
@@ -63,6 +119,7 @@ public class PortfolioService {
 
         portfolio.updateName(requestDto.getName()); // Entity 내부 메서드 사용
         // 변경 감지로 자동 업데이트됨
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getUser().getUserId(), portfolioId));
         return PortfolioDto.PortfolioSimpleResponse.fromEntity(portfolio);
     }
 
@@ -74,6 +131,15 @@ public class PortfolioService {
                 .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with id: " + portfolioId));
         // TODO: 해당 포트폴리오가 사용자의 것이 맞는지 추가 확인
 
+        // cascade로 함께 삭제되는 자산도 삭제 이벤트 발행
+        Long ownerId = portfolio.getUser().getUserId();
+        List<Long> assetIds = new ArrayList<>(portfolio.getAssets().size());
+        for (Asset asset : portfolio.getAssets()) {
+            eventPublisher.publishEvent(AssetChangedEvent.deleted(ownerId, asset));
+            assetIds.add(asset.getId());
+        }
+        ledgerService.deleteLedger(assetIds);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(ownerId, portfolioId));
         portfolioRepository.delete(portfolio);
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.dto.DashboardDto;
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.exception.AmountOutOfRangeException;
+import com.mystockfolio.backend.util.Decimal8;
+import com.mystockfolio.backend.util.Decimal8Sum;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 대시보드 통계 집계 커널 (원시 배열 기반, 보유 종목당 할당 없음)
+ * - 입력: 보유 종목별 열 배열 (자산 유형 ordinal, 수량, 원가, 현재가, 통화 id), 배열 인덱스가 곧 티커 id
+ * - 원가/평가액은 종목의 거래 통화로 계산한 뒤 toBase[통화 id] 배율로 기준 통화 환산 (배열 읽기만, 잠금 없음)
+ * - 종목별 원가/평가액은 Decimal8 units(long), 합계는 Decimal8Sum(128비트)으로 정확히 누적 (원화 합계가 Decimal8 범위를 넘어도 됨)
+ *   자산 유형별 평가액은 AssetType.ordinal()로 인덱싱한 Decimal8Sum[]에 더함
+ * - 종목 하나의 원가/평가액이 Decimal8 범위를 넘으면 (원가가 WIDE_COST이거나 곱이 넘침) 그 종목만 BigDecimal로 계산
+ * - 현재가가 NO_PRICE면 (시세 없음) 원가로 평가
+ * 응답 DTO는 집계가 끝난 뒤 한 번만 만듦 (사용자 단위 배치에서는 Totals를 재사용)
+ */
+public final class PortfolioStatsKernel {
+
+    private static final AssetType[] TYPES = AssetType.values();
+    public static final int TYPE_COUNT = TYPES.length;
+
+    // 시세가 없는 종목의 현재가 자리 표시
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    // 원가가 Decimal8 범위를 넘는 종목의 원가 자리 표시 (실제 값은 wideCosts[i])
+    public static final long WIDE_COST = Long.MIN_VALUE;
+
+    private PortfolioStatsKernel() {
+    }
+
+    /**
+     * n개 보유 종목의 평가액을 out에 누적합니다. (out은 호출 전에 reset, 값은 모두 Decimal8 units)
+     * wideCosts: costs[i]가 WIDE_COST인 종목의 원가 (그런 종목이 없으면 null)
+     */
+    public static void accumulate(int n, int[] typeOrdinals, long[] quantities, long[] costs, BigDecimal[] wideCosts,
+                                  long[] prices, int[] currencyIds, double[] toBase, Totals out) {
+        Decimal8Sum cost = out.cost;
+        Decimal8Sum market = out.market;
+        Decimal8Sum[] typeValues = out.typeValues;
+        int[] typeCounts = out.typeCounts;
+        for (int i = 0; i < n; i++) {
+            long price = prices[i];
+            double rate = toBase[currencyIds[i]];
+            int type = typeOrdinals[i];
+            if (costs[i] != WIDE_COST) {
+                long positionCost;
+                long value;
+                try {
+                    positionCost = Decimal8.scaleUnits(costs[i], rate);
+                    value = price != NO_PRICE
+                            ? Decimal8.scaleUnits(Decimal8.multiplyUnits(quantities[i], price), rate)
+                            : positionCost;
+                } catch (AmountOutOfRangeException e) {
+                    accumulateWide(BigDecimal.valueOf(costs[i], Decimal8.SCALE), quantities[i], price, rate, type, out);
+                    continue;
+                }
+                cost.add(positionCost);
+                market.add(value);
+                typeValues[type].add(value);
+                typeCounts[type]++;
+            } else {
+                accumulateWide(wideCosts[i], quantities[i], price, rate, type, out);
+            }
+        }
+    }
+
+    // Decimal8 범위를 넘는 종목 하나 (드묾): 원가/평가액을 BigDecimal로 계산해 128비트 합계에 더함
+    private static void accumulateWide(BigDecimal positionCost, long quantity, long price, double rate, int type,
+                                       Totals out) {
+        BigDecimal factor = new BigDecimal(rate);
+        BigDecimal cost = positionCost.multiply(factor);
+        BigDecimal value = price != NO_PRICE ? Decimal8.product(quantity, price).multiply(factor) : cost;
+        out.cost.add(cost);
+        out.market.add(value);
+        out.typeValues[type].add(value);
+        out.typeCounts[type]++;
+    }
+
+    /**
+     * 누적 결과로 응답 DTO 생성 (자산 배분은 보유 종목이 있는 유형만, ordinal 순)
+     * 금액은 BigDecimal(정확한 값), 비율(수익률, 배분 %)만 double로 계산
+     */
+    public static DashboardDto.PortfolioStatsResponse toResponse(Totals totals, String baseCurrency,
+                                                                 List<MarketDataDto.ChartPoint> timeSeries) {
+        Decimal8Sum gainLoss = new Decimal8Sum();
+        gainLoss.add(totals.market);
+        gainLoss.subtract(totals.cost);
+        double marketUnits = totals.market.doubleUnits();
+        double costUnits = totals.cost.doubleUnits();
+        double totalReturnRate = (costUnits > 0)
+                ? (gainLoss.doubleUnits() / costUnits) * 100.0
+                : 0.0;
+
+        List<DashboardDto.AssetAllocation> assetAllocations = new ArrayList<>();
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            if (totals.typeCounts[type] == 0) {
+                continue;
+            }
+            Decimal8Sum value = totals.typeValues[type];
+            double percentage = (marketUnits > 0) ? (value.doubleUnits() / marketUnits) * 100.0 : 0.0;
+            assetAllocations.add(new DashboardDto.AssetAllocation(TYPES[type].name(), percentage, value.toBigDecimal()));
+        }
+
+        return new DashboardDto.PortfolioStatsResponse(totals.market.toBigDecimal(), totals.cost.toBigDecimal(),
+                gainLoss.toBigDecimal(), totalReturnRate, assetAllocations, timeSeries, baseCurrency);
+    }
+
+    /**
+     * 집계 누적 버퍼 (재사용 가능, 스레드 간 공유 금지)
+     */
+    public static final class Totals {
+        private final Decimal8Sum[] typeValues = new Decimal8Sum[TYPE_COUNT];
+        private final int[] typeCounts = new int[TYPE_COUNT];
+        private final Decimal8Sum cost = new Decimal8Sum();
+        private final Decimal8Sum market = new Decimal8Sum();
+
+        public Totals() {
+            for (int type = 0; type < TYPE_COUNT; type++) {
+                typeValues[type] = new Decimal8Sum();
+            }
+        }
+
+        public void reset() {
+            for (Decimal8Sum value : typeValues) {
+                value.reset();
+            }
+            Arrays.fill(typeCounts, 0);
+            cost.reset();
+            market.reset();
+        }
+
+        public BigDecimal getCost() {
+            return cost.toBigDecimal();
+        }
+
+        public BigDecimal getMarket() {
+            return market.toBigDecimal();
+        }
+    }
+}
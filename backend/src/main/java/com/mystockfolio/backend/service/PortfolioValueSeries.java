@@ -0,0 +1,301 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.dto.MarketDataDto;
+import com.mystockfolio.backend.market.PriceHistoryStore;
+import com.mystockfolio.backend.util.CacheEviction;
+import com.mystockfolio.backend.util.Decimal8;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기간별 포트폴리오 총 평가액 추이 (대시보드 Line Chart)
+ * - 티커별 일별 종가(PriceHistoryStore)를 병렬로 읽어 하나의 날짜 축에 맞춤
+ * - 날짜 축은 보유 티커 중 하나라도 거래된 날의 합집합, 거래가 없는 날은 직전 종가로 채움 (forward fill)
+ * - 날짜별 평가액 = sum(보유 수량 x 종가 x 기준 통화 환율), 결과는 (사용자, 기간, 기준 통화, 보유 현황 version) 단위로 캐시
+ * - 환율은 과거 시점별 환율이 아닌 현재 스냅샷을 적용 (추이는 보유분의 현재 통화 기준 근사값)
+ * - 요청은 지연 예산만큼만 기다림: 넘기면 이전 추이(없으면 지금까지 도착한 티커만의 부분 추이)로 응답하고
+ *   전체 계산은 백그라운드에서 끝까지 진행해 캐시 (같은 키의 동시 요청은 계산 하나를 공유)
+ * - 종가 이력 조회에 실패한 티커가 있으면 캐시하지 않음 (다음 요청에서 다시 계산)
+ * - 캐시된 추이마다 epoch를 붙여, 추이를 포함한 응답 캐시(UserResponseCache)가 추이 교체/만료를 알 수 있게 함
+ */
+@Slf4j
+@Service
+public class PortfolioValueSeries {
+
+    private final PriceHistoryStore priceHistoryStore;
+    private final ExecutorService executor;
+    private final long ttlMillis;
+    private final int maxCached;
+
+    // (userId, period, 기준 통화) -> 계산된 추이 (보유 현황 version이 바뀌었거나 TTL이 지나면 다시 계산)
+    private final ConcurrentHashMap<String, CachedSeries> cache = new ConcurrentHashMap<>();
+
+    // (userId, period, 기준 통화, 보유 현황 version) -> 진행 중인 계산 (완료되면 cache에 저장하고 제거)
+    private final ConcurrentHashMap<String, Computation> inFlight = new ConcurrentHashMap<>();
+
+    // 추이를 캐시할 때마다 증가 (seriesEpoch)
+    private final AtomicLong epochs = new AtomicLong();
+
+    public PortfolioValueSeries(PriceHistoryStore priceHistoryStore,
+                                @Value("${dashboard.series.parallelism:8}") int parallelism,
+                                @Value("${dashboard.series.ttl-ms:600000}") long ttlMillis,
+                                @Value("${dashboard.series.max-cached:10000}") int maxCached) {
+        this.priceHistoryStore = priceHistoryStore;
+        this.executor = Executors.newFixedThreadPool(parallelism, daemonThreads());
+        this.ttlMillis = ttlMillis;
+        this.maxCached = maxCached;
+    }
+
+    /**
+     * 사용자의 기간별 평가액 추이를 반환합니다. (날짜 오름차순, 기준 통화 환산)
+     * currencyIds: 티커 id별 거래 통화 id, toBase: 통화 id별 기준 통화 환산 배율
+     * budget: 계산을 기다리는 최대 시간 (넘기면 이전 추이 또는 부분 추이, 계산은 백그라운드에서 계속)
+     */
+    public List<MarketDataDto.ChartPoint> getSeries(Long userId, String period, UserHoldingsCache.UserHoldings holdings,
+                                                    String baseCurrency, int[] currencyIds, double[] toBase,
+                                                    Duration budget) {
+        String key = userId + "|" + period + "|" + baseCurrency;
+        long version = holdings.getVersion();
+        CachedSeries cached = cache.get(key);
+        if (cached != null && cached.version == version && System.currentTimeMillis() < cached.expiresAt) {
+            return cached.points;
+        }
+
+        Computation computation = inFlight.computeIfAbsent(key + "|" + version,
+                flightKey -> start(key, flightKey, holdings, currencyIds, toBase, period));
+        try {
+            return computation.result.get(Math.max(budget.toMillis(), 0L), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (cached != null) {
+                log.info("⏱️ 평가액 추이 계산 지연 - 이전 추이로 응답 (기간 {}, 계산은 백그라운드에서 계속)", period);
+                return cached.points;
+            }
+            List<MarketDataDto.ChartPoint> partial = computation.assemble();
+            log.info("⏱️ 평가액 추이 계산 지연 - 부분 추이로 응답 (기간 {}, 티커 {}/{}개 도착)",
+                    period, computation.completedCount(), computation.futures.size());
+            return partial;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return cached != null ? cached.points : List.of();
+        } catch (ExecutionException e) {
+            log.warn("⚠️ 평가액 추이 계산 실패 - 기간 {}: {}", period, e.getCause().getMessage());
+            return cached != null ? cached.points : List.of();
+        }
+    }
+
+    /**
+     * 지금 getSeries가 계산 없이 돌려줄 완전한 추이의 epoch를 반환합니다.
+     * 캐시된 추이가 없거나, 보유 현황 version이 다르거나, TTL이 지났으면 -1 (이때 만든 응답은 캐시하면 안 됨)
+     */
+    public long seriesEpoch(Long userId, String period, String baseCurrency, long holdingsVersion) {
+        CachedSeries cached = cache.get(userId + "|" + period + "|" + baseCurrency);
+        if (cached == null || cached.version != holdingsVersion || System.currentTimeMillis() >= cached.expiresAt) {
+            return -1L;
+        }
+        return cached.epoch;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // 티커별 종가 구간을 병렬 조회하고, 모두 도착하면 추이를 합산해 캐시 (요청 스레드를 막지 않음)
+    private Computation start(String key, String flightKey, UserHoldingsCache.UserHoldings holdings,
+                              int[] currencyIds, double[] toBase, String period) {
+        int today = (int) LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        Computation computation = new Computation(holdings.quantities(), currencyIds, toBase, period,
+                PriceHistoryStore.startDayOf(period, today));
+
+        // 이력 파일에 있으면 복사 없는 slice, 없으면 외부 조회
+        for (int id = 0; id < holdings.size(); id++) {
+            if (computation.quantities[id] <= 0) {
+                continue;
+            }
+            String ticker = holdings.tickerAt(id);
+            computation.tickerIds.add(id);
+            computation.futures.add(CompletableFuture.supplyAsync(() -> priceHistoryStore.getHistory(ticker, period), executor)
+                    .exceptionally(e -> {
+                        log.warn("⚠️ 종가 이력 조회 실패 - {}: {}", ticker, e.getMessage());
+                        computation.failed = true;
+                        return null;
+                    }));
+        }
+
+        // 합산은 executor에서 비동기로 (computeIfAbsent 안에서 완료 콜백이 inFlight를 건드리지 않도록)
+        long version = holdings.getVersion();
+        computation.result = CompletableFuture.allOf(computation.futures.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(done -> computation.assemble(), executor)
+                .whenComplete((points, e) -> {
+                    if (points != null && !computation.failed) {
+                        evictIfNeeded();
+                        CachedSeries series = new CachedSeries(version, System.currentTimeMillis() + ttlMillis,
+                                epochs.incrementAndGet(), points);
+                        // 늦게 끝난 이전 version의 계산이 최신 추이를 덮어쓰지 않도록
+                        cache.merge(key, series, (old, fresh) -> old.version > fresh.version ? old : fresh);
+                    }
+                    inFlight.remove(flightKey, computation);
+                });
+        return computation;
+    }
+
+    // 최대 개수에 도달하면 만료 시각이 이른 추이부터 제거 (최대 개수의 90%까지, 표본 기반 근사)
+    private void evictIfNeeded() {
+        if (cache.size() < maxCached) {
+            return;
+        }
+        CacheEviction.evict(cache, (int) (maxCached * 0.9), series -> series.expiresAt);
+    }
+
+    private static List<MarketDataDto.ChartPoint> assemble(List<Integer> tickerIds, PriceHistoryStore.Slice[] slices,
+                                                           long[] quantities, int[] currencyIds, double[] toBase,
+                                                           String period, int startDay) {
+        int firstDay = Integer.MAX_VALUE;
+        int lastDay = Integer.MIN_VALUE;
+        for (int i = 0; i < slices.length; i++) {
+            PriceHistoryStore.Slice slice = slices[i];
+            if (slice == null || slice.length() == 0) {
+                slices[i] = null;
+                continue;
+            }
+            firstDay = Math.min(firstDay, Math.max(slice.dayAt(0), startDay));
+            lastDay = Math.max(lastDay, slice.dayAt(slice.length() - 1));
+        }
+        if (firstDay > lastDay) {
+            return List.of();
+        }
+
+        // [firstDay, lastDay] 일자 배열에 수량 x 종가를 누적 (다음 거래일 전까지 직전 종가 유지)
+        int span = lastDay - firstDay + 1;
+        double[] totals = new double[span];
+        boolean[] tradingDay = new boolean[span];
+        for (int i = 0; i < slices.length; i++) {
+            PriceHistoryStore.Slice slice = slices[i];
+            if (slice == null) {
+                continue;
+            }
+            // 수량 x 환율을 미리 곱해 두고 종가에 곱함 (차트는 근사값으로 충분)
+            int id = tickerIds.get(i);
+            double quantity = Decimal8.ofUnits(quantities[id]).toDouble() * toBase[currencyIds[id]];
+            accumulate(slice, quantity, firstDay, totals, tradingDay);
+        }
+
+        List<MarketDataDto.ChartPoint> points = new ArrayList<>();
+        for (int d = 0; d < span; d++) {
+            if (tradingDay[d]) {
+                points.add(new MarketDataDto.ChartPoint(LocalDate.ofEpochDay(firstDay + d).toString(), totals[d]));
+            }
+        }
+        log.debug("평가액 추이 계산 - 티커 {}개, 기간 {}: {}개 점", tickerIds.size(), period, points.size());
+        return points;
+    }
+
+    // 티커 하나의 평가액을 일자 배열에 더함 (첫 거래일 이전은 0, 이후 빈 날은 직전 종가)
+    private static void accumulate(PriceHistoryStore.Slice slice, double quantity, int firstDay,
+                                   double[] totals, boolean[] tradingDay) {
+        int n = slice.length();
+        int span = totals.length;
+        double value = 0.0;
+        int d = 0;
+        for (int i = 0; i < n; i++) {
+            int index = slice.dayAt(i) - firstDay;
+            if (index >= span) {
+                break;
+            }
+            // 다음 거래일 직전까지 이전 평가액 유지
+            int until = Math.max(index, 0);
+            for (; d < until; d++) {
+                totals[d] += value;
+            }
+            value = quantity * slice.closeAt(i);
+            if (index >= 0) {
+                tradingDay[index] = true;
+            }
+        }
+        for (; d < span; d++) {
+            totals[d] += value;
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("portfolio-series-");
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    // 진행 중인 추이 계산 하나 (시작 시점의 보유 수량/환율로 고정)
+    private static final class Computation {
+        private final long[] quantities;
+        private final int[] currencyIds;
+        private final double[] toBase;
+        private final String period;
+        private final int startDay;
+        private final List<Integer> tickerIds = new ArrayList<>();
+        private final List<CompletableFuture<PriceHistoryStore.Slice>> futures = new ArrayList<>();
+        private volatile CompletableFuture<List<MarketDataDto.ChartPoint>> result;
+        // 종가 이력 조회에 실패한 티커가 있음 (결과는 응답에만 쓰고 캐시하지 않음)
+        private volatile boolean failed;
+
+        private Computation(long[] quantities, int[] currencyIds, double[] toBase, String period, int startDay) {
+            this.quantities = quantities;
+            this.currencyIds = currencyIds;
+            this.toBase = toBase;
+            this.period = period;
+            this.startDay = startDay;
+        }
+
+        // 지금까지 도착한 티커만으로 합산 (모두 도착했으면 전체 추이, 아니면 도착하지 않은 티커를 뺀 부분 추이)
+        private List<MarketDataDto.ChartPoint> assemble() {
+            return PortfolioValueSeries.assemble(tickerIds, slices(), quantities, currencyIds, toBase, period, startDay);
+        }
+
+        private int completedCount() {
+            int count = 0;
+            for (CompletableFuture<PriceHistoryStore.Slice> future : futures) {
+                if (future.isDone()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private PriceHistoryStore.Slice[] slices() {
+            PriceHistoryStore.Slice[] slices = new PriceHistoryStore.Slice[futures.size()];
+            for (int i = 0; i < slices.length; i++) {
+                slices[i] = futures.get(i).getNow(null);
+            }
+            return slices;
+        }
+    }
+
+    private static final class CachedSeries {
+        private final long version;
+        private final long expiresAt;
+        private final long epoch;
+        private final List<MarketDataDto.ChartPoint> points;
+
+        private CachedSeries(long version, long expiresAt, long epoch, List<MarketDataDto.ChartPoint> points) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+            this.epoch = epoch;
+            this.points = points;
+        }
+    }
+}
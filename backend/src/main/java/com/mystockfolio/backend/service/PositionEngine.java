@@ -0,0 +1,86 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.TransactionType;
+import com.mystockfolio.backend.util.Decimal8;
+import com.mystockfolio.backend.util.Decimal8Sum;
+
+/**
+ * 원장 거래 -> 포지션 증분 계산 (이동 평균법)
+ * - 상태: 보유 수량, 평균 단가, 누적 실현 손익 (모두 Decimal8 units)
+ * - 거래 하나마다 O(1)로 다음 상태를 계산하므로 포지션 갱신에 원장 전체를 다시 읽지 않음
+ * - BUY/DEPOSIT: 평균 단가 = (기존 수량 x 기존 평균 + 거래 수량 x 단가) / 새 수량
+ * - SELL: 실현 손익 += (매도가 - 평균 단가) x 수량, 평균 단가는 유지 / WITHDRAW: 수량만 감소
+ * - 보유 수량이 0이 되면 평균 단가도 0
+ * - 총 원가(수량 x 평균 단가)는 Decimal8 범위를 넘을 수 있으므로 Decimal8Sum으로 계산 (평균 단가만 범위 안이면 됨)
+ */
+public final class PositionEngine {
+
+    private PositionEngine() {
+    }
+
+    /**
+     * position에 거래 하나를 반영한 새 포지션을 반환합니다. (보유 수량보다 많이 줄이면 IllegalArgumentException)
+     */
+    public static Position apply(Position position, TransactionType type, long quantity, long price) {
+        if (quantity <= 0L) {
+            throw new IllegalArgumentException("Transaction quantity must be positive");
+        }
+        if (price < 0L) {
+            throw new IllegalArgumentException("Transaction price must not be negative");
+        }
+
+        if (type.increasesPosition()) {
+            long newQuantity = Decimal8.addUnits(position.quantity, quantity);
+            Decimal8Sum cost = new Decimal8Sum();
+            cost.addProduct(position.quantity, position.avgBuyPrice);
+            cost.addProduct(quantity, price);
+            return new Position(newQuantity, cost.divideUnits(newQuantity), position.realizedPnl);
+        }
+
+        if (quantity > position.quantity) {
+            throw new IllegalArgumentException("Cannot " + type.name() + " " + Decimal8.ofUnits(quantity)
+                    + " units: only " + Decimal8.ofUnits(position.quantity) + " held");
+        }
+        long newQuantity = position.quantity - quantity;
+        long realized = position.realizedPnl;
+        if (type == TransactionType.SELL) {
+            realized = Decimal8.addUnits(realized, Decimal8.multiplyUnits(quantity, price - position.avgBuyPrice));
+        }
+        return new Position(newQuantity, newQuantity == 0L ? 0L : position.avgBuyPrice, realized);
+    }
+
+    /**
+     * 포지션 상태 (불변, 값은 Decimal8 units)
+     */
+    public static final class Position {
+        private final long quantity;
+        private final long avgBuyPrice;
+        private final long realizedPnl;
+
+        public Position(long quantity, long avgBuyPrice, long realizedPnl) {
+            this.quantity = quantity;
+            this.avgBuyPrice = avgBuyPrice;
+            this.realizedPnl = realizedPnl;
+        }
+
+        public static Position of(Decimal8 quantity, Decimal8 avgBuyPrice, Decimal8 realizedPnl) {
+            return new Position(quantity.units(), avgBuyPrice.units(), realizedPnl.units());
+        }
+
+        public long quantity() {
+            return quantity;
+        }
+
+        public long avgBuyPrice() {
+            return avgBuyPrice;
+        }
+
+        public long realizedPnl() {
+            return realizedPnl;
+        }
+
+        public boolean sameAs(Position other) {
+            return quantity == other.quantity && avgBuyPrice == other.avgBuyPrice && realizedPnl == other.realizedPnl;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.TransactionType;
+import com.mystockfolio.backend.util.Decimal8;
+import com.mystockfolio.backend.util.Decimal8Sum;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 세금 계산용 로트(lot) 매칭 엔진 - 연도별 실현 손익
+ * - 입력: (사용자, 티커) 하나의 체결 내역을 거래 일시 순으로 담은 원시 배열 (Fills), 체결당 객체 없음
+ * - 매수/입고는 로트 큐에 (수량, 단가)로 쌓고, 매도/출고는 방식에 따라 로트를 소진
+ *   FIFO: 가장 오래된 로트부터 / LIFO: 가장 최근 로트부터 / AVERAGE: 총 수량, 총 원가만 유지 (이동 평균)
+ * - 매도 중 과세 연도에 속한 것만 양도가액/취득가액/실현 손익에 합산, 출고는 로트만 소진 (손익 없음)
+ * - 보유 로트보다 많이 매도하면 초과분은 취득가 0으로 보고 unmatchedQuantity에 기록
+ * 수량/단가는 Decimal8 units(long), 곱(수량 x 단가)과 금액 합계는 Decimal8Sum(128비트)으로 누적 (둘 다 HALF_EVEN)
+ * - 원화 대량 거래는 건당 금액도, 이동 평균 총 원가도, 연간 합계도 Decimal8 범위(약 920억)를 넘을 수 있음
+ * - 곱은 범위 안이면 multiplyUnits(long), 넘을 때만 BigDecimal (Decimal8Sum.addProduct), 누적 버퍼는 LotQueue가 재사용
+ */
+public final class TaxLotEngine {
+
+    public enum Method {
+        FIFO, LIFO, AVERAGE;
+
+        public static Method of(String value) {
+            if (value == null) {
+                return FIFO;
+            }
+            try {
+                return Method.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported method: " + value + " (FIFO, LIFO, AVERAGE)");
+            }
+        }
+    }
+
+    // 체결 종류 (Fills.kinds)
+    public static final byte ACQUIRE = 0;  // BUY, DEPOSIT, 원장 이전 보유분
+    public static final byte SELL = 1;
+    public static final byte WITHDRAW = 2;
+
+    // 원장 이전 보유분(기준 스냅샷)의 연도 - 어떤 과세 연도보다도 앞
+    public static final int OPENING_YEAR = Integer.MIN_VALUE;
+
+    private TaxLotEngine() {
+    }
+
+    public static byte kindOf(TransactionType type) {
+        switch (type) {
+            case SELL:
+                return SELL;
+            case WITHDRAW:
+                return WITHDRAW;
+            default:
+                return ACQUIRE;
+        }
+    }
+
+    /**
+     * fills를 taxYear까지 순서대로 매칭하여 out에 taxYear의 실현 손익을 기록합니다.
+     * (lots, out은 재사용 가능 - 호출 시 초기화)
+     */
+    public static void match(Fills fills, Method method, int taxYear, LotQueue lots, Result out) {
+        out.reset();
+        lots.clear();
+        boolean average = method == Method.AVERAGE;
+        boolean lifo = method == Method.LIFO;
+        long avgQuantity = 0L;
+        Decimal8Sum avgCost = lots.avgCost;
+        Decimal8Sum cost = lots.saleCost;
+        Decimal8Sum taken = lots.taken;
+
+        byte[] kinds = fills.kinds;
+        long[] quantities = fills.quantities;
+        long[] prices = fills.prices;
+        int[] years = fills.years;
+        for (int i = 0, n = fills.size; i < n; i++) {
+            int year = years[i];
+            if (year > taxYear) {
+                break; // 거래 일시 순이므로 이후는 모두 다음 연도
+            }
+            long quantity = quantities[i];
+            long price = prices[i];
+
+            if (kinds[i] == ACQUIRE) {
+                if (average) {
+                    avgQuantity = Decimal8.addUnits(avgQuantity, quantity);
+                    avgCost.addProduct(quantity, price);
+                } else {
+                    lots.push(quantity, price);
+                }
+                continue;
+            }
+
+            // 매도/출고: 로트 소진 -> 소진한 원가
+            long remaining = quantity;
+            cost.reset();
+            if (average) {
+                long take = Math.min(remaining, avgQuantity);
+                if (take > 0L) {
+                    if (take == avgQuantity) {
+                        cost.add(avgCost);
+                        avgCost.reset();
+                    } else {
+                        taken.reset();
+                        taken.addProduct(take, avgCost.divideUnits(avgQuantity));
+                        cost.add(taken);
+                        avgCost.subtract(taken);
+                    }
+                    avgQuantity -= take;
+                    remaining -= take;
+                }
+            } else {
+                while (remaining > 0L && !lots.isEmpty()) {
+                    int slot = lifo ? lots.tailSlot() : lots.headSlot();
+                    long lotQuantity = lots.quantities[slot];
+                    long take = Math.min(remaining, lotQuantity);
+                    cost.addProduct(take, lots.prices[slot]);
+                    remaining -= take;
+                    if (take == lotQuantity) {
+                        if (lifo) {
+                            lots.removeTail();
+                        } else {
+                            lots.removeHead();
+                        }
+                    } else {
+                        lots.quantities[slot] = lotQuantity - take;
+                    }
+                }
+            }
+
+            if (kinds[i] == SELL && year == taxYear) {
+                out.sells++;
+                out.disposedQuantity = Decimal8.addUnits(out.disposedQuantity, quantity);
+                out.unmatchedQuantity = Decimal8.addUnits(out.unmatchedQuantity, remaining);
+                out.proceeds.addProduct(quantity, price);
+                out.costBasis.add(cost);
+            }
+        }
+    }
+
+    /**
+     * 티커 하나의 체결 내역 (열 배열, 거래 일시 순으로 add)
+     */
+    public static final class Fills {
+        private byte[] kinds;
+        private long[] quantities;
+        private long[] prices;
+        private int[] years;
+        private int size;
+
+        public Fills() {
+            this(16);
+        }
+
+        public Fills(int capacity) {
+            kinds = new byte[capacity];
+            quantities = new long[capacity];
+            prices = new long[capacity];
+            years = new int[capacity];
+        }
+
+        public void add(byte kind, long quantity, long price, int year) {
+            if (size == kinds.length) {
+                int capacity = Math.max(16, size * 2);
+                kinds = Arrays.copyOf(kinds, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                years = Arrays.copyOf(years, capacity);
+            }
+            kinds[size] = kind;
+            quantities[size] = quantity;
+            prices[size] = price;
+            years[size] = year;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * 보유 로트 큐 (원형 배열 deque, 로트당 long 두 개) - 앞(head)은 가장 오래된 로트, 뒤(tail)는 가장 최근 로트
+     * 매칭 중 쓰는 금액 누적 버퍼(이동 평균 총 원가, 매도 한 건의 취득가액)도 함께 재사용
+     */
+    public static final class LotQueue {
+        private long[] quantities = new long[16];
+        private long[] prices = new long[16];
+        private int head;
+        private int size;
+        private final Decimal8Sum avgCost = new Decimal8Sum();
+        private final Decimal8Sum saleCost = new Decimal8Sum();
+        private final Decimal8Sum taken = new Decimal8Sum();
+
+        void push(long quantity, long price) {
+            if (size == quantities.length) {
+                grow();
+            }
+            int slot = (head + size) & (quantities.length - 1);
+            quantities[slot] = quantity;
+            prices[slot] = price;
+            size++;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int headSlot() {
+            return head;
+        }
+
+        int tailSlot() {
+            return (head + size - 1) & (quantities.length - 1);
+        }
+
+        void removeHead() {
+            head = (head + 1) & (quantities.length - 1);
+            size--;
+        }
+
+        void removeTail() {
+            size--;
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+            avgCost.reset();
+            saleCost.reset();
+            taken.reset();
+        }
+
+        // 용량은 항상 2의 거듭제곱 (인덱스 계산을 & 연산으로)
+        private void grow() {
+            int capacity = quantities.length * 2;
+            long[] newQuantities = new long[capacity];
+            long[] newPrices = new long[capacity];
+            for (int i = 0; i < size; i++) {
+                int slot = (head + i) & (quantities.length - 1);
+                newQuantities[i] = quantities[slot];
+                newPrices[i] = prices[slot];
+            }
+            quantities = newQuantities;
+            prices = newPrices;
+            head = 0;
+        }
+    }
+
+    /**
+     * 과세 연도 하나의 티커별 결과 (수량은 Decimal8 units, 금액은 BigDecimal, 재사용 가능)
+     */
+    public static final class Result {
+        private int sells;
+        private long disposedQuantity;
+        private long unmatchedQuantity;
+        private final Decimal8Sum proceeds = new Decimal8Sum();
+        private final Decimal8Sum costBasis = new Decimal8Sum();
+
+        void reset() {
+            sells = 0;
+            disposedQuantity = 0L;
+            unmatchedQuantity = 0L;
+            proceeds.reset();
+            costBasis.reset();
+        }
+
+        public int sells() {
+            return sells;
+        }
+
+        public long disposedQuantity() {
+            return disposedQuantity;
+        }
+
+        public long unmatchedQuantity() {
+            return unmatchedQuantity;
+        }
+
+        public BigDecimal proceeds() {
+            return proceeds.toBigDecimal();
+        }
+
+        public BigDecimal costBasis() {
+            return costBasis.toBigDecimal();
+        }
+
+        public BigDecimal realizedGain() {
+            Decimal8Sum gain = new Decimal8Sum();
+            gain.add(proceeds);
+            gain.subtract(costBasis);
+            return gain.toBigDecimal();
+        }
+    }
+}
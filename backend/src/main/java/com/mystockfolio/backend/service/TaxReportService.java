@@ -0,0 +1,134 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.dto.TaxDto;
+import com.mystockfolio.backend.market.FxRates;
+import com.mystockfolio.backend.util.Decimal8;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 연도별 실현 손익 보고서 (세금 로트 매칭)
+ * - 원장을 한 번 스트리밍하여 티커별 원시 배열(TaxLotEngine.Fills)로 모은 뒤, 티커마다 병렬로 로트 매칭
+ * - 결과는 (사용자, 과세 연도, 방식)별로 UserResponseCache에 보관 - 거래/자산 변경은 holdings version을 올리므로 자동 무효화
+ */
+@Slf4j
+@Service
+public class TaxReportService {
+
+    private static final int MIN_YEAR = 1970;
+    private static final int MAX_YEAR = 9999;
+
+    private final LedgerService ledgerService;
+    private final UserHoldingsCache userHoldingsCache;
+    private final UserResponseCache userResponseCache;
+    private final FxRates fxRates;
+    private final ExecutorService executor;
+
+    public TaxReportService(LedgerService ledgerService, UserHoldingsCache userHoldingsCache,
+                            UserResponseCache userResponseCache, FxRates fxRates,
+                            @Value("${tax.report.parallelism:4}") int parallelism) {
+        this.ledgerService = ledgerService;
+        this.userHoldingsCache = userHoldingsCache;
+        this.userResponseCache = userResponseCache;
+        this.fxRates = fxRates;
+        this.executor = Executors.newFixedThreadPool(parallelism, daemonThreads());
+    }
+
+    /**
+     * 과세 연도 year의 실현 손익 (method: FIFO, LIFO, AVERAGE, 생략하면 FIFO)
+     */
+    public TaxDto.RealizedGainReport getRealizedGains(Long userId, int year, String method) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new IllegalArgumentException("year must be between " + MIN_YEAR + " and " + MAX_YEAR);
+        }
+        TaxLotEngine.Method lotMethod = TaxLotEngine.Method.of(method);
+        long version = userHoldingsCache.version(userId); // 조회 전에 읽어야 조회 중 변경을 놓치지 않음
+        return userResponseCache.get("tax|" + year + "|" + lotMethod, userId, version, UserResponseCache.NO_PRICES,
+                () -> buildReport(userId, year, lotMethod));
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private TaxDto.RealizedGainReport buildReport(Long userId, int year, TaxLotEngine.Method method) {
+        long start = System.currentTimeMillis();
+        Map<String, TaxLotEngine.Fills> fillsByTicker = ledgerService.loadFills(userId, LocalDate.of(year + 1, 1, 1).atStartOfDay());
+
+        // 티커별 매칭은 서로 독립 -> 작업 스레드마다 로트 큐/결과 객체를 새로 만들어 병렬 처리
+        List<CompletableFuture<TaxDto.TickerGain>> futures = new ArrayList<>(fillsByTicker.size());
+        long fills = 0;
+        for (Map.Entry<String, TaxLotEngine.Fills> entry : fillsByTicker.entrySet()) {
+            fills += entry.getValue().size();
+            futures.add(CompletableFuture.supplyAsync(() -> matchTicker(entry.getKey(), entry.getValue(), method, year), executor));
+        }
+
+        List<TaxDto.TickerGain> tickers = new ArrayList<>();
+        Map<String, BigDecimal[]> totals = new TreeMap<>(); // 통화 -> {양도가액, 취득가액} (합계는 Decimal8 범위를 넘을 수 있음)
+        try {
+            for (CompletableFuture<TaxDto.TickerGain> future : futures) {
+                TaxDto.TickerGain gain = future.join();
+                if (gain == null) {
+                    continue;
+                }
+                tickers.add(gain);
+                BigDecimal[] total = totals.computeIfAbsent(gain.getCurrency(),
+                        currency -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+                total[0] = total[0].add(gain.getProceeds());
+                total[1] = total[1].add(gain.getCostBasis());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        List<TaxDto.CurrencyTotal> currencyTotals = new ArrayList<>(totals.size());
+        for (Map.Entry<String, BigDecimal[]> entry : totals.entrySet()) {
+            BigDecimal[] total = entry.getValue();
+            currencyTotals.add(new TaxDto.CurrencyTotal(entry.getKey(), total[0], total[1], total[0].subtract(total[1])));
+        }
+        log.info("🧮 실현 손익 계산 - userId: {}, {}년 {}, 티커 {}개, 체결 {}건, {}ms", userId, year, method,
+                fillsByTicker.size(), fills, System.currentTimeMillis() - start);
+        return new TaxDto.RealizedGainReport(year, method.name(), fills, currencyTotals, tickers);
+    }
+
+    // 티커 하나의 매칭 결과 (과세 연도에 매도가 없으면 null)
+    private TaxDto.TickerGain matchTicker(String ticker, TaxLotEngine.Fills fills, TaxLotEngine.Method method, int year) {
+        TaxLotEngine.Result result = new TaxLotEngine.Result();
+        TaxLotEngine.match(fills, method, year, new TaxLotEngine.LotQueue(), result);
+        if (result.sells() == 0) {
+            return null;
+        }
+        FxRates.Snapshot fx = fxRates.snapshot();
+        return TaxDto.TickerGain.builder()
+                .ticker(ticker)
+                .currency(fx.code(fxRates.currencyIdOf(ticker, null)))
+                .sells(result.sells())
+                .disposedQuantity(Decimal8.ofUnits(result.disposedQuantity()))
+                .proceeds(result.proceeds())
+                .costBasis(result.costBasis())
+                .realizedGain(result.realizedGain())
+                .unmatchedQuantity(Decimal8.ofUnits(result.unmatchedQuantity()))
+                .build();
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("tax-report-");
+        factory.setDaemon(true);
+        return factory;
+    }
+}
@@ -0,0 +1,361 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.domain.event.AssetChangedEvent;
+import com.mystockfolio.backend.domain.event.AssetsBulkChangedEvent;
+import com.mystockfolio.backend.domain.event.PortfolioChangedEvent;
+import com.mystockfolio.backend.repository.AssetRepository;
+import com.mystockfolio.backend.repository.UserRepository;
+import com.mystockfolio.backend.util.CacheEviction;
+import com.mystockfolio.backend.util.Decimal8;
+import com.mystockfolio.backend.util.Decimal8Sum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 보유 현황 집계 (대시보드 통계용, 메모리 내 유지)
+ * - 처음 조회할 때 DB에서 한 번 집계하고, 이후에는 AssetChangedEvent의 변경 전/후 값으로 증감만 반영
+ * - 티커별 수량/매입 원가와 총 투자금을 보관하므로 통계 요청은 시세만 곱하면 됨 (DB 조회 없음)
+ * - 자산/포트폴리오 변경이 반영될 때마다 version이 증가 (응답/차트 캐시의 무효화 기준)
+ * - 사용자의 대시보드 기준 통화도 함께 보관 (변경 시 evict로 슬롯을 새로 만들어 version 교체)
+ */
+@Slf4j
+@Service
+public class UserHoldingsCache {
+
+    private final AssetRepository assetRepository;
+    private final UserRepository userRepository;
+    private final int maxUsers;
+
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    // 모든 사용자가 공유하는 version 발급기 (슬롯이 제거 후 다시 만들어져도 이전 version이 재사용되지 않음)
+    private final AtomicLong versions = new AtomicLong();
+
+    public UserHoldingsCache(AssetRepository assetRepository,
+                             UserRepository userRepository,
+                             @Value("${dashboard.holdings.max-users:10000}") int maxUsers) {
+        this.assetRepository = assetRepository;
+        this.userRepository = userRepository;
+        this.maxUsers = maxUsers;
+    }
+
+    /**
+     * 사용자의 보유 현황을 반환합니다. 캐시에 없으면 DB에서 집계하여 채웁니다.
+     */
+    public UserHoldings get(Long userId) {
+        Slot slot = slotOf(userId);
+        UserHoldings holdings = slot.holdings;
+        if (holdings != null) {
+            return holdings;
+        }
+
+        long version;
+        synchronized (slot) {
+            if (slot.holdings != null) {
+                return slot.holdings;
+            }
+            version = slot.version;
+        }
+
+        UserHoldings loaded = load(userId, version);
+        synchronized (slot) {
+            // 집계 도중 변경 이벤트가 들어왔다면 이번 결과는 저장하지 않고 다음 요청에서 다시 집계
+            if (slot.holdings == null && slot.version == version) {
+                slot.holdings = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    // 커밋된 자산 변경을 집계에 반영 (집계가 없는 사용자는 version만 올려 진행 중인 집계를 무효화)
+    @TransactionalEventListener
+    public void onAssetChanged(AssetChangedEvent event) {
+        Slot slot = slotOf(event.getUserId());
+        synchronized (slot) {
+            slot.version = versions.incrementAndGet();
+            if (slot.holdings != null) {
+                slot.holdings = slot.holdings.apply(event.getBefore(), event.getAfter(), slot.version);
+            }
+        }
+    }
+
+    // 일괄 변경은 스냅샷을 한 번만 새로 만듦 (건마다 반영하면 보유 종목 수 x 변경 건수만큼 복사)
+    @TransactionalEventListener
+    public void onAssetsBulkChanged(AssetsBulkChangedEvent event) {
+        Slot slot = slotOf(event.getUserId());
+        synchronized (slot) {
+            slot.version = versions.incrementAndGet();
+            if (slot.holdings != null) {
+                slot.holdings = slot.holdings.applyAll(event.getRemoved(), event.getAdded(), slot.version);
+            }
+        }
+    }
+
+    // 포트폴리오 생성/이름 변경/삭제는 보유 수량에 영향이 없으므로 version만 올림 (포트폴리오 목록 응답 캐시 무효화)
+    @TransactionalEventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        Slot slot = slotOf(event.getUserId());
+        synchronized (slot) {
+            slot.version = versions.incrementAndGet();
+            if (slot.holdings != null) {
+                slot.holdings = slot.holdings.withVersion(slot.version);
+            }
+        }
+    }
+
+    /**
+     * 사용자의 현재 version (집계를 불러오지 않음). 자산이나 포트폴리오가 바뀔 때마다 증가
+     */
+    public long version(Long userId) {
+        return slotOf(userId).version;
+    }
+
+    public void evict(Long userId) {
+        slots.remove(userId);
+    }
+
+    private Slot slotOf(Long userId) {
+        Slot slot = slots.get(userId);
+        if (slot == null) {
+            evictIfNeeded();
+            slot = slots.computeIfAbsent(userId, key -> new Slot(versions.incrementAndGet()));
+        }
+        slot.lastAccess = System.currentTimeMillis();
+        return slot;
+    }
+
+    // 최대 사용자 수에 도달하면 마지막 사용 시각이 이른 슬롯부터 제거 (최대 사용자 수의 90%까지, 표본 기반 근사)
+    // 제거된 사용자는 다음 조회 때 새 version으로 다시 집계
+    private void evictIfNeeded() {
+        if (slots.size() < maxUsers) {
+            return;
+        }
+        int removed = CacheEviction.evict(slots, (int) (maxUsers * 0.9), slot -> slot.lastAccess);
+        log.debug("보유 현황 캐시 정리 - 제거 {}명, 남은 사용자 {}명", removed, slots.size());
+    }
+
+    private UserHoldings load(Long userId, long version) {
+        // (자산 유형, 티커)별 합계를 DB에서 바로 받아 티커 단위로 합침
+        Map<String, Position> positions = new LinkedHashMap<>();
+        for (AssetRepository.HoldingSummary row : assetRepository.summarizeHoldingsByUserId(userId)) {
+            positions.merge(row.getTicker(), Position.of(row), Position::plus);
+        }
+        String baseCurrency = userRepository.findBaseCurrencyByUserId(userId).orElse("KRW");
+        log.debug("보유 현황 집계 - userId: {}, 티커 {}개, 기준 통화 {}", userId, positions.size(), baseCurrency);
+        return new UserHoldings(positions, baseCurrency, version);
+    }
+
+    private static final class Slot {
+        private volatile UserHoldings holdings;
+        private volatile long version;
+        private volatile long lastAccess;
+
+        private Slot(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * 한 사용자의 보유 현황 스냅샷 (불변, 변경 시 새 스냅샷으로 교체)
+     */
+    public static final class UserHoldings {
+        private final Map<String, Position> positions;
+        private final BigDecimal totalCost;
+        private final String baseCurrency;
+        private final long version;
+
+        // 집계 커널용 열 배열 (인덱스 = 티커 id, 스냅샷마다 한 번 생성)
+        private final String[] tickers;
+        private final int[] typeOrdinals;
+        private final long[] quantities;
+        private final long[] costs;
+        // 원가가 Decimal8 범위를 넘는 티커만 값이 있음 (costs[id] == PortfolioStatsKernel.WIDE_COST), 없으면 null
+        private final BigDecimal[] wideCosts;
+
+        private UserHoldings(UserHoldings source, long version) {
+            this.positions = source.positions;
+            this.totalCost = source.totalCost;
+            this.baseCurrency = source.baseCurrency;
+            this.tickers = source.tickers;
+            this.typeOrdinals = source.typeOrdinals;
+            this.quantities = source.quantities;
+            this.costs = source.costs;
+            this.wideCosts = source.wideCosts;
+            this.version = version;
+        }
+
+        // positions: 티커 -> 합산 보유분 (집계 외에 포트폴리오 단위 통계에서도 같은 열 배열로 평가하기 위해 사용)
+        UserHoldings(Map<String, Position> positions, String baseCurrency, long version) {
+            this.positions = Collections.unmodifiableMap(positions);
+            this.baseCurrency = baseCurrency;
+            this.version = version;
+            int n = positions.size();
+            this.tickers = new String[n];
+            this.typeOrdinals = new int[n];
+            this.quantities = new long[n];
+            this.costs = new long[n];
+            BigDecimal[] wide = null;
+            Decimal8Sum cost = new Decimal8Sum();
+            int i = 0;
+            for (Map.Entry<String, Position> entry : positions.entrySet()) {
+                Position position = entry.getValue();
+                tickers[i] = entry.getKey();
+                typeOrdinals[i] = position.assetType.ordinal();
+                quantities[i] = position.quantity;
+                BigInteger costUnits = position.cost.setScale(Decimal8.SCALE, RoundingMode.HALF_EVEN).unscaledValue();
+                if (costUnits.bitLength() < 64 && costUnits.longValue() != PortfolioStatsKernel.WIDE_COST) {
+                    costs[i] = costUnits.longValue();
+                } else {
+                    if (wide == null) {
+                        wide = new BigDecimal[n];
+                    }
+                    costs[i] = PortfolioStatsKernel.WIDE_COST;
+                    wide[i] = position.cost;
+                }
+                cost.add(position.cost);
+                i++;
+            }
+            this.wideCosts = wide;
+            this.totalCost = cost.toBigDecimal();
+        }
+
+        // 티커 -> 보유 수량/원가 (티커 단위로 합산)
+        public Map<String, Position> getPositions() {
+            return positions;
+        }
+
+        // 총 투자금 (수량 x 평균 매입가의 합)
+        public BigDecimal getTotalCost() {
+            return totalCost;
+        }
+
+        // 사용자가 설정한 대시보드 기준 통화
+        public String getBaseCurrency() {
+            return baseCurrency;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int size() {
+            return tickers.length;
+        }
+
+        public String tickerAt(int id) {
+            return tickers[id];
+        }
+
+        int[] typeOrdinals() {
+            return typeOrdinals;
+        }
+
+        // Decimal8 units
+        long[] quantities() {
+            return quantities;
+        }
+
+        // Decimal8 units (WIDE_COST면 wideCosts에)
+        long[] costs() {
+            return costs;
+        }
+
+        BigDecimal[] wideCosts() {
+            return wideCosts;
+        }
+
+        // 시세 조회용 티커 -> 자산 유형
+        public Map<String, AssetType> tickerTypes() {
+            Map<String, AssetType> tickers = new LinkedHashMap<>();
+            positions.forEach((ticker, position) -> tickers.put(ticker, position.assetType));
+            return tickers;
+        }
+
+        UserHoldings withVersion(long newVersion) {
+            return new UserHoldings(this, newVersion);
+        }
+
+        // 변경 전 보유분을 빼고 변경 후 보유분을 더한 새 스냅샷
+        UserHoldings apply(AssetChangedEvent.Holding before, AssetChangedEvent.Holding after, long newVersion) {
+            return applyAll(before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of(), newVersion);
+        }
+
+        UserHoldings applyAll(Collection<AssetChangedEvent.Holding> removed, Collection<AssetChangedEvent.Holding> added,
+                              long newVersion) {
+            Map<String, Position> next = new LinkedHashMap<>(positions);
+            for (AssetChangedEvent.Holding before : removed) {
+                Position minus = Position.of(before, -1);
+                next.computeIfPresent(before.getTicker(), (ticker, current) -> {
+                    Position merged = current.plus(minus);
+                    return merged.lots <= 0 ? null : merged;
+                });
+            }
+            for (AssetChangedEvent.Holding after : added) {
+                next.merge(after.getTicker(), Position.of(after, 1), Position::plus);
+            }
+            return new UserHoldings(next, baseCurrency, newVersion);
+        }
+    }
+
+    /**
+     * 티커 하나의 합산 보유분 (수량은 Decimal8 units, lots: 합산된 자산 행 수, 0이 되면 제거)
+     * 원가(수량 x 평균 매입가의 합)는 Decimal8 범위를 넘을 수 있으므로 BigDecimal (변경 이벤트에서만 계산)
+     */
+    public static final class Position {
+        private final AssetType assetType;
+        private final long quantity;
+        private final BigDecimal cost;
+        private final int lots;
+
+        Position(AssetType assetType, long quantity, BigDecimal cost, int lots) {
+            this.assetType = assetType;
+            this.quantity = quantity;
+            this.cost = cost;
+            this.lots = lots;
+        }
+
+        // DB 집계 행 하나 (자산 유형, 티커 단위 합계)
+        static Position of(AssetRepository.HoldingSummary row) {
+            return new Position(row.getAssetType(), Decimal8.of(row.getQuantity()).units(),
+                    Decimal8.plain(row.getCost().setScale(Decimal8.SCALE, RoundingMode.HALF_EVEN)), row.getLots().intValue());
+        }
+
+        // 이벤트의 보유 스냅샷 하나 (sign = 1: 더함, -1: 뺌)
+        static Position of(AssetChangedEvent.Holding holding, int sign) {
+            long quantity = holding.getQuantity().units();
+            BigDecimal cost = Decimal8.product(quantity, holding.getAvgBuyPrice().units());
+            return new Position(holding.getAssetType(), sign * quantity, sign < 0 ? cost.negate() : cost, sign);
+        }
+
+        public AssetType getAssetType() {
+            return assetType;
+        }
+
+        public Decimal8 getQuantity() {
+            return Decimal8.ofUnits(quantity);
+        }
+
+        public BigDecimal getCost() {
+            return cost;
+        }
+
+        Position plus(Position other) {
+            return new Position(assetType, Decimal8.addUnits(quantity, other.quantity), cost.add(other.cost),
+                    lots + other.lots);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.util.CacheEviction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 API 응답 캐시 (대시보드 통계, 포트폴리오 목록)
+ * - 키: (사용자, 응답 종류) / 유효성: (보유 현황 version, 시세 epoch, 부가 데이터 epoch)가 저장 당시와 같을 때만 적중
+ * - 자산/포트폴리오 변경은 version을, 시세 변동은 epoch를 올리므로 별도 무효화 호출이 필요 없음
+ * - 부가 데이터 epoch: 응답에 포함된 다른 캐시 데이터(평가액 추이 등)의 세대, 교체/만료되면 값이 바뀌거나 음수가 됨
+ * - 최대 크기를 넘으면 오래 사용되지 않은 항목부터 제거 (CacheEviction)
+ */
+@Slf4j
+@Service
+public class UserResponseCache {
+
+    // 시세와 무관한 응답(포트폴리오 목록 등)에 쓰는 epoch
+    public static final long NO_PRICES = 0L;
+
+    // 부가 데이터가 없는 응답에 쓰는 epoch
+    public static final long NO_DATA = 0L;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserResponseCache(@Value("${dashboard.response-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 캐시된 응답을 반환하고, 없거나 version/epoch가 바뀌었으면 loader로 계산하여 저장합니다.
+     * priceEpoch가 음수면 (일부 시세가 아직 없는 경우) 캐시하지 않고 매번 계산합니다.
+     */
+    public <T> T get(String kind, Long userId, long holdingsVersion, long priceEpoch, Supplier<T> loader) {
+        return get(kind, userId, holdingsVersion, priceEpoch, NO_DATA, loader);
+    }
+
+    /**
+     * get과 같지만 응답에 포함된 다른 캐시 데이터의 epoch(dataEpoch)도 함께 비교합니다.
+     * dataEpoch가 음수면 (부가 데이터가 만료되었거나 불완전한 경우) 캐시하지 않고 매번 계산합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, Long userId, long holdingsVersion, long priceEpoch, long dataEpoch, Supplier<T> loader) {
+        String key = userId + "|" + kind;
+        Entry entry = entries.get(key);
+        if (entry != null && entry.holdingsVersion == holdingsVersion && entry.priceEpoch == priceEpoch
+                && entry.dataEpoch == dataEpoch && dataEpoch >= 0) {
+            hits.increment();
+            entry.lastAccess = clock.incrementAndGet();
+            return (T) entry.value;
+        }
+
+        misses.increment();
+        T value = loader.get();
+        if (priceEpoch >= 0 && dataEpoch >= 0) {
+            entries.put(key, new Entry(holdingsVersion, priceEpoch, dataEpoch, value, clock.incrementAndGet()));
+            evictIfNeeded();
+        }
+        return value;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // 적중률 (0.0 ~ 1.0, 조회 이력이 없으면 0)
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total > 0 ? (double) h / total : 0.0;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 최대 크기를 넘으면 마지막 사용 시각이 이른 항목부터 제거 (최대 크기의 90%까지, 표본 기반 근사)
+    private void evictIfNeeded() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        evictions.add(CacheEviction.evict(entries, (int) (maxSize * 0.9), entry -> entry.lastAccess));
+        log.debug("응답 캐시 정리 - 남은 항목 {}개, 적중률 {}", entries.size(), getHitRatio());
+    }
+
+    private static final class Entry {
+        private final long holdingsVersion;
+        private final long priceEpoch;
+        private final long dataEpoch;
+        private final Object value;
+        private volatile long lastAccess;
+
+        private Entry(long holdingsVersion, long priceEpoch, long dataEpoch, Object value, long lastAccess) {
+            this.holdingsVersion = holdingsVersion;
+            this.priceEpoch = priceEpoch;
+            this.dataEpoch = dataEpoch;
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
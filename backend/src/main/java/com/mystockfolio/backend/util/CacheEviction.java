@@ -0,0 +1,80 @@
+package com.mystockfolio.backend.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 크기 제한이 있는 메모리 캐시(ConcurrentHashMap)의 일괄 제거 (QuoteCache, UserResponseCache, UserHoldingsCache 등)
+ * - 전체를 정렬하지 않고, 고르게 뽑은 표본에서 제거할 비율에 해당하는 rank 경계를 구해 경계 이하의 항목을 한 번에 제거
+ *   (항목 하나 제거할 때마다 전체를 훑던 O(n^2) 대신 한 번의 정리가 O(n), 보통 한두 번의 순회로 끝남)
+ * - 해시 순서는 rank(만료/사용 시각)와 무관하므로 순회 순서에서 일정 간격으로 고른 표본은 무작위 표본과 같음
+ * - 결과는 근사 LRU/만료순: 경계 근처의 항목은 rank가 조금 더 큰 항목보다 먼저 남을 수 있음
+ */
+public final class CacheEviction {
+
+    // rank 경계를 구하는 표본 크기
+    private static final int SAMPLE_SIZE = 256;
+
+    private CacheEviction() {
+    }
+
+    /**
+     * map의 크기가 target 이하가 될 때까지 rank가 작은 항목부터 제거하고 제거한 수를 반환합니다.
+     * evictable이 false인 항목(진행 중인 작업 등)은 남기므로 target보다 클 수 있음
+     * onEvict는 map에서 제거한 항목마다 호출 (파일 등 항목이 가진 자원 정리)
+     */
+    public static <K, V> int evict(ConcurrentMap<K, V> map, int target, ToLongFunction<V> rank, Predicate<V> evictable,
+                                   Consumer<V> onEvict) {
+        int removed = 0;
+        long[] sample = new long[SAMPLE_SIZE];
+        while (map.size() > target) {
+            // 1. 표본에서 제거할 비율(초과분 / 전체)에 해당하는 rank 경계
+            int size = map.size();
+            int stride = Math.max(1, size / SAMPLE_SIZE);
+            int sampled = 0;
+            int index = 0;
+            for (V value : map.values()) {
+                if (index++ % stride == 0 && evictable.test(value)) {
+                    sample[sampled++] = rank.applyAsLong(value);
+                    if (sampled == SAMPLE_SIZE) {
+                        break;
+                    }
+                }
+            }
+            if (sampled == 0) {
+                break;
+            }
+            Arrays.sort(sample, 0, sampled);
+            long cutoff = sample[(int) Math.min(sampled - 1, (long) sampled * (size - target) / size)];
+
+            // 2. 경계 이하의 항목을 target까지 제거 (경계가 낮게 잡혀 덜 지웠으면 다음 순회에서 새 경계로 이어감)
+            int before = removed;
+            Iterator<V> it = map.values().iterator();
+            while (it.hasNext() && map.size() > target) {
+                V value = it.next();
+                if (rank.applyAsLong(value) <= cutoff && evictable.test(value)) {
+                    it.remove();
+                    removed++;
+                    onEvict.accept(value);
+                }
+            }
+            if (removed == before) {
+                break;
+            }
+        }
+        return removed;
+    }
+
+    public static <K, V> int evict(ConcurrentMap<K, V> map, int target, ToLongFunction<V> rank, Predicate<V> evictable) {
+        return evict(map, target, rank, evictable, value -> {
+        });
+    }
+
+    public static <K, V> int evict(ConcurrentMap<K, V> map, int target, ToLongFunction<V> rank) {
+        return evict(map, target, rank, value -> true);
+    }
+}
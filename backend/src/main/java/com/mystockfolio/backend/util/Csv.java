@@ -0,0 +1,53 @@
+package com.mystockfolio.backend.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * CSV(RFC 4180) 출력 - 쉼표/따옴표/줄바꿈이 들어간 값만 큰따옴표로 감싸고 "는 ""로 이스케이프
+ * 스트리밍 응답에서 행을 받는 즉시 기록하여 전체 목록을 메모리에 모으지 않음
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    // 한 행 기록 (null은 빈 값, 스트림 콜백 안에서 쓰므로 IOException은 UncheckedIOException으로 감쌈)
+    public static void writeRow(Writer out, Object... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(out, values[i].toString());
+                }
+            }
+            out.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeField(Writer out, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
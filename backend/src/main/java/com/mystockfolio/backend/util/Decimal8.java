@@ -0,0 +1,213 @@
+package com.mystockfolio.backend.util;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.mystockfolio.backend.exception.AmountOutOfRangeException;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 소수점 8자리 고정소수점 수 (수량, 단가, 금액 공용)
+ * - 값 x 10^8을 long 하나(units)로 보관: 1 BTC = 100,000,000 units (1 satoshi = 1 unit)
+ * - 표현 범위: 약 ±92,233,720,368.54775807 (초과 시 AmountOutOfRangeException)
+ * - 수량 x 단가처럼 범위를 넘을 수 있는 금액(거래 금액, 종목 원가)은 product(BigDecimal)나 Decimal8Sum으로 계산
+ * - DB 컬럼(DECIMAL(20,8))과는 Decimal8Converter로, JSON과는 숫자(BigDecimal)로 변환
+ * 집계처럼 반복되는 계산은 객체 없이 units(long)에 정적 메서드(multiplyUnits 등)를 직접 사용
+ */
+public final class Decimal8 implements Comparable<Decimal8> {
+
+    public static final int SCALE = 8;
+    public static final long ONE = 100_000_000L;
+    private static final long HALF = ONE / 2;
+
+    public static final Decimal8 ZERO = new Decimal8(0L);
+
+    private final long units;
+
+    private Decimal8(long units) {
+        this.units = units;
+    }
+
+    public static Decimal8 ofUnits(long units) {
+        return units == 0L ? ZERO : new Decimal8(units);
+    }
+
+    // 소수점 8자리 초과분은 HALF_EVEN으로 반올림, 범위를 넘으면 IllegalArgumentException
+    @JsonCreator
+    public static Decimal8 of(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ofUnits(value.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value out of range for 8-decimal fixed point: " + value);
+        }
+    }
+
+    public static Decimal8 of(String value) {
+        return of(new BigDecimal(value));
+    }
+
+    // double -> 가장 가까운 10^-8 단위 (외부 시세처럼 원래 double인 값에만 사용)
+    public static Decimal8 ofDouble(double value) {
+        return ofUnits(unitsOf(value));
+    }
+
+    public static long unitsOf(double value) {
+        if (!Double.isFinite(value) || Math.abs(value) >= Long.MAX_VALUE / (double) ONE) {
+            throw new AmountOutOfRangeException("Value out of range for 8-decimal fixed point: " + value);
+        }
+        return Math.round(value * ONE);
+    }
+
+    /**
+     * (a x b) / 10^8, HALF_EVEN 반올림 - 두 units 값의 곱 (예: 수량 x 단가 = 금액)
+     * 중간 결과가 long을 넘지 않도록 정수부/소수부로 나누어 곱함 (BigDecimal 없음), 결과가 범위를 넘으면 AmountOutOfRangeException
+     */
+    public static long multiplyUnits(long a, long b) {
+        try {
+            return multiplyUnitsExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new AmountOutOfRangeException("Product out of range for 8-decimal fixed point: "
+                    + ofUnits(a) + " x " + ofUnits(b));
+        }
+    }
+
+    /**
+     * (a x b) / 10^8, HALF_EVEN 반올림 - 범위 제한 없는 정확한 곱 (뒤쪽 0 제거, toJson과 같은 표기)
+     * 거래 금액처럼 Decimal8 범위를 넘을 수 있는 곱에 사용 (BigDecimal 할당이 있으므로 반복 집계에는 multiplyUnits)
+     */
+    public static BigDecimal product(long a, long b) {
+        return plain(BigDecimal.valueOf(a, SCALE).multiply(BigDecimal.valueOf(b, SCALE))
+                .setScale(SCALE, RoundingMode.HALF_EVEN));
+    }
+
+    // JSON 숫자 표기 (불필요한 뒤쪽 0 제거, 지수 표기 없음) - BigDecimal로 내보내는 금액에 공통 적용
+    public static BigDecimal plain(BigDecimal value) {
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    // 두 units 값의 합 (범위를 넘으면 AmountOutOfRangeException)
+    public static long addUnits(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            throw new AmountOutOfRangeException("Sum out of range for 8-decimal fixed point: "
+                    + ofUnits(a) + " + " + ofUnits(b));
+        }
+        return sum;
+    }
+
+    private static long multiplyUnitsExact(long a, long b) {
+        long bInt = Math.floorDiv(b, ONE);
+        long bFrac = Math.floorMod(b, ONE);
+        long aInt = Math.floorDiv(a, ONE);
+        long aFrac = Math.floorMod(a, ONE);
+        // a x b / 10^8 = a x bInt + aInt x bFrac + (aFrac x bFrac) / 10^8, 마지막 항만 반올림 대상 (0 <= aFrac x bFrac < 10^16)
+        long fracProduct = aFrac * bFrac;
+        long result = Math.addExact(Math.multiplyExact(a, bInt), Math.multiplyExact(aInt, bFrac));
+        result = Math.addExact(result, fracProduct / ONE);
+        long remainder = fracProduct % ONE;
+        if (remainder > HALF || (remainder == HALF && (result & 1L) != 0)) {
+            result = Math.addExact(result, 1L);
+        }
+        return result;
+    }
+
+    /**
+     * (a x 10^8) / b, HALF_EVEN 반올림 - units 값의 나눗셈 (예: 총 비용 / 수량 = 평균 단가)
+     * 평균 단가 갱신처럼 드문 경로에서만 쓰므로 중간 계산은 BigDecimal 사용
+     */
+    public static long divideUnits(long a, long b) {
+        if (b == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+        BigDecimal quotient = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(ONE))
+                .divide(BigDecimal.valueOf(b), 0, RoundingMode.HALF_EVEN);
+        if (quotient.unscaledValue().bitLength() > 63) {
+            throw new AmountOutOfRangeException("Quotient out of range for 8-decimal fixed point: " + quotient);
+        }
+        return quotient.longValue();
+    }
+
+    /**
+     * units x factor (환율 환산 등 원래 근사값인 배율 적용), 가장 가까운 unit으로 반올림
+     */
+    public static long scaleUnits(long units, double factor) {
+        if (factor == 1.0) {
+            return units;
+        }
+        double scaled = units * factor;
+        if (!(Math.abs(scaled) < Long.MAX_VALUE)) {
+            throw new AmountOutOfRangeException("Value out of range for 8-decimal fixed point: " + scaled / ONE);
+        }
+        return Math.round(scaled);
+    }
+
+    public long units() {
+        return units;
+    }
+
+    public Decimal8 plus(Decimal8 other) {
+        return ofUnits(addUnits(units, other.units));
+    }
+
+    public Decimal8 minus(Decimal8 other) {
+        long diff = units - other.units;
+        if (((units ^ other.units) & (units ^ diff)) < 0) {
+            throw new AmountOutOfRangeException("Difference out of range for 8-decimal fixed point: " + this + " - " + other);
+        }
+        return ofUnits(diff);
+    }
+
+    public Decimal8 times(Decimal8 other) {
+        return ofUnits(multiplyUnits(units, other.units));
+    }
+
+    public Decimal8 negate() {
+        if (units == Long.MIN_VALUE) {
+            throw new AmountOutOfRangeException("Value out of range for 8-decimal fixed point: -" + this);
+        }
+        return ofUnits(-units);
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    public double toDouble() {
+        return (double) units / ONE;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    // JSON 숫자로 직렬화 (불필요한 뒤쪽 0 제거, 지수 표기 없음)
+    @JsonValue
+    public BigDecimal toJson() {
+        return plain(toBigDecimal());
+    }
+
+    @Override
+    public int compareTo(Decimal8 other) {
+        return Long.compare(units, other.units);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Decimal8 other && units == other.units);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(units);
+    }
+
+    @Override
+    public String toString() {
+        return toJson().toPlainString();
+    }
+}
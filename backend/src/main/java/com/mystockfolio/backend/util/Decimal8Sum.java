@@ -0,0 +1,127 @@
+package com.mystockfolio.backend.util;
+
+import com.mystockfolio.backend.exception.AmountOutOfRangeException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Decimal8 units(long)의 128비트 누적 합 (가변, 스레드 간 공유 금지)
+ * - 종목 하나의 금액은 Decimal8 범위(약 ±920억) 안의 long으로 계산하고, 여러 종목을 더하는 합계만 이 클래스로 누적
+ *   (원화 포트폴리오 합계가 920억을 넘어도 정확, add는 할당/BigDecimal 없음)
+ * - 종목 하나의 곱(수량 x 단가)도 범위를 넘을 수 있으면 addProduct: 범위 안이면 long 곱, 넘을 때만 BigDecimal
+ * - 값 = high x 2^64 + (low를 부호 없는 수로 본 값)
+ */
+public final class Decimal8Sum {
+
+    private static final double TWO_POW_64 = 0x1p64;
+
+    private long low;
+    private long high;
+
+    public void add(long units) {
+        long sum = low + units;
+        // units의 부호 확장(0 또는 -1) + 하위 64비트 자리올림
+        high += (units >> 63) + (Long.compareUnsigned(sum, low) < 0 ? 1L : 0L);
+        low = sum;
+    }
+
+    // 정확한 금액 더하기 (소수점 8자리 밑은 HALF_EVEN), 범위를 넘는 종목 금액처럼 드문 경로용
+    public void add(BigDecimal value) {
+        BigInteger units = value.setScale(Decimal8.SCALE, RoundingMode.HALF_EVEN).unscaledValue();
+        if (units.bitLength() > 127) {
+            throw new AmountOutOfRangeException("Value out of range for 128-bit sum: " + value);
+        }
+        long otherLow = units.longValue();
+        long otherHigh = units.shiftRight(64).longValue();
+        long sum = low + otherLow;
+        high += otherHigh + (Long.compareUnsigned(sum, low) < 0 ? 1L : 0L);
+        low = sum;
+    }
+
+    // (a x b) / 10^8 (HALF_EVEN)을 더함 - multiplyUnits와 같은 값, long 범위를 넘는 곱도 정확
+    public void addProduct(long a, long b) {
+        long product;
+        try {
+            product = Decimal8.multiplyUnits(a, b);
+        } catch (AmountOutOfRangeException e) {
+            add(Decimal8.product(a, b));
+            return;
+        }
+        add(product);
+    }
+
+    public void add(Decimal8Sum other) {
+        long sum = low + other.low;
+        high += other.high + (Long.compareUnsigned(sum, low) < 0 ? 1L : 0L);
+        low = sum;
+    }
+
+    public void subtract(Decimal8Sum other) {
+        long diff = low - other.low;
+        high -= other.high + (Long.compareUnsigned(low, other.low) < 0 ? 1L : 0L);
+        low = diff;
+    }
+
+    public void reset() {
+        low = 0L;
+        high = 0L;
+    }
+
+    public int signum() {
+        return high != 0L ? Long.signum(high) : (low != 0L ? 1 : 0);
+    }
+
+    // long(Decimal8 units) 범위 안인지
+    public boolean fitsInLong() {
+        return high == (low >> 63);
+    }
+
+    // long(Decimal8 units) 값 (범위를 넘으면 AmountOutOfRangeException)
+    public long units() {
+        if (!fitsInLong()) {
+            throw new AmountOutOfRangeException("Value out of range for 8-decimal fixed point: " + this);
+        }
+        return low;
+    }
+
+    // 합계 / divisor(units), HALF_EVEN - Decimal8.divideUnits와 같은 값 (예: 총 원가 / 총 수량 = 평균 단가)
+    public long divideUnits(long divisor) {
+        if (fitsInLong()) {
+            return Decimal8.divideUnits(low, divisor);
+        }
+        if (divisor == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+        BigInteger quotient = toBigDecimal().divide(BigDecimal.valueOf(divisor, Decimal8.SCALE), Decimal8.SCALE, RoundingMode.HALF_EVEN)
+                .unscaledValue();
+        if (quotient.bitLength() > 63) {
+            throw new AmountOutOfRangeException("Quotient out of range for 8-decimal fixed point: " + this + " / " + divisor);
+        }
+        return quotient.longValue();
+    }
+
+    // 비율(수익률, 배분 %) 계산용 근사값 (units 단위)
+    public double doubleUnits() {
+        double unsignedLow = (double) (low >>> 1) * 2.0 + (low & 1L);
+        return high * TWO_POW_64 + unsignedLow;
+    }
+
+    // 정확한 값 (Decimal8.toJson과 같은 표기: 뒤쪽 0 제거, 지수 표기 없음)
+    public BigDecimal toBigDecimal() {
+        BigDecimal value;
+        if (fitsInLong()) {
+            value = BigDecimal.valueOf(low, Decimal8.SCALE);
+        } else {
+            BigInteger units = BigInteger.valueOf(high).shiftLeft(64).add(new BigInteger(Long.toUnsignedString(low)));
+            value = new BigDecimal(units, Decimal8.SCALE);
+        }
+        return Decimal8.plain(value);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
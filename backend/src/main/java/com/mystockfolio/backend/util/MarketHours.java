@@ -0,0 +1,44 @@
+package com.mystockfolio.backend.util;
+
+import com.mystockfolio.backend.domain.entity.AssetType;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * 티커가 거래되는 시장의 정규장 여부 판단 (공휴일은 고려하지 않음)
+ * - 암호화폐 계열: 24시간 거래
+ * - 한국 주식(.KS/.KQ): 09:00 ~ 15:30 (Asia/Seoul)
+ * - 그 외 주식: 미국 정규장 09:30 ~ 16:00 (America/New_York)
+ */
+public final class MarketHours {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private MarketHours() {
+    }
+
+    public static boolean isOpen(String ticker, AssetType assetType, Instant now) {
+        if (assetType != AssetType.STOCK) {
+            return true;
+        }
+        if (ticker.endsWith(".KS") || ticker.endsWith(".KQ")) {
+            return isWithin(now, SEOUL, LocalTime.of(9, 0), LocalTime.of(15, 30));
+        }
+        return isWithin(now, NEW_YORK, LocalTime.of(9, 30), LocalTime.of(16, 0));
+    }
+
+    private static boolean isWithin(Instant now, ZoneId zone, LocalTime open, LocalTime close) {
+        ZonedDateTime local = now.atZone(zone);
+        DayOfWeek day = local.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            return false;
+        }
+        LocalTime time = local.toLocalTime();
+        return !time.isBefore(open) && time.isBefore(close);
+    }
+}
@@ -0,0 +1,27 @@
+package com.mystockfolio.backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * NDJSON(application/x-ndjson) 출력 - 한 줄에 JSON 객체 하나
+ * 스트리밍 응답에서 행을 받는 즉시 기록하여 전체 목록을 메모리에 모으지 않음
+ */
+public final class Ndjson {
+
+    private Ndjson() {
+    }
+
+    // 값 하나를 한 줄로 기록 (스트림 콜백 안에서 쓰므로 IOException은 UncheckedIOException으로 감쌈)
+    public static void writeLine(ObjectMapper objectMapper, OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.mystockfolio.backend.market;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lttb(Largest-Triangle-Three-Buckets) 다운샘플링 - 첫/마지막 점 유지, 짧은 입력 그대로 복사, 작은 입력의 선택 결과
+ */
+class LttbTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsFirstAndLastPoints() throws IOException {
+        Random random = new Random(3);
+        double[] closes = new double[1_000];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 100 + random.nextGaussian() * 10;
+        }
+        try (MappedSeriesFile file = series(1_000, closes)) {
+            PriceHistoryStore.Slice slice = file.slice(Integer.MIN_VALUE);
+            int[] days = new int[50];
+            double[] out = new double[50];
+
+            int n = Lttb.downsample(slice, 50, days, out);
+
+            assertThat(n).isEqualTo(50);
+            assertThat(days[0]).isEqualTo(1_000);
+            assertThat(out[0]).isEqualTo(closes[0]);
+            assertThat(days[49]).isEqualTo(1_999);
+            assertThat(out[49]).isEqualTo(closes[999]);
+            // 날짜 오름차순, 버킷마다 한 점
+            for (int i = 1; i < n; i++) {
+                assertThat(days[i]).isGreaterThan(days[i - 1]);
+            }
+        }
+    }
+
+    @Test
+    void copiesInputWhenThresholdIsNotSmaller() throws IOException {
+        double[] closes = {1.0, 2.0, 3.0, 4.0, 5.0};
+        try (MappedSeriesFile file = series(10, closes)) {
+            PriceHistoryStore.Slice slice = file.slice(Integer.MIN_VALUE);
+            int[] days = new int[8];
+            double[] out = new double[8];
+
+            assertThat(Lttb.downsample(slice, 5, days, out)).isEqualTo(5);
+            assertThat(Arrays.copyOf(days, 5)).containsExactly(10, 11, 12, 13, 14);
+            assertThat(Arrays.copyOf(out, 5)).containsExactly(closes);
+
+            // threshold가 3보다 작아도 그대로 복사
+            assertThat(Lttb.downsample(slice, 2, days, out)).isEqualTo(5);
+            assertThat(Arrays.copyOf(out, 5)).containsExactly(closes);
+        }
+    }
+
+    @Test
+    void picksLargestTrianglePerBucket() throws IOException {
+        // 10개 점 -> 4개: 가운데 8개 점을 두 버킷(1~4, 5~8)으로 나눠 버킷마다 튀는 점(10, -5)을 고름
+        double[] closes = {1, 1, 1, 10, 1, 1, 1, 1, -5, 1};
+        try (MappedSeriesFile file = series(0, closes)) {
+            int[] days = new int[4];
+            double[] out = new double[4];
+
+            int n = Lttb.downsample(file.slice(Integer.MIN_VALUE), 4, days, out);
+
+            assertThat(n).isEqualTo(4);
+            assertThat(days).containsExactly(0, 3, 8, 9);
+            assertThat(out).containsExactly(1.0, 10.0, -5.0, 1.0);
+        }
+    }
+
+    // firstDay부터 하루씩 이어지는 종가 파일
+    private MappedSeriesFile series(int firstDay, double[] closes) throws IOException {
+        int[] days = new int[closes.length];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = firstDay + i;
+        }
+        return MappedSeriesFile.create(dir.resolve("series.bin"), days, closes, closes.length, firstDay, true, 0L);
+    }
+}
@@ -0,0 +1,79 @@
+package com.mystockfolio.backend.market;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MappedSeriesFile 파일 형식 - 생성, 이어 붙이기, 용량 확장, 다시 열기, 손상된 count 복구
+ */
+class MappedSeriesFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsThroughAppendGrowAndReopen() throws IOException {
+        Path path = dir.resolve("AAPL.series");
+        int[] days = {100, 101, 102};
+        double[] closes = {10.0, 11.0, 12.0};
+
+        try (MappedSeriesFile file = MappedSeriesFile.create(path, days, closes, 3, 100, false, 1_234L, 4)) {
+            assertThat(file.size()).isEqualTo(3);
+            assertThat(file.capacity()).isEqualTo(4);
+
+            // 마지막 날 이전은 건너뛰고, 같은 날은 종가만 갱신, 이후는 이어 붙임 (용량 4 -> 확장)
+            int added = file.append(new int[]{101, 102, 103, 104, 105}, new double[]{0.0, 12.5, 13.0, 14.0, 15.0}, 5);
+            assertThat(added).isEqualTo(3);
+            assertThat(file.size()).isEqualTo(6);
+            assertThat(file.capacity()).isGreaterThan(4);
+            file.markSynced(5_678L);
+        }
+
+        try (MappedSeriesFile reopened = MappedSeriesFile.open(path)) {
+            assertThat(reopened.size()).isEqualTo(6);
+            assertThat(reopened.coveredFrom()).isEqualTo(100);
+            assertThat(reopened.complete()).isFalse();
+            assertThat(reopened.syncedAt()).isEqualTo(5_678L);
+            assertThat(reopened.lastDay()).isEqualTo(105);
+
+            PriceHistoryStore.Slice all = reopened.slice(Integer.MIN_VALUE);
+            int[] expectedDays = {100, 101, 102, 103, 104, 105};
+            double[] expectedCloses = {10.0, 11.0, 12.5, 13.0, 14.0, 15.0};
+            for (int i = 0; i < expectedDays.length; i++) {
+                assertThat(all.dayAt(i)).isEqualTo(expectedDays[i]);
+                assertThat(all.closeAt(i)).isEqualTo(expectedCloses[i]);
+            }
+
+            PriceHistoryStore.Slice tail = reopened.slice(103);
+            assertThat(tail.length()).isEqualTo(3);
+            assertThat(tail.dayAt(0)).isEqualTo(103);
+        }
+    }
+
+    @Test
+    void truncatesRecordsThatWereNotWrittenBeforeCrash() throws IOException {
+        Path path = dir.resolve("MSFT.series");
+        MappedSeriesFile.create(path, new int[]{200, 201}, new double[]{1.0, 2.0}, 2, 200, true, 0L, 8).close();
+
+        // count만 기록되고 레코드는 기록되지 않은 상태 (레코드 자리는 0)
+        try (RandomAccessFile raw = new RandomAccessFile(path.toFile(), "rw")) {
+            raw.seek(8);
+            raw.writeInt(5);
+        }
+
+        try (MappedSeriesFile reopened = MappedSeriesFile.open(path)) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.lastDay()).isEqualTo(201);
+        }
+        // 잘라낸 count는 파일에도 반영
+        try (MappedSeriesFile reopened = MappedSeriesFile.open(path)) {
+            assertThat(reopened.size()).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.AssetType;
+import com.mystockfolio.backend.dto.AssetDto;
+import com.mystockfolio.backend.util.Decimal8;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CSV 행 -> 자산 생성 요청 변환 (숫자/티커 정규화, 행 단위 검증)
+ */
+class AssetImportServiceTest {
+
+    @Test
+    void parseAmountStripsGroupingAndCurrencySymbols() {
+        assertThat(AssetImportService.parseAmount("1,234.5")).isEqualTo(Decimal8.of("1234.5"));
+        assertThat(AssetImportService.parseAmount("$ 189.90")).isEqualTo(Decimal8.of("189.9"));
+        assertThat(AssetImportService.parseAmount("₩71,000")).isEqualTo(Decimal8.of("71000"));
+        assertThat(AssetImportService.parseAmount("0.00000001")).isEqualTo(Decimal8.ofUnits(1L));
+
+        assertThatThrownBy(() -> AssetImportService.parseAmount("12abc")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AssetImportService.parseAmount("1.2.3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AssetImportService.parseAmount("$")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void normalizeTickerAddsExchangeSuffixes() {
+        assertThat(AssetImportService.normalizeTicker("005930", AssetType.STOCK)).isEqualTo("005930.KS");
+        assertThat(AssetImportService.normalizeTicker("AAPL", AssetType.STOCK)).isEqualTo("AAPL");
+        assertThat(AssetImportService.normalizeTicker("BTC", AssetType.COIN)).isEqualTo("BTC-USD");
+        assertThat(AssetImportService.normalizeTicker("BTC-USD", AssetType.COIN)).isEqualTo("BTC-USD");
+        assertThat(AssetImportService.normalizeTicker("USDT", AssetType.STABLECOIN)).isEqualTo("USDT");
+    }
+
+    @Test
+    void mapsBrokerAssetTypes() {
+        assertThat(AssetImportService.parseAssetType("ETF")).isEqualTo(AssetType.STOCK);
+        assertThat(AssetImportService.parseAssetType("Equity")).isEqualTo(AssetType.STOCK);
+        assertThat(AssetImportService.parseAssetType("crypto")).isEqualTo(AssetType.COIN);
+        assertThat(AssetImportService.parseAssetType(" defi ")).isEqualTo(AssetType.DEFI);
+        assertThatThrownBy(() -> AssetImportService.parseAssetType("Bond"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid asset type");
+    }
+
+    @Test
+    void toCreateRequestValidatesEachRow() throws IOException {
+        AssetDto.AssetCreateRequest create = AssetImportService.toCreateRequest(row("btc,0.5,\"$60,000\",Crypto"));
+        assertThat(create.getTicker()).isEqualTo("BTC-USD");
+        assertThat(create.getAssetType()).isEqualTo("COIN");
+        assertThat(create.getQuantity()).isEqualTo(Decimal8.of("0.5"));
+        assertThat(create.getAvgBuyPrice()).isEqualTo(Decimal8.of("60000"));
+
+        assertThat(AssetImportService.toCreateRequest(row("005930,3,71000,")).getAssetType()).isEqualTo("STOCK");
+
+        assertThatThrownBy(() -> AssetImportService.toCreateRequest(row("AAPL,0,100,STOCK")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Quantity");
+        assertThatThrownBy(() -> AssetImportService.toCreateRequest(row("AAPL,1,-5,STOCK")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Average buy price");
+        assertThatThrownBy(() -> AssetImportService.toCreateRequest(row("AAPL,1,100,Bond")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Invalid asset type");
+        assertThatThrownBy(() -> AssetImportService.toCreateRequest(row(",1,100,STOCK")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Ticker");
+    }
+
+    private static BrokerCsvReader.Row row(String line) throws IOException {
+        try (BrokerCsvReader reader = new BrokerCsvReader(new StringReader("ticker,quantity,price,type\n" + line + "\n"))) {
+            return reader.next();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mystockfolio.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BrokerCsvReader - 필드 분리(따옴표, "" 이스케이프)와 헤더 별칭/BOM/빈 줄 처리
+ */
+class BrokerCsvReaderTest {
+
+    @Test
+    void splitsPlainAndQuotedFields() {
+        List<String> out = new ArrayList<>();
+        BrokerCsvReader.split("AAPL,10,\"1,234.50\",STOCK", out);
+        assertThat(out).containsExactly("AAPL", "10", "1,234.50", "STOCK");
+
+        BrokerCsvReader.split("\"Say \"\"Hi\"\" Inc\",,\"\"", out);
+        assertThat(out).containsExactly("Say \"Hi\" Inc", "", "");
+
+        BrokerCsvReader.split("", out);
+        assertThat(out).containsExactly("");
+
+        BrokerCsvReader.split("a,b,", out);
+        assertThat(out).containsExactly("a", "b", "");
+    }
+
+    @Test
+    void readsRowsByHeaderAliases() throws IOException {
+        String csv = "﻿Symbol, Shares ,Average_Price,Description\n"
+                + "aapl, 10 ,\"1,234.5\",\"Apple, Inc.\"\n"
+                + "\n"
+                + "005930,3,\"₩71,000\",\n";
+        try (BrokerCsvReader reader = new BrokerCsvReader(new StringReader(csv))) {
+            BrokerCsvReader.Row first = reader.next();
+            assertThat(first.getLineNumber()).isEqualTo(2);
+            assertThat(first.getTicker()).isEqualTo("aapl");
+            assertThat(first.getQuantity()).isEqualTo("10");
+            assertThat(first.getAvgBuyPrice()).isEqualTo("1,234.5");
+            assertThat(first.getName()).isEqualTo("Apple, Inc.");
+            assertThat(first.getAssetType()).isNull();
+
+            BrokerCsvReader.Row second = reader.next();
+            assertThat(second.getLineNumber()).isEqualTo(4);
+            assertThat(second.getTicker()).isEqualTo("005930");
+            assertThat(second.getName()).isNull();
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> new BrokerCsvReader(new StringReader("ticker,name\nAAPL,Apple\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("quantity");
+    }
+}
@@ -0,0 +1,164 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.domain.entity.TransactionType;
+import com.mystockfolio.backend.util.Decimal8;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PositionEngine(이동 평균법 증분 계산)과 단순 참조 구현(BigDecimal)의 결과 비교
+ */
+class PositionEngineTest {
+
+    private static final PositionEngine.Position EMPTY = new PositionEngine.Position(0L, 0L, 0L);
+
+    @Test
+    void buysAverageTheCost() {
+        PositionEngine.Position position = PositionEngine.apply(EMPTY, TransactionType.BUY, units(10), units(100));
+        position = PositionEngine.apply(position, TransactionType.BUY, units(5), units(130));
+
+        assertThat(position.quantity()).isEqualTo(units(15));
+        assertThat(position.avgBuyPrice()).isEqualTo(units(110));
+        assertThat(position.realizedPnl()).isEqualTo(0L);
+
+        // 입고(DEPOSIT)도 같은 방식으로 평균에 반영
+        position = PositionEngine.apply(position, TransactionType.DEPOSIT, units(5), units(70));
+        assertThat(position.quantity()).isEqualTo(units(20));
+        assertThat(position.avgBuyPrice()).isEqualTo(units(100));
+    }
+
+    @Test
+    void sellRealizesGainAndKeepsAverage() {
+        PositionEngine.Position position = new PositionEngine.Position(units(15), units(110), 0L);
+        position = PositionEngine.apply(position, TransactionType.SELL, units(3), units(150));
+
+        assertThat(position.quantity()).isEqualTo(units(12));
+        assertThat(position.avgBuyPrice()).isEqualTo(units(110));
+        assertThat(position.realizedPnl()).isEqualTo(units(120));
+
+        // 손실 매도, 출고(WITHDRAW)는 손익 없이 수량만 감소
+        position = PositionEngine.apply(position, TransactionType.SELL, units(2), units(100));
+        assertThat(position.realizedPnl()).isEqualTo(units(100));
+        position = PositionEngine.apply(position, TransactionType.WITHDRAW, units(4), units(999));
+        assertThat(position.quantity()).isEqualTo(units(6));
+        assertThat(position.realizedPnl()).isEqualTo(units(100));
+    }
+
+    @Test
+    void sellingToZeroResetsAverage() {
+        PositionEngine.Position position = new PositionEngine.Position(units(2), units(50), units(7));
+        position = PositionEngine.apply(position, TransactionType.SELL, units(2), units(60));
+
+        assertThat(position.quantity()).isEqualTo(0L);
+        assertThat(position.avgBuyPrice()).isEqualTo(0L);
+        assertThat(position.realizedPnl()).isEqualTo(units(27));
+
+        // 다시 매수하면 이전 평균 단가의 영향 없이 새로 시작
+        position = PositionEngine.apply(position, TransactionType.BUY, units(1), units(80));
+        assertThat(position.avgBuyPrice()).isEqualTo(units(80));
+    }
+
+    @Test
+    void rejectsOverSellingAndInvalidAmounts() {
+        PositionEngine.Position position = new PositionEngine.Position(units(3), units(100), 0L);
+
+        assertThatThrownBy(() -> PositionEngine.apply(position, TransactionType.SELL, units(4), units(100)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("only 3 held");
+        assertThatThrownBy(() -> PositionEngine.apply(position, TransactionType.WITHDRAW, units(3) + 1, units(100)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PositionEngine.apply(position, TransactionType.BUY, 0L, units(100)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PositionEngine.apply(position, TransactionType.BUY, units(1), -1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void averageRoundsHalfEvenToEightDecimals() {
+        // (1 x 1 + 2 x 1.00000001) / 3 = 1.000000006666... -> 1.00000001
+        PositionEngine.Position position = PositionEngine.apply(EMPTY, TransactionType.BUY, units(1), units(1));
+        position = PositionEngine.apply(position, TransactionType.BUY, units(2), units(1) + 1);
+        assertThat(position.avgBuyPrice()).isEqualTo(units(1) + 1);
+
+        // 100 / 3 = 33.333333333... -> 33.33333333
+        position = PositionEngine.apply(EMPTY, TransactionType.BUY, units(3), Decimal8.of("33.333333333").units());
+        assertThat(position.avgBuyPrice()).isEqualTo(Decimal8.of("33.33333333").units());
+    }
+
+    @Test
+    void largeKrwTradesKeepAverageWithinRange() {
+        // 원화 100만 주 x 100,000원 = ₩1,000억 매수 (총 원가는 Decimal8 범위 밖, 평균 단가는 범위 안)
+        PositionEngine.Position position = PositionEngine.apply(EMPTY, TransactionType.BUY, units(1_000_000), units(100_000));
+        position = PositionEngine.apply(position, TransactionType.BUY, units(500_000), units(100_003));
+        assertThat(position.quantity()).isEqualTo(units(1_500_000));
+        assertThat(position.avgBuyPrice()).isEqualTo(units(100_001));
+
+        position = PositionEngine.apply(position, TransactionType.SELL, units(100_000), units(100_101));
+        assertThat(position.realizedPnl()).isEqualTo(units(10_000_000));
+    }
+
+    @Test
+    void matchesNaiveReference() {
+        Random random = new Random(42);
+        for (int account = 0; account < 500; account++) {
+            PositionEngine.Position position = EMPTY;
+            BigDecimal quantity = BigDecimal.ZERO;
+            BigDecimal average = BigDecimal.ZERO;
+            BigDecimal realized = BigDecimal.ZERO;
+            for (int i = 0; i < 200; i++) {
+                TransactionType type = TransactionType.values()[random.nextInt(TransactionType.values().length)];
+                long qty = 1 + random.nextInt(1_000_000_000);
+                long price = (long) random.nextInt(1_000_000) * random.nextInt(1_000_000);
+                BigDecimal q = decimal(qty);
+                BigDecimal p = decimal(price);
+
+                if (!type.increasesPosition() && q.compareTo(quantity) > 0) {
+                    PositionEngine.Position before = position;
+                    assertThatThrownBy(() -> PositionEngine.apply(before, type, qty, price))
+                            .isInstanceOf(IllegalArgumentException.class);
+                    continue;
+                }
+                position = PositionEngine.apply(position, type, qty, price);
+
+                if (type.increasesPosition()) {
+                    BigDecimal cost = round(quantity.multiply(average)).add(round(q.multiply(p)));
+                    quantity = quantity.add(q);
+                    average = cost.divide(quantity, Decimal8.SCALE, RoundingMode.HALF_EVEN);
+                } else {
+                    if (type == TransactionType.SELL) {
+                        realized = realized.add(round(q.multiply(p.subtract(average))));
+                    }
+                    quantity = quantity.subtract(q);
+                    if (quantity.signum() == 0) {
+                        average = BigDecimal.ZERO;
+                    }
+                }
+                assertThat(new long[]{position.quantity(), position.avgBuyPrice(), position.realizedPnl()})
+                        .as("account %d, step %d", account, i)
+                        .containsExactly(units(quantity), units(average), units(realized));
+            }
+        }
+    }
+
+    private static long units(long value) {
+        return value * Decimal8.ONE;
+    }
+
+    private static long units(BigDecimal value) {
+        return value.setScale(Decimal8.SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal decimal(long units) {
+        return BigDecimal.valueOf(units, Decimal8.SCALE);
+    }
+
+    private static BigDecimal round(BigDecimal value) {
+        return value.setScale(Decimal8.SCALE, RoundingMode.HALF_EVEN);
+    }
+}
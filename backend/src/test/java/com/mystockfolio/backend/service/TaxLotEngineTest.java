@@ -0,0 +1,205 @@
+package com.mystockfolio.backend.service;
+
+import com.mystockfolio.backend.util.Decimal8;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TaxLotEngine(원시 배열 + 원형 큐)과 단순 참조 구현(BigDecimal + 리스트)의 결과 비교
+ */
+class TaxLotEngineTest {
+
+    private static final int[] YEARS = {2022, 2023, 2024, 2025};
+
+    @Test
+    void matchesNaiveReferenceForAllMethods() {
+        Random random = new Random(42);
+        for (int account = 0; account < 200; account++) {
+            List<long[]> fills = randomFills(random, 1 + random.nextInt(400));
+            TaxLotEngine.Fills columns = new TaxLotEngine.Fills(4);
+            for (long[] fill : fills) {
+                columns.add((byte) fill[0], fill[1], fill[2], (int) fill[3]);
+            }
+            for (TaxLotEngine.Method method : TaxLotEngine.Method.values()) {
+                for (int year : YEARS) {
+                    TaxLotEngine.Result result = new TaxLotEngine.Result();
+                    TaxLotEngine.match(columns, method, year, new TaxLotEngine.LotQueue(), result);
+                    List<BigInteger> expected = naive(fills, method, year);
+                    assertThat(List.of(BigInteger.valueOf(result.sells()), BigInteger.valueOf(result.disposedQuantity()),
+                            BigInteger.valueOf(result.unmatchedQuantity()), units(result.proceeds()), units(result.costBasis())))
+                            .as("account %d, %s, %d", account, method, year)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fifoLifoAndAverageDifferOnRisingPrices() {
+        TaxLotEngine.Fills fills = new TaxLotEngine.Fills();
+        fills.add(TaxLotEngine.ACQUIRE, units(10), units(100), 2024);
+        fills.add(TaxLotEngine.ACQUIRE, units(10), units(200), 2024);
+        fills.add(TaxLotEngine.SELL, units(10), units(250), 2025);
+
+        assertThat(gain(fills, TaxLotEngine.Method.FIFO)).isEqualByComparingTo("1500");
+        assertThat(gain(fills, TaxLotEngine.Method.LIFO)).isEqualByComparingTo("500");
+        assertThat(gain(fills, TaxLotEngine.Method.AVERAGE)).isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void krwTotalsBeyondDecimal8Range() {
+        // 원화 단타 계정: 삼성전자 100만 주를 한 해에 두 번 사고팖 (건당 ₩700억대, 연간 양도가액 ₩1,500억)
+        TaxLotEngine.Fills fills = new TaxLotEngine.Fills();
+        fills.add(TaxLotEngine.ACQUIRE, units(1_000_000), units(70_000), 2025);
+        fills.add(TaxLotEngine.SELL, units(1_000_000), units(74_000), 2025);
+        fills.add(TaxLotEngine.ACQUIRE, units(1_000_000), units(72_000), 2025);
+        fills.add(TaxLotEngine.SELL, units(1_000_000), units(76_000), 2025);
+
+        for (TaxLotEngine.Method method : TaxLotEngine.Method.values()) {
+            TaxLotEngine.Result result = new TaxLotEngine.Result();
+            TaxLotEngine.match(fills, method, 2025, new TaxLotEngine.LotQueue(), result);
+            assertThat(result.sells()).isEqualTo(2);
+            assertThat(result.proceeds()).as("%s", method).isEqualByComparingTo("150000000000");
+            assertThat(result.costBasis()).as("%s", method).isEqualByComparingTo("142000000000");
+            assertThat(result.realizedGain()).as("%s", method).isEqualByComparingTo("8000000000");
+        }
+    }
+
+    @Test
+    void singleSaleBeyondDecimal8Range() {
+        // 원화 100만 주 x 100,000원 = 건당 ₩1,000억 (매수/매도 한 건의 금액도 Decimal8 범위 밖)
+        TaxLotEngine.Fills fills = new TaxLotEngine.Fills();
+        fills.add(TaxLotEngine.ACQUIRE, units(600_000), units(95_000), 2025);
+        fills.add(TaxLotEngine.ACQUIRE, units(600_000), units(97_000), 2025);
+        fills.add(TaxLotEngine.SELL, units(1_000_000), units(100_000), 2025);
+
+        for (TaxLotEngine.Method method : TaxLotEngine.Method.values()) {
+            TaxLotEngine.Result result = new TaxLotEngine.Result();
+            TaxLotEngine.match(fills, method, 2025, new TaxLotEngine.LotQueue(), result);
+            assertThat(result.proceeds()).as("%s", method).isEqualByComparingTo("100000000000");
+        }
+        // 선입선출: 60만 x 95,000 + 40만 x 97,000, 후입선출: 60만 x 97,000 + 40만 x 95,000, 이동 평균: 100만 x 96,000
+        assertThat(gain(fills, TaxLotEngine.Method.FIFO)).isEqualByComparingTo("4200000000");
+        assertThat(gain(fills, TaxLotEngine.Method.LIFO)).isEqualByComparingTo("3800000000");
+        assertThat(gain(fills, TaxLotEngine.Method.AVERAGE)).isEqualByComparingTo("4000000000");
+    }
+
+    private static BigDecimal gain(TaxLotEngine.Fills fills, TaxLotEngine.Method method) {
+        TaxLotEngine.Result result = new TaxLotEngine.Result();
+        TaxLotEngine.match(fills, method, 2025, new TaxLotEngine.LotQueue(), result);
+        return result.realizedGain();
+    }
+
+    private static long units(long value) {
+        return value * Decimal8.ONE;
+    }
+
+    // {종류, 수량, 단가, 연도} - 연도 순, 가끔 원장 이전 보유분과 보유량을 넘는 매도를 섞음
+    private static List<long[]> randomFills(Random random, int count) {
+        List<long[]> fills = new ArrayList<>(count + 1);
+        if (random.nextBoolean()) {
+            fills.add(new long[]{TaxLotEngine.ACQUIRE, 1 + random.nextInt(1_000_000_000), 1 + random.nextInt(900_000_000),
+                    TaxLotEngine.OPENING_YEAR});
+        }
+        int year = YEARS[0];
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(100) < 2 && year < YEARS[YEARS.length - 1]) {
+                year++;
+            }
+            int roll = random.nextInt(10);
+            byte kind = roll < 5 ? TaxLotEngine.ACQUIRE : roll < 9 ? TaxLotEngine.SELL : TaxLotEngine.WITHDRAW;
+            long quantity = 1 + random.nextInt(kind == TaxLotEngine.ACQUIRE ? 2_000_000_000 : 1_500_000_000);
+            long price = random.nextInt(20) == 0 ? 0 : 1 + (long) random.nextInt(1_000_000) * random.nextInt(1_000_000);
+            fills.add(new long[]{kind, quantity, price, year});
+        }
+        return fills;
+    }
+
+    /**
+     * 참조 구현: 로트를 BigDecimal 리스트로 보관, 매 단계 10^-8 자리 HALF_EVEN 반올림
+     * 반환값 {매도 건수, 매도 수량, 미매칭 수량, 양도가액, 취득가액} (units)
+     */
+    private static List<BigInteger> naive(List<long[]> fills, TaxLotEngine.Method method, int taxYear) {
+        List<BigDecimal[]> lots = new ArrayList<>();
+        BigDecimal avgQuantity = BigDecimal.ZERO;
+        BigDecimal avgCost = BigDecimal.ZERO;
+        long sells = 0;
+        BigDecimal disposed = BigDecimal.ZERO;
+        BigDecimal unmatched = BigDecimal.ZERO;
+        BigDecimal proceeds = BigDecimal.ZERO;
+        BigDecimal costBasis = BigDecimal.ZERO;
+
+        for (long[] fill : fills) {
+            if (fill[3] > taxYear) {
+                break;
+            }
+            BigDecimal quantity = decimal(fill[1]);
+            BigDecimal price = decimal(fill[2]);
+            if (fill[0] == TaxLotEngine.ACQUIRE) {
+                if (method == TaxLotEngine.Method.AVERAGE) {
+                    avgQuantity = avgQuantity.add(quantity);
+                    avgCost = avgCost.add(round(quantity.multiply(price)));
+                } else {
+                    lots.add(new BigDecimal[]{quantity, price});
+                }
+                continue;
+            }
+
+            BigDecimal remaining = quantity;
+            BigDecimal cost = BigDecimal.ZERO;
+            if (method == TaxLotEngine.Method.AVERAGE) {
+                BigDecimal take = remaining.min(avgQuantity);
+                if (take.signum() > 0) {
+                    BigDecimal taken = take.compareTo(avgQuantity) == 0 ? avgCost
+                            : round(take.multiply(avgCost.divide(avgQuantity, Decimal8.SCALE, RoundingMode.HALF_EVEN)));
+                    cost = taken;
+                    avgCost = avgCost.subtract(taken);
+                    avgQuantity = avgQuantity.subtract(take);
+                    remaining = remaining.subtract(take);
+                }
+            } else {
+                while (remaining.signum() > 0 && !lots.isEmpty()) {
+                    int index = method == TaxLotEngine.Method.LIFO ? lots.size() - 1 : 0;
+                    BigDecimal[] lot = lots.get(index);
+                    BigDecimal take = remaining.min(lot[0]);
+                    cost = cost.add(round(take.multiply(lot[1])));
+                    remaining = remaining.subtract(take);
+                    if (take.compareTo(lot[0]) == 0) {
+                        lots.remove(index);
+                    } else {
+                        lot[0] = lot[0].subtract(take);
+                    }
+                }
+            }
+
+            if (fill[0] == TaxLotEngine.SELL && fill[3] == taxYear) {
+                sells++;
+                disposed = disposed.add(quantity);
+                unmatched = unmatched.add(remaining);
+                proceeds = proceeds.add(round(quantity.multiply(price)));
+                costBasis = costBasis.add(cost);
+            }
+        }
+        return List.of(BigInteger.valueOf(sells), units(disposed), units(unmatched), units(proceeds), units(costBasis));
+    }
+
+    private static BigDecimal decimal(long units) {
+        return BigDecimal.valueOf(units, Decimal8.SCALE);
+    }
+
+    private static BigDecimal round(BigDecimal value) {
+        return value.setScale(Decimal8.SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private static BigInteger units(BigDecimal value) {
+        return value.setScale(Decimal8.SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+    }
+}
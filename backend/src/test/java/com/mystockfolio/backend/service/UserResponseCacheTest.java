@@ -0,0 +1,51 @@
+package com.mystockfolio.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserResponseCache의 유효성 판단 (보유 현황 version, 시세 epoch, 부가 데이터 epoch)
+ */
+class UserResponseCacheTest {
+
+    @Test
+    void reusesResponseWhileAllEpochsMatch() {
+        UserResponseCache cache = new UserResponseCache(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("stats", 1L, 1L, 5L, 7L, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("stats", 1L, 1L, 5L, 7L, loads::incrementAndGet)).isEqualTo(1);
+
+        // version, 시세 epoch, 부가 데이터 epoch 중 하나라도 바뀌면 다시 계산
+        assertThat(cache.get("stats", 1L, 2L, 5L, 7L, loads::incrementAndGet)).isEqualTo(2);
+        assertThat(cache.get("stats", 1L, 2L, 6L, 7L, loads::incrementAndGet)).isEqualTo(3);
+        assertThat(cache.get("stats", 1L, 2L, 6L, 8L, loads::incrementAndGet)).isEqualTo(4);
+        assertThat(cache.get("stats", 1L, 2L, 6L, 8L, loads::incrementAndGet)).isEqualTo(4);
+        assertThat(cache.getHitCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void negativeDataEpochIsNeverCached() {
+        UserResponseCache cache = new UserResponseCache(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // 부가 데이터(평가액 추이)가 불완전하면 매번 계산하고, 이전에 저장된 응답도 쓰지 않음
+        assertThat(cache.get("stats", 1L, 1L, 5L, 3L, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("stats", 1L, 1L, 5L, -1L, loads::incrementAndGet)).isEqualTo(2);
+        assertThat(cache.get("stats", 1L, 1L, 5L, -1L, loads::incrementAndGet)).isEqualTo(3);
+        assertThat(cache.getHitCount()).isEqualTo(0L);
+    }
+
+    @Test
+    void negativePriceEpochIsNeverCached() {
+        UserResponseCache cache = new UserResponseCache(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("stats", 1L, 1L, -1L, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("stats", 1L, 1L, -1L, loads::incrementAndGet)).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mystockfolio.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CacheEviction(표본 기반 일괄 제거)의 제거 개수와 제거 순서
+ */
+class CacheEvictionTest {
+
+    @Test
+    void evictsDownToTargetPreferringLowRanks() {
+        // rank가 섞인 순서로 10,000개 -> 9,000개
+        List<Long> ranks = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            ranks.add(i);
+        }
+        Collections.shuffle(ranks, new Random(7));
+        ConcurrentHashMap<String, Long> map = new ConcurrentHashMap<>();
+        for (Long rank : ranks) {
+            map.put("k" + rank, rank);
+        }
+
+        int removed = CacheEviction.evict(map, 9_000, Long::longValue);
+
+        assertThat(removed).isEqualTo(1_000);
+        assertThat(map.size()).isEqualTo(9_000);
+        // 근사 제거: 제거된 항목은 대부분 rank 하위 구간에서 나옴
+        long keptLow = map.values().stream().filter(rank -> rank < 1_000).count();
+        assertThat(keptLow).isLessThan(500L);
+        assertThat(map.values().stream().filter(rank -> rank >= 3_000).count()).isEqualTo(7_000L);
+    }
+
+    @Test
+    void keepsEntriesThatAreNotEvictable() {
+        ConcurrentHashMap<Integer, Long> map = new ConcurrentHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            // 짝수만 제거 가능
+            map.put(i, i % 2 == 0 ? (long) i : 0L);
+        }
+
+        int removed = CacheEviction.evict(map, 10, Long::longValue, rank -> rank > 0);
+
+        // 제거 가능한 항목(0을 제외한 짝수 49개)을 모두 지워도 target보다 큼
+        assertThat(removed).isEqualTo(49);
+        assertThat(map.size()).isEqualTo(51);
+    }
+
+    @Test
+    void doesNothingUnderTarget() {
+        ConcurrentHashMap<Integer, Long> map = new ConcurrentHashMap<>();
+        map.put(1, 1L);
+
+        assertThat(CacheEviction.evict(map, 1, Long::longValue)).isEqualTo(0);
+        assertThat(map.size()).isEqualTo(1);
+    }
+}
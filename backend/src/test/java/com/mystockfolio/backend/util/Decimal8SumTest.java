@@ -0,0 +1,86 @@
+package com.mystockfolio.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Decimal8Sum(128비트 누적)과 BigDecimal 합계 비교 - long 범위를 넘는 원화 합계 포함
+ */
+class Decimal8SumTest {
+
+    @Test
+    void matchesBigDecimalBeyondLongRange() {
+        Random random = new Random(42);
+        Decimal8Sum sum = new Decimal8Sum();
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 100_000; i++) {
+            // 종목당 최대 Decimal8 범위 근처 금액, 음수 10%
+            long units = random.nextLong() >>> 1;
+            if (random.nextInt(10) == 0) {
+                units = -units;
+            }
+            sum.add(units);
+            expected = expected.add(BigDecimal.valueOf(units, Decimal8.SCALE));
+            if (i % 997 == 0) {
+                assertThat(sum.toBigDecimal()).as("after %d", i).isEqualByComparingTo(expected);
+            }
+        }
+        assertThat(sum.toBigDecimal()).isEqualByComparingTo(expected);
+        assertThat(sum.fitsInLong()).isFalse();
+        assertThat(sum.signum()).isEqualTo(expected.signum());
+        assertThat(Math.abs(sum.doubleUnits() / Decimal8.ONE / expected.doubleValue() - 1.0) < 1e-12).isTrue();
+    }
+
+    @Test
+    void krwPortfolioAboveDecimal8Range() {
+        // ₩900억 두 종목 = ₩1,800억 (Decimal8 하나로는 표현 불가)
+        Decimal8Sum sum = new Decimal8Sum();
+        long position = Decimal8.of("90000000000").units();
+        sum.add(position);
+        sum.add(position);
+        assertThat(sum.toBigDecimal()).isEqualTo(new BigDecimal("180000000000"));
+
+        Decimal8Sum other = new Decimal8Sum();
+        other.add(-position);
+        other.add(Decimal8.of("0.5").units());
+        sum.add(other);
+        assertThat(sum.toBigDecimal()).isEqualTo(new BigDecimal("90000000000.5"));
+        assertThat(sum.fitsInLong()).isTrue();
+
+        Decimal8Sum gain = new Decimal8Sum();
+        gain.add(position);
+        gain.subtract(sum);
+        assertThat(gain.toBigDecimal()).isEqualTo(new BigDecimal("-0.5"));
+        gain.subtract(sum);
+        assertThat(gain.toBigDecimal()).isEqualTo(new BigDecimal("-90000000001"));
+
+        sum.reset();
+        sum.add(-1L);
+        assertThat(sum.toBigDecimal()).isEqualTo(new BigDecimal("-0.00000001"));
+        assertThat(sum.signum()).isEqualTo(-1);
+    }
+
+    @Test
+    void productsAndQuotientsBeyondDecimal8Range() {
+        // 원화 100만 주 x 100,000원 + 50만 주 x 100,001원 = ₩1,500억 5만 (곱 하나도 long units 밖)
+        Decimal8Sum cost = new Decimal8Sum();
+        cost.addProduct(Decimal8.of("1000000").units(), Decimal8.of("100000").units());
+        cost.addProduct(Decimal8.of("500000").units(), Decimal8.of("100001").units());
+        assertThat(cost.toBigDecimal()).isEqualTo(new BigDecimal("150000500000"));
+        assertThat(cost.fitsInLong()).isFalse();
+
+        // 평균 단가는 다시 범위 안: 1,500억 5만 / 150만 주 = 100,000.33333333
+        assertThat(cost.divideUnits(Decimal8.of("1500000").units())).isEqualTo(Decimal8.of("100000.33333333").units());
+
+        Decimal8Sum wide = new Decimal8Sum();
+        wide.add(new BigDecimal("-123456789012.123456785"));
+        assertThat(wide.toBigDecimal()).isEqualTo(new BigDecimal("-123456789012.12345678"));
+        wide.add(cost);
+        assertThat(wide.toBigDecimal()).isEqualTo(new BigDecimal("26543710987.87654322"));
+        assertThat(wide.units()).isEqualTo(Decimal8.of("26543710987.87654322").units());
+    }
+}
@@ -0,0 +1,104 @@
+package com.mystockfolio.backend.util;
+
+import com.mystockfolio.backend.exception.AmountOutOfRangeException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Decimal8 정적 연산(multiplyUnits, divideUnits, scaleUnits)과 BigDecimal 기준값 비교
+ */
+class Decimal8Test {
+
+    private static final long MAX_UNITS = Long.MAX_VALUE;
+
+    @Test
+    void multiplyUnitsMatchesBigDecimalHalfEven() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // 수량(최대 1,000,000) x 단가(최대 90,000) 범위, 음수 포함
+            long a = (random.nextLong() % (1_000_000L * Decimal8.ONE));
+            long b = (random.nextLong() % (90_000L * Decimal8.ONE));
+            assertThat(Decimal8.multiplyUnits(a, b)).as("%d x %d", a, b).isEqualTo(referenceMultiply(a, b));
+        }
+    }
+
+    @Test
+    void multiplyUnitsRoundsHalfToEven() {
+        // 0.00000001 x 0.5 = 0.000000005 -> 0, 0.00000003 x 0.5 = 0.000000015 -> 0.00000002
+        assertThat(Decimal8.multiplyUnits(1L, Decimal8.ONE / 2)).isEqualTo(0L);
+        assertThat(Decimal8.multiplyUnits(3L, Decimal8.ONE / 2)).isEqualTo(2L);
+        assertThat(Decimal8.multiplyUnits(-3L, Decimal8.ONE / 2)).isEqualTo(-2L);
+        assertThat(Decimal8.multiplyUnits(Decimal8.of("1.5").units(), Decimal8.of("2").units()))
+                .isEqualTo(Decimal8.of("3").units());
+    }
+
+    @Test
+    void multiplyUnitsThrowsOnOverflow() {
+        // 원화 100만 주 x 100,000원 = 1,000억 (Decimal8 범위 약 920억 초과)
+        long quantity = Decimal8.of("1000000").units();
+        long price = Decimal8.of("100000").units();
+        assertThatThrownBy(() -> Decimal8.multiplyUnits(quantity, price)).isInstanceOf(AmountOutOfRangeException.class);
+        assertThatThrownBy(() -> Decimal8.multiplyUnits(MAX_UNITS, 2 * Decimal8.ONE)).isInstanceOf(AmountOutOfRangeException.class);
+
+        // 범위를 넘는 곱은 product(BigDecimal)로 정확히 계산
+        assertThat(Decimal8.product(quantity, price)).isEqualByComparingTo("100000000000");
+        assertThat(Decimal8.product(Decimal8.of("1.5").units(), Decimal8.of("0.00000001").units()))
+                .isEqualByComparingTo("0.00000002"); // 0.000000015 -> HALF_EVEN
+    }
+
+    @Test
+    void divideUnitsMatchesBigDecimalHalfEven() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long a = random.nextLong() % (50_000_000L * Decimal8.ONE);
+            long b = random.nextLong() % (1_000_000L * Decimal8.ONE);
+            if (b == 0L) {
+                continue;
+            }
+            BigDecimal expected = BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(Decimal8.ONE))
+                    .divide(BigDecimal.valueOf(b), 0, RoundingMode.HALF_EVEN);
+            assertThat(Decimal8.divideUnits(a, b)).as("%d / %d", a, b).isEqualTo(expected.longValueExact());
+        }
+        // 평균 단가: 총 비용 1,650 / 수량 15 = 110
+        assertThat(Decimal8.divideUnits(Decimal8.of("1650").units(), Decimal8.of("15").units()))
+                .isEqualTo(Decimal8.of("110").units());
+        // 1 / 3 = 0.33333333, 2 / 3 = 0.66666667
+        assertThat(Decimal8.divideUnits(Decimal8.ONE, 3 * Decimal8.ONE)).isEqualTo(33_333_333L);
+        assertThat(Decimal8.divideUnits(2 * Decimal8.ONE, 3 * Decimal8.ONE)).isEqualTo(66_666_667L);
+    }
+
+    @Test
+    void divideUnitsRejectsZeroAndOverflow() {
+        assertThatThrownBy(() -> Decimal8.divideUnits(Decimal8.ONE, 0L)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Decimal8.divideUnits(MAX_UNITS, 1L)).isInstanceOf(AmountOutOfRangeException.class);
+    }
+
+    @Test
+    void scaleUnitsRoundsToNearestUnit() {
+        long usd = Decimal8.of("1234.56").units();
+        assertThat(Decimal8.scaleUnits(usd, 1.0)).isEqualTo(usd);
+        assertThat(Decimal8.scaleUnits(usd, 1350.5)).isEqualTo(Decimal8.of("1667273.28").units());
+        assertThat(Decimal8.scaleUnits(-usd, 2.0)).isEqualTo(-2 * usd);
+        assertThat(Decimal8.scaleUnits(3L, 0.5)).isEqualTo(2L); // Math.round: 1.5 -> 2
+    }
+
+    @Test
+    void scaleUnitsThrowsOnOverflow() {
+        // $70,000,000 x 1,400 = ₩980억
+        long usd = Decimal8.of("70000000").units();
+        assertThatThrownBy(() -> Decimal8.scaleUnits(usd, 1400.0)).isInstanceOf(AmountOutOfRangeException.class);
+        assertThatThrownBy(() -> Decimal8.scaleUnits(usd, Double.NaN)).isInstanceOf(AmountOutOfRangeException.class);
+    }
+
+    private static long referenceMultiply(long a, long b) {
+        return BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                .divide(BigDecimal.valueOf(Decimal8.ONE), 0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+}
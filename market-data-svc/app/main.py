@@ -4,6 +4,7 @@ from fastapi import FastAPI, HTTPException, status
 from fastapi.middleware.cors import CORSMiddleware
 from pydantic import BaseModel
 from typing import List, Dict
+import asyncio
 import logging
 from datetime import datetime, timedelta
 import yfinance as yf
@@ -38,6 +39,10 @@ class PriceResponse(BaseModel):
     currency: str = "USD"
     last_updated: str # ISO 형식 문자열
 
+class BatchPriceResponse(BaseModel):
+    prices: List[PriceResponse]
+    errors: Dict[str, str] # 조회에 실패한 티커별 사유
+
 class ChartPoint(BaseModel):
     date: str
     price: float
@@ -62,6 +67,38 @@ class DetailedQuoteResponse(BaseModel):
     currency: str
     last_updated: str
 
+# 한 번의 일괄 조회에서 허용하는 최대 티커 수
+MAX_BATCH_TICKERS = 100
+
+def fetch_price(ticker: str) -> PriceResponse:
+    """
+    Yahoo Finance에서 단일 티커의 현재가를 조회합니다. (동기 호출)
+    시세가 없으면 LookupError를 발생시킵니다.
+    """
+    stock = yf.Ticker(ticker)
+    info = stock.info
+
+    # 현재가 가져오기 (여러 필드 시도)
+    current_price = info.get('currentPrice') or info.get('regularMarketPrice') or info.get('previousClose')
+
+    if current_price is None:
+        raise LookupError(f"Price data for '{ticker}' not available.")
+
+    # 통화 정보 (기본값: USD)
+    currency = info.get('currency', 'USD')
+
+    # 마지막 업데이트 시간
+    last_updated = datetime.now().isoformat() + "Z"
+
+    logger.info(f"Price fetched for {ticker}: {current_price} {currency}")
+
+    return PriceResponse(
+        ticker=ticker.upper(),
+        price=float(current_price),
+        currency=currency,
+        last_updated=last_updated
+    )
+
 # --- 엔드포인트: 실시간 시세 조회 ---
 @app.get("/api/market/price", response_model=PriceResponse, status_code=status.HTTP_200_OK)
 async def get_current_price(ticker: str):
@@ -71,32 +108,12 @@ async def get_current_price(ticker: str):
     logger.info(f"Price request received for ticker: {ticker}")
     
     try:
-        # Yahoo Finance에서 데이터 가져오기
-        stock = yf.Ticker(ticker)
-        info = stock.info
-        
-        # 현재가 가져오기 (여러 필드 시도)
-        current_price = info.get('currentPrice') or info.get('regularMarketPrice') or info.get('previousClose')
-        
-        if current_price is None:
-            logger.warning(f"No price data found for ticker: {ticker}")
-            raise HTTPException(status_code=404, detail=f"Price data for '{ticker}' not available.")
-        
-        # 통화 정보 (기본값: USD)
-        currency = info.get('currency', 'USD')
-        
-        # 마지막 업데이트 시간
-        last_updated = datetime.now().isoformat() + "Z"
-        
-        logger.info(f"Price fetched for {ticker}: {current_price} {currency}")
-        
-        return PriceResponse(
-            ticker=ticker.upper(),
-            price=float(current_price),
-            currency=currency,
-            last_updated=last_updated
-        )
+        return fetch_price(ticker)
         
+    except LookupError as e:
+        logger.warning(f"No price data found for ticker: {ticker}")
+        raise HTTPException(status_code=404, detail=str(e))
+
     except Exception as e:
         logger.error(f"Error fetching price for {ticker}: {str(e)}")
         raise HTTPException(
@@ -104,6 +121,45 @@ async def get_current_price(ticker: str):
             detail=f"Failed to fetch price data for '{ticker}': {str(e)}"
         )
 
+# --- 엔드포인트: 다중 티커 시세 일괄 조회 ---
+@app.get("/api/market/prices", response_model=BatchPriceResponse, status_code=status.HTTP_200_OK)
+async def get_current_prices(tickers: str):
+    """
+    여러 자산의 현재 시세를 한 번에 조회합니다.
+    tickers: 쉼표로 구분된 티커 목록 (예: AAPL,BTC-USD,005930.KS)
+    일부 티커가 실패해도 나머지 결과는 반환하며, 실패 사유는 errors에 담습니다.
+    """
+    # 중복 제거 (입력 순서 유지)
+    requested = list(dict.fromkeys(t.strip().upper() for t in tickers.split(",") if t.strip()))
+    logger.info(f"Batch price request received for {len(requested)} tickers")
+
+    if not requested:
+        raise HTTPException(status_code=400, detail="At least one ticker is required.")
+    if len(requested) > MAX_BATCH_TICKERS:
+        raise HTTPException(
+            status_code=400,
+            detail=f"Too many tickers: {len(requested)} (max {MAX_BATCH_TICKERS})."
+        )
+
+    # 티커별 조회는 블로킹 I/O이므로 스레드 풀에서 동시에 실행
+    results = await asyncio.gather(
+        *(asyncio.to_thread(fetch_price, ticker) for ticker in requested),
+        return_exceptions=True
+    )
+
+    prices: List[PriceResponse] = []
+    errors: Dict[str, str] = {}
+    for ticker, result in zip(requested, results):
+        if isinstance(result, Exception):
+            logger.warning(f"Batch price failed for {ticker}: {str(result)}")
+            errors[ticker] = str(result)
+        else:
+            prices.append(result)
+
+    logger.info(f"Batch price fetched: {len(prices)} ok, {len(errors)} failed")
+
+    return BatchPriceResponse(prices=prices, errors=errors)
+
 # --- 엔드포인트: 차트 데이터 조회 ---
 @app.get("/api/market/chart", response_model=ChartResponse, status_code=status.HTTP_200_OK)
 async def get_historical_chart(ticker: str, period: str = "7d"):
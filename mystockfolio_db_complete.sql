@@ -64,19 +64,24 @@ CREATE TABLE IF NOT EXISTS assets (
 -- ========================================
 -- 4. Transactions Table (거래 내역)
 -- ========================================
+-- asset_id는 앱이 사용하는 Asset 테이블(JPA ddl-auto로 생성)의 id를 참조
+-- Asset 테이블은 앱 첫 기동 시 만들어지므로 외래 키 검사를 잠시 끄고 생성
+-- (기존 DB는 mystockfolio_db_migrate_transactions.sql로 한 번 변경)
+SET FOREIGN_KEY_CHECKS = 0;
 CREATE TABLE IF NOT EXISTS transactions (
     transaction_id BIGINT AUTO_INCREMENT PRIMARY KEY,
     asset_id BIGINT NOT NULL COMMENT '자산 ID (FK)',
     transaction_type VARCHAR(20) NOT NULL COMMENT '거래 유형 (BUY, SELL, DEPOSIT, WITHDRAW)',
     quantity DECIMAL(20, 8) NOT NULL COMMENT '거래 수량',
-    price_per_unit DECIMAL(20, 2) NOT NULL COMMENT '단가',
-    total_amount DECIMAL(20, 2) NOT NULL COMMENT '총 거래 금액',
+    price_per_unit DECIMAL(20, 8) NOT NULL COMMENT '단가',
+    total_amount DECIMAL(20, 8) NOT NULL COMMENT '총 거래 금액',
     transaction_date DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '거래 일시',
     notes TEXT COMMENT '메모',
-    FOREIGN KEY (asset_id) REFERENCES assets(asset_id) ON DELETE CASCADE,
+    FOREIGN KEY (asset_id) REFERENCES Asset(id),
     INDEX idx_asset (asset_id),
     INDEX idx_date (transaction_date)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='거래 내역 테이블';
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='거래 내역 테이블 (자산 삭제 시 원장은 LedgerService.deleteLedger가 먼저 삭제)';
+SET FOREIGN_KEY_CHECKS = 1;
 
 -- ========================================
 -- 5. Market Data Cache (시장 데이터 캐시) - Optional
@@ -139,12 +144,7 @@ INSERT INTO assets (portfolio_id, asset_type, ticker, asset_name, quantity, aver
 (3, 'STOCK', 'AMZN', 'Amazon.com Inc.', 8.00000000, 3200.00, 3500.00, 'USD', NOW())
 ON DUPLICATE KEY UPDATE asset_name=asset_name;
 
--- 샘플 거래 내역
-INSERT INTO transactions (asset_id, transaction_type, quantity, price_per_unit, total_amount, transaction_date, notes) VALUES
-(1, 'BUY', 10.00000000, 150.00, 1500.00, '2024-01-15 10:30:00', '초기 매수'),
-(2, 'BUY', 5.00000000, 200.00, 1000.00, '2024-02-20 14:00:00', '추가 매수'),
-(3, 'BUY', 0.50000000, 45000.00, 22500.00, '2024-03-10 09:15:00', 'BTC 매수')
-ON DUPLICATE KEY UPDATE transaction_type=transaction_type;
+-- 샘플 거래 내역은 넣지 않음 (transactions는 Asset 테이블의 자산을 참조하므로 앱에서 거래를 기록)
 
 -- 샘플 시장 데이터 캐시
 INSERT INTO market_data_cache (ticker, current_price, open_price, high_price, low_price, previous_close, volume, market_cap, currency, last_updated) VALUES
@@ -0,0 +1,37 @@
+-- ========================================
+-- MyStockFolio 거래 원장(transactions) 테이블 변경 (기존 DB에 한 번만 실행)
+-- ========================================
+-- mystockfolio_db_complete.sql의 이전 버전으로 만든 DB용
+-- 1. asset_id 외래 키: 덤프의 assets(asset_id) -> 앱이 사용하는 Asset(id)
+-- 2. price_per_unit/total_amount: DECIMAL(20, 2) -> DECIMAL(20, 8) (엔티티와 같은 소수점 8자리)
+
+USE mystockfolio_db;
+
+-- 0. Asset에 없는 자산을 참조하는 거래 확인 (결과가 있으면 정리 후 실행해야 외래 키 추가가 성공함)
+SELECT t.transaction_id, t.asset_id
+FROM transactions t
+LEFT JOIN Asset a ON a.id = t.asset_id
+WHERE a.id IS NULL;
+
+-- 1. assets 테이블을 참조하는 기존 외래 키 삭제 (이름은 MySQL이 자동 생성하므로 조회해서 삭제)
+SET @fk := (
+    SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND COLUMN_NAME = 'asset_id'
+      AND REFERENCED_TABLE_NAME IS NOT NULL AND REFERENCED_TABLE_NAME <> 'Asset'
+    LIMIT 1
+);
+SET @sql := IF(@fk IS NULL, 'SELECT 1', CONCAT('ALTER TABLE transactions DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. 단가/총 거래 금액 소수점 8자리로 확장
+ALTER TABLE transactions
+    MODIFY price_per_unit DECIMAL(20, 8) NOT NULL COMMENT '단가',
+    MODIFY total_amount DECIMAL(20, 8) NOT NULL COMMENT '총 거래 금액';
+
+-- 3. Asset(id) 외래 키 추가 (자산 삭제 시 원장은 LedgerService.deleteLedger가 먼저 삭제하므로 CASCADE 없음)
+ALTER TABLE transactions
+    ADD CONSTRAINT fk_transactions_asset FOREIGN KEY (asset_id) REFERENCES Asset(id);
+
+SELECT 'transactions table migrated successfully!' AS status;